@@ -7,8 +7,7 @@ const Register = () => {
   const [formData, setFormData] = useState({
     username: '',
     email: '',
-    password: '',
-    role: 'SALES_REP'
+    password: ''
   });
   const [error, setError] = useState('');
   const navigate = useNavigate();
@@ -55,11 +54,6 @@ const Register = () => {
           onChange={handleChange}
           required
         />
-        <select name="role" value={formData.role} onChange={handleChange}>
-          <option value="SALES_REP">Sales Rep</option>
-          <option value="ANALYST">Analyst</option>
-          <option value="ADMIN">Admin</option>
-        </select>
         <button type="submit">Register</button>
         {error && <div className="error">{error}</div>}
         <p>Already have an account? <a href="/">Login</a></p>
@@ -1,7 +1,26 @@
 const BASE_URL = 'http://localhost:8081';
 
+// After a write the server answers this client from the primary database for a few seconds, so it sees its own
+// change rather than a replica that has not caught up. The deadline comes back in this header and is echoed on the
+// following requests; these cross-origin calls send no cookies, so the server's cookie never comes back.
+const PRIMARY_UNTIL = 'X-Crm-Primary-Until';
+let primaryUntil = 0;
+
+const request = async (url, options = {}) => {
+  const headers = { ...options.headers };
+  if (primaryUntil > Date.now()) {
+    headers[PRIMARY_UNTIL] = String(primaryUntil);
+  }
+  const response = await fetch(`${BASE_URL}${url}`, { ...options, headers });
+  const until = Number(response.headers.get(PRIMARY_UNTIL));
+  if (until > primaryUntil) {
+    primaryUntil = until;
+  }
+  return response;
+};
+
 export const apiGet = async (url) => {
-  const response = await fetch(`${BASE_URL}${url}`);
+  const response = await request(url);
   if (!response.ok) {
     throw new Error(`HTTP error! status: ${response.status}`);
   }
@@ -9,7 +28,7 @@ export const apiGet = async (url) => {
 };
 
 export const apiPost = async (url, data) => {
-  const response = await fetch(`${BASE_URL}${url}`, {
+  const response = await request(url, {
     method: 'POST',
     headers: {
       'Content-Type': 'application/json',
@@ -24,7 +43,7 @@ export const apiPost = async (url, data) => {
 };
 
 export const apiPut = async (url, data) => {
-  const response = await fetch(`${BASE_URL}${url}`, {
+  const response = await request(url, {
     method: 'PUT',
     headers: {
       'Content-Type': 'application/json',
@@ -39,7 +58,7 @@ export const apiPut = async (url, data) => {
 };
 
 export const apiDelete = async (url) => {
-  const response = await fetch(`${BASE_URL}${url}`, {
+  const response = await request(url, {
     method: 'DELETE',
   });
   if (!response.ok) {
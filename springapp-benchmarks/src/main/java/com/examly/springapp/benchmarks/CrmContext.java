@@ -0,0 +1,35 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.CrmSystemApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Starts the application without a web server against a private in-memory H2 database in MySQL mode,
+// so each benchmark trial begins from an empty schema created by Hibernate
+final class CrmContext {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private CrmContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        String url = "jdbc:h2:mem:crm_bench_" + DATABASES.incrementAndGet()
+            + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        return new SpringApplicationBuilder(CrmSystemApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--crm.auth.token-secret=benchmark-only-token-secret-0123456789",
+                "--logging.level.root=WARN",
+                "--logging.level.com.examly=WARN");
+    }
+}
@@ -0,0 +1,95 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.service.CustomerIdIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// The in-memory id index against the existsById / IN queries it replaces when validating interaction customer ids
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerIdIndexBenchmark {
+
+    @Param("1000000")
+    int customers;
+
+    // Distinct customer ids in one ingestion flush
+    @Param("100")
+    int batch;
+
+    private ConfigurableApplicationContext context;
+    private CustomerIdIndex customerIdIndex;
+    private CustomerRepository customerRepository;
+    private DataGenerator generator;
+    private long[] customerIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = CrmContext.start();
+        customerIdIndex = context.getBean(CustomerIdIndex.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        generator = new DataGenerator(42);
+        customerIds = generator.seedCustomers(context.getBean(JdbcTemplate.class), customers);
+        // The index loaded at startup, before the seed went in; reload it so hits stay in memory
+        customerIdIndex.warmUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean indexExists() {
+        return customerIdIndex.exists(randomCustomer());
+    }
+
+    @Benchmark
+    public boolean repositoryExistsById() {
+        return customerRepository.existsById(randomCustomer());
+    }
+
+    @Benchmark
+    public Set<Long> indexRetainExisting() {
+        return customerIdIndex.retainExisting(randomBatch());
+    }
+
+    @Benchmark
+    public List<Long> repositoryFindExistingIds() {
+        return customerRepository.findExistingIds(randomBatch());
+    }
+
+    private long randomCustomer() {
+        return customerIds[generator.nextInt(customerIds.length)];
+    }
+
+    private List<Long> randomBatch() {
+        List<Long> ids = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) {
+            ids.add(randomCustomer());
+        }
+        return ids;
+    }
+}
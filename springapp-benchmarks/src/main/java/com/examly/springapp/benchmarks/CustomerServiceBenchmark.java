@@ -0,0 +1,70 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerServiceBenchmark {
+
+    @Param("100000")
+    int customers;
+
+    @Param("20")
+    int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private DataGenerator generator;
+    private long created;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = CrmContext.start();
+        customerService = context.getBean(CustomerService.class);
+        generator = new DataGenerator(42);
+        generator.seedCustomers(context.getBean(JdbcTemplate.class), customers);
+        // Sequences past the seeded range keep generated emails unique across iterations
+        created = customers;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Customer createCustomer() {
+        return customerService.createCustomer(generator.customer(created++));
+    }
+
+    // Random pages across the whole table, so deep offsets are measured as well as the first page
+    @Benchmark
+    public Page<Customer> getAllCustomersPage() {
+        int pages = Math.max(1, customers / pageSize);
+        return customerService.getAllCustomers(PageRequest.of(generator.nextInt(pages), pageSize));
+    }
+}
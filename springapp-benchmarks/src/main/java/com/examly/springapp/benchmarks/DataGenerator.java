@@ -0,0 +1,125 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Seeded, so two runs benchmark the same rows. Shapes follow what a CRM of this kind tends to hold:
+// most customers REGULAR, a long tail of interaction counts per customer, mostly resolved history.
+final class DataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Carlos", "Priya",
+        "Wei", "Fatima", "Olga", "Kenji", "Amara", "Lucas", "Sofia", "Mohammed", "Ananya", "Noah"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+        "Kumar", "Nguyen", "Chen", "Okafor", "Ivanova", "Tanaka", "Schmidt", "Rossi", "Silva", "Haddad"
+    };
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "example.com", "icloud.com"};
+    private static final String[] TOPICS = {
+        "Asked about delivery times for order", "Requested a refund for damaged item in order",
+        "Wanted to upgrade membership after purchase", "Reported a billing discrepancy on invoice",
+        "Inquired about bulk pricing for", "Returned wrong size, exchange requested for order",
+        "Follow-up call about warranty coverage for", "Complained about late shipment of order"
+    };
+
+    private final SplittableRandom random;
+
+    DataGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    Customer customer(long sequence) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        Customer c = new Customer();
+        c.setFirstName(first);
+        c.setLastName(last);
+        c.setEmail(first.toLowerCase() + "." + last.toLowerCase() + sequence + "@" + DOMAINS[random.nextInt(DOMAINS.length)]);
+        c.setPhoneNumber(String.format("+1-%03d-%03d-%04d", 200 + random.nextInt(800), random.nextInt(1000), random.nextInt(10_000)));
+        c.setCustomerType(customerType());
+        c.setRegistrationDate(LocalDate.now().minusDays(random.nextInt(3 * 365)));
+        return c;
+    }
+
+    Interaction interaction(long customerId) {
+        Interaction i = new Interaction();
+        i.setCustomerId(customerId);
+        int type = random.nextInt(100);
+        i.setInteractionType(type < 55 ? InteractionType.INQUIRY : type < 85 ? InteractionType.PURCHASE : InteractionType.RETURN);
+        i.setStatus(random.nextInt(100) < 80 ? InteractionStatus.RESOLVED : InteractionStatus.OPEN);
+        i.setDescription(TOPICS[random.nextInt(TOPICS.length)] + " #" + (100_000 + random.nextInt(900_000)));
+        i.setInteractionDate(LocalDateTime.now().minusMinutes(random.nextInt(2 * 365 * 24 * 60)));
+        return i;
+    }
+
+    // Roughly geometric: many customers with a handful of interactions, a few with dozens
+    int interactionsFor() {
+        int count = 0;
+        while (count < 200 && random.nextInt(100) < 85) {
+            count++;
+        }
+        return count;
+    }
+
+    long[] seedCustomers(JdbcTemplate jdbcTemplate, int count) {
+        List<Object[]> rows = new ArrayList<>(Math.min(count, 5_000));
+        for (int i = 0; i < count; i++) {
+            Customer c = customer(i);
+            rows.add(new Object[] {
+                c.getFirstName(), c.getLastName(), c.getEmail(), c.getPhoneNumber(),
+                c.getCustomerType().name(), Date.valueOf(c.getRegistrationDate())
+            });
+            if (rows.size() == 5_000 || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO customers (first_name, last_name, email, phone_number, customer_type, "
+                    + "registration_date) VALUES (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM customers ORDER BY id", Long.class)
+            .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    void seedInteractions(JdbcTemplate jdbcTemplate, long[] customerIds) {
+        List<Object[]> rows = new ArrayList<>(5_000);
+        for (int c = 0; c < customerIds.length; c++) {
+            int count = interactionsFor();
+            for (int n = 0; n < count; n++) {
+                Interaction i = interaction(customerIds[c]);
+                rows.add(new Object[] {
+                    i.getCustomerId(), i.getInteractionType().name(), i.getDescription(),
+                    i.getStatus().name(), Timestamp.valueOf(i.getInteractionDate())
+                });
+            }
+            if (rows.size() >= 5_000 || c == customerIds.length - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO interactions (customer_id, interaction_type, description, status, "
+                    + "interaction_date) VALUES (?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    private CustomerType customerType() {
+        int roll = random.nextInt(100);
+        return roll < 70 ? CustomerType.REGULAR : roll < 92 ? CustomerType.PREMIUM : CustomerType.VIP;
+    }
+}
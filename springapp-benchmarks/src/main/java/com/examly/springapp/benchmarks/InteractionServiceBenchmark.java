@@ -0,0 +1,83 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.service.CustomerIdIndex;
+import com.examly.springapp.service.InteractionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InteractionServiceBenchmark {
+
+    @Param("20000")
+    int customers;
+
+    private ConfigurableApplicationContext context;
+    private InteractionService interactionService;
+    private DataGenerator generator;
+    private long[] customerIds;
+    private long[] interactionIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = CrmContext.start();
+        interactionService = context.getBean(InteractionService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        generator = new DataGenerator(42);
+        customerIds = generator.seedCustomers(jdbcTemplate, customers);
+        generator.seedInteractions(jdbcTemplate, customerIds);
+        interactionIds = jdbcTemplate.queryForList("SELECT id FROM interactions ORDER BY id", Long.class)
+            .stream().mapToLong(Long::longValue).toArray();
+        // The id index loaded at startup, before the seed went in; reload it so lookups stay in memory
+        context.getBean(CustomerIdIndex.class).warmUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Interaction createInteraction() {
+        return interactionService.createInteraction(generator.interaction(randomCustomer()));
+    }
+
+    // Flips the status each time, so every call is a real change rather than a no-op write
+    @Benchmark
+    public Interaction updateInteraction() {
+        Interaction change = generator.interaction(randomCustomer());
+        change.setStatus(generator.nextInt(2) == 0 ? InteractionStatus.OPEN : InteractionStatus.RESOLVED);
+        return interactionService.updateInteraction(interactionIds[generator.nextInt(interactionIds.length)], change);
+    }
+
+    @Benchmark
+    public List<Interaction> findByCustomerId() {
+        return interactionService.getInteractionsByCustomerId(randomCustomer());
+    }
+
+    private long randomCustomer() {
+        return customerIds[generator.nextInt(customerIds.length)];
+    }
+}
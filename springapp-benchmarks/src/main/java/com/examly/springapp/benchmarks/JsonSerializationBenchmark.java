@@ -0,0 +1,75 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.Interaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Serialization only, with no Spring context: the mapper is built the way Boot builds the one behind
+// the controllers, and the payloads have the same shape the endpoints return
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    private ObjectMapper mapper;
+    private Map<String, Object> customerPage;
+    private List<Interaction> interactions;
+
+    @Setup
+    public void start() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        DataGenerator generator = new DataGenerator(42);
+        List<Customer> customers = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Customer c = generator.customer(i);
+            c.setId((long) i + 1);
+            customers.add(c);
+        }
+        // Same map CustomerController.getAllCustomers returns
+        customerPage = Map.of(
+            "customers", customers,
+            "totalPages", 5_000,
+            "totalElements", 100_000L,
+            "currentPage", 0);
+        interactions = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Interaction interaction = generator.interaction(1L);
+            interaction.setId((long) i + 1);
+            interactions.add(interaction);
+        }
+    }
+
+    @Benchmark
+    public byte[] customerPage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(customerPage);
+    }
+
+    @Benchmark
+    public byte[] interactionList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(interactions);
+    }
+}
@@ -1,30 +1,34 @@
 package com.examly.springapp;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class CrmSystemApplication {
 
+	private static final Logger log = LoggerFactory.getLogger(CrmSystemApplication.class);
+
 	public static void main(String[] args) {
-		SpringApplication.run(CrmSystemApplication.class, args);
-		connect();
+		ConfigurableApplicationContext context = SpringApplication.run(CrmSystemApplication.class, args);
+		connect(context.getBean(DataSource.class));
 	}
-	public static void connect() {
-		String url="jdbc:mysql://localhost:3306/appdev";
-		String user="root";
-		String pass="Mjth2k6S";
-		try (Connection conn = DriverManager.getConnection(url, user, pass)){
-			if(conn!=null) {
-				System.out.println("Successful");
+
+	// Checks the configured datasource, so profiles pointing elsewhere (e.g. loadtest) never dial MySQL
+	public static void connect(DataSource dataSource) {
+		try (Connection conn = dataSource.getConnection()) {
+			if (conn != null) {
+				log.info("Successful database connection to {}", conn.getMetaData().getURL());
 			}
 		} catch (SQLException e) {
-			System.out.println("Unsuccessful"+e.getMessage());
+			log.error("Unsuccessful database connection: {}", e.getMessage());
 		}
-				
 	}
 }
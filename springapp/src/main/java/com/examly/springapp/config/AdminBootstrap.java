@@ -0,0 +1,44 @@
+package com.examly.springapp.config;
+
+import com.examly.springapp.model.User;
+import com.examly.springapp.model.UserRole;
+import com.examly.springapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import java.util.Optional;
+
+// Registration only creates analysts, so the first administrator comes from configuration: the registered user
+// named by crm.auth.bootstrap-admin is made ADMIN at startup. Further roles are granted through the API.
+@Component
+public class AdminBootstrap implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminBootstrap.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${crm.auth.bootstrap-admin:}")
+    private String username;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (username == null || username.isBlank()) {
+            return;
+        }
+        Optional<User> user = userRepository.findByUsername(username.trim());
+        if (user.isEmpty()) {
+            log.warn("crm.auth.bootstrap-admin names {}, who has not registered; no administrator was granted", username);
+            return;
+        }
+        if (user.get().getRole() != UserRole.ADMIN) {
+            user.get().setRole(UserRole.ADMIN);
+            userRepository.save(user.get());
+            log.info("Granted ADMIN to {} from crm.auth.bootstrap-admin", username);
+        }
+    }
+}
@@ -13,6 +13,8 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:8082")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                // Read back by the client and echoed on its next requests to keep reading its own writes
+                .exposedHeaders(ReadYourWritesFilter.HEADER)
                 .allowCredentials(false);
     }
 }
\ No newline at end of file
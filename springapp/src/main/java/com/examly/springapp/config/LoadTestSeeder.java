@@ -0,0 +1,112 @@
+package com.examly.springapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Fills the embedded loadtest database with a fixed-seed data set. Runners finish before ApplicationReadyEvent,
+// so the in-memory indexes, filters and counters that load on that event already see these rows.
+@Component
+@Profile("loadtest")
+public class LoadTestSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+    private static final int BATCH = 5_000;
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Carlos", "Priya",
+        "Wei", "Fatima", "Olga", "Kenji", "Amara", "Lucas", "Sofia", "Mohammed", "Ananya", "Noah"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Taylor", "Moore", "Jackson", "Martin", "Lee",
+        "Kumar", "Nguyen", "Chen", "Okafor", "Ivanova", "Tanaka", "Schmidt", "Rossi", "Silva", "Haddad"
+    };
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "example.com", "icloud.com"};
+    private static final String[] TOPICS = {
+        "Asked about delivery times for order", "Requested a refund for damaged item in order",
+        "Wanted to upgrade membership after purchase", "Reported a billing discrepancy on invoice",
+        "Returned wrong size, exchange requested for order", "Follow-up call about warranty coverage for order"
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${crm.loadtest.customers:20000}")
+    private int customers;
+
+    @Value("${crm.loadtest.interactions-per-customer:5}")
+    private int interactionsPerCustomer;
+
+    @Value("${crm.loadtest.seed:42}")
+    private long seed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Integer.class);
+        if (existing != null && existing > 0) {
+            log.info("Load test database already holds {} customers; not seeding", existing);
+            return;
+        }
+        long start = System.nanoTime();
+        Random random = new Random(seed);
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (int i = 0; i < customers; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            int roll = random.nextInt(100);
+            rows.add(new Object[] {
+                first, last,
+                first.toLowerCase() + "." + last.toLowerCase() + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)],
+                String.format("+1-%03d-%03d-%04d", 200 + random.nextInt(800), random.nextInt(1000), random.nextInt(10_000)),
+                roll < 70 ? "REGULAR" : roll < 92 ? "PREMIUM" : "VIP",
+                Date.valueOf(LocalDate.now().minusDays(random.nextInt(3 * 365)))
+            });
+            if (rows.size() == BATCH || i == customers - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO customers (first_name, last_name, email, phone_number, customer_type, "
+                    + "registration_date) VALUES (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+
+        // Geometric counts with the configured mean: most customers have a few interactions, some have many
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM customers ORDER BY id", Long.class);
+        double more = interactionsPerCustomer / (interactionsPerCustomer + 1.0);
+        LocalDateTime now = LocalDateTime.now();
+        long interactions = 0;
+        for (int c = 0; c < ids.size(); c++) {
+            while (random.nextDouble() < more) {
+                int type = random.nextInt(100);
+                rows.add(new Object[] {
+                    ids.get(c),
+                    type < 55 ? "INQUIRY" : type < 85 ? "PURCHASE" : "RETURN",
+                    TOPICS[random.nextInt(TOPICS.length)] + " #" + (100_000 + random.nextInt(900_000)),
+                    random.nextInt(100) < 80 ? "RESOLVED" : "OPEN",
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(2 * 365 * 24 * 60)))
+                });
+            }
+            if (rows.size() >= BATCH || c == ids.size() - 1) {
+                interactions += rows.size();
+                jdbcTemplate.batchUpdate("INSERT INTO interactions (customer_id, interaction_type, description, status, "
+                    + "interaction_date) VALUES (?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        log.info("Seeded {} customers and {} interactions in {} ms", customers, interactions,
+            (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,30 @@
+package com.examly.springapp.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Request timers (http.server.requests), repository timers (spring.data.repository.invocations) and the
+// hibernate.* statistics are bound by Boot's auto-configuration; this adds what Hibernate only keeps internally
+@Configuration
+public class ObservabilityConfig {
+
+    @Bean
+    public MeterBinder hibernateSlowQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            Gauge.builder("hibernate.slow.queries", statistics, s -> s.getSlowQueries().size())
+                .description("Distinct statements slower than hibernate.log_slow_query")
+                .register(registry);
+            Gauge.builder("hibernate.slow.query.max", statistics,
+                    s -> s.getSlowQueries().values().stream().mapToLong(Long::longValue).max().orElse(0))
+                .description("Slowest recorded statement time in milliseconds")
+                .baseUnit("milliseconds")
+                .register(registry);
+        };
+    }
+}
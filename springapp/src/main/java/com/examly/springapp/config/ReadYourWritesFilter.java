@@ -0,0 +1,306 @@
+package com.examly.springapp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+// Keeps a client on the primary for a while after it writes, so it reads its own changes instead of a replica that
+// has not caught up yet. The deadline goes out in a cookie and in the X-Crm-Primary-Until header; a cross-origin
+// client that does not send credentials echoes the header back instead. Within the request that wrote, later reads
+// stay on the primary too. Writes made off the request thread (ingestion, bulk jobs) are not tied to any client.
+// It also keeps the collection ETags honest when a replica answers. Those tags come from in-process change counters,
+// which describe the primary; paired with a lagging replica's rows, a client would keep the old rows as current until
+// the next change. So a replica-answered response is buffered and tagged with a hash of its body instead, which
+// If-None-Match can still turn into a 304, though only after the query has run.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "crm_primary_until";
+    public static final String HEADER = "X-Crm-Primary-Until";
+
+    private static final class Session {
+        final HttpServletResponse response;
+        final long windowMillis;
+        long primaryUntil;
+        boolean wrote;
+        boolean replicaRead;
+
+        Session(HttpServletResponse response, long windowMillis, long primaryUntil) {
+            this.response = response;
+            this.windowMillis = windowMillis;
+            this.primaryUntil = primaryUntil;
+        }
+    }
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    static boolean requiresPrimary() {
+        Session session = CURRENT.get();
+        return session != null && (session.wrote || session.primaryUntil > System.currentTimeMillis());
+    }
+
+    // Called when a connection is handed out for a read-write transaction. The cookie and header go out with the
+    // first one, which is before the response body has been written
+    static void recordWrite() {
+        Session session = CURRENT.get();
+        if (session == null || session.wrote) {
+            return;
+        }
+        session.wrote = true;
+        session.primaryUntil = System.currentTimeMillis() + session.windowMillis;
+        if (!session.response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(session.primaryUntil));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (session.windowMillis + 999) / 1000));
+            cookie.setAttribute("SameSite", "Lax");
+            session.response.addCookie(cookie);
+            session.response.setHeader(HEADER, Long.toString(session.primaryUntil));
+        }
+    }
+
+    // Called when a replica connection is handed out for this request
+    static void recordReplicaRead() {
+        Session session = CURRENT.get();
+        if (session != null) {
+            session.replicaRead = true;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // The value comes from the client, so it never buys more than one window from now
+        long primaryUntil = Math.min(primaryUntil(request), System.currentTimeMillis() + windowMillis);
+        Session session = new Session(response, windowMillis, primaryUntil);
+        TaggedResponse tagged = new TaggedResponse(response, session);
+        CURRENT.set(session);
+        try {
+            chain.doFilter(request, tagged);
+            tagged.finish(request);
+        } finally {
+            CURRENT.remove();
+            if (!response.isCommitted()) {
+                tagged.releaseTag();
+            }
+        }
+    }
+
+    // Holds the ETag back until the headers go out, since it is set before the query that decides whether it may be
+    // sent: a conditional GET adds it as soon as the tag is checked
+    private static final class TaggedResponse extends HttpServletResponseWrapper {
+        private final Session session;
+        private String etag;
+        // Set once a tagged response turns out to come from a replica; the body is held here until finish
+        private ByteArrayOutputStream body;
+        private ServletOutputStream bodyStream;
+        private PrintWriter bodyWriter;
+
+        TaggedResponse(HttpServletResponse response, Session session) {
+            super(response);
+            this.session = session;
+        }
+
+        void releaseTag() {
+            if (etag != null && !session.replicaRead) {
+                super.setHeader(HttpHeaders.ETAG, etag);
+            }
+            etag = null;
+        }
+
+        private boolean buffering() {
+            if (body == null && etag != null && session.replicaRead && !isCommitted()) {
+                body = new ByteArrayOutputStream();
+            }
+            return body != null;
+        }
+
+        // Tags a buffered body by its content, answers a matching If-None-Match with 304, otherwise writes it out
+        void finish(HttpServletRequest request) throws IOException {
+            if (body == null) {
+                return;
+            }
+            if (bodyWriter != null) {
+                bodyWriter.flush();
+            }
+            byte[] bytes = body.toByteArray();
+            body = null;
+            etag = null;
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            String tag = "W/\"r-" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+            response.setHeader(HttpHeaders.ETAG, tag);
+            if (response.getStatus() == HttpServletResponse.SC_OK
+                    && new ServletWebRequest(request, response).checkNotModified(tag)) {
+                return;
+            }
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+                etag = value;
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+                etag = value;
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return HttpHeaders.ETAG.equalsIgnoreCase(name) && etag != null || super.containsHeader(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return HttpHeaders.ETAG.equalsIgnoreCase(name) && etag != null ? etag : super.getHeader(name);
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            return HttpHeaders.ETAG.equalsIgnoreCase(name) && etag != null ? List.of(etag) : super.getHeaders(name);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (buffering()) {
+                if (bodyStream == null) {
+                    bodyStream = new BufferedBody(body);
+                }
+                return bodyStream;
+            }
+            releaseTag();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (buffering()) {
+                if (bodyWriter == null) {
+                    bodyWriter = new PrintWriter(new OutputStreamWriter(body, getCharacterEncoding()));
+                }
+                return bodyWriter;
+            }
+            releaseTag();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (body != null) {
+                return;
+            }
+            releaseTag();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            if (body == null) {
+                super.setContentLength(length);
+            }
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            if (body == null) {
+                super.setContentLengthLong(length);
+            }
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            etag = null;
+            body = null;
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            etag = null;
+            body = null;
+            super.sendError(status, message);
+        }
+    }
+
+    private static final class BufferedBody extends ServletOutputStream {
+        private final ByteArrayOutputStream body;
+
+        BufferedBody(ByteArrayOutputStream body) {
+            this.body = body;
+        }
+
+        @Override
+        public void write(int b) {
+            body.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            body.write(b, off, len);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        long until = parse(request.getHeader(HEADER));
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    until = Math.max(until, parse(cookie.getValue()));
+                }
+            }
+        }
+        return until;
+    }
+
+    private static long parse(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.examly.springapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+
+// Hands out replica connections to read-only transactions run through ReplicaReads and primary connections everywhere
+// else. Read-only alone is not enough: Spring Data runs every repository read read-only, including the findById
+// before an update and the loads that fill the caches, and those have to see the latest commit. Has to sit behind a
+// LazyConnectionDataSourceProxy: the transaction's read-only flag is only set after it has begun, so the choice can
+// only be made once the first statement needs a real connection. A replica that cannot hand out a
+// connection is skipped for retryAfter; with none left the read goes to the primary. A statement that fails on a
+// replica after the connection was handed out is not retried.
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_LOADED
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        final AtomicInteger inUse = new AtomicInteger();
+        final LongAdder reads = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        volatile long downUntil;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Selection selection;
+    private final long retryAfterMillis;
+    private final AtomicLong next = new AtomicLong();
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = ThreadLocal.withInitial(() -> false);
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Selection selection, Duration retryAfter) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.selection = selection;
+        this.retryAfterMillis = retryAfter.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    // Whether reads on this thread may go to a replica; returns the previous setting so callers can restore it
+    public static boolean markReplicaRead(boolean replicaRead) {
+        boolean previous = REPLICA_READ.get();
+        if (replicaRead) {
+            REPLICA_READ.set(true);
+        } else {
+            REPLICA_READ.remove();
+        }
+        return previous;
+    }
+
+    // The replica pools are not beans of their own, so they close with this one
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close replica {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public Map<String, Object> getStats() {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> replicaStats = new ArrayList<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("name", replica.name);
+            stats.put("available", replica.downUntil <= now);
+            stats.put("inUse", replica.inUse.get());
+            stats.put("reads", replica.reads.sum());
+            stats.put("failures", replica.failures.sum());
+            replicaStats.add(stats);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("selection", selection);
+        stats.put("primaryConnections", primaryConnections.sum());
+        stats.put("stickyReads", stickyReads.sum());
+        stats.put("fallbackReads", fallbackReads.sum());
+        stats.put("replicas", replicaStats);
+        return stats;
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly || !REPLICA_READ.get()) {
+            // Any read-write transaction counts as a write; telling the ones that only read apart would need the SQL
+            if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWritesFilter.recordWrite();
+            }
+            primaryConnections.increment();
+            return connector.connect(primary);
+        }
+        if (ReadYourWritesFilter.requiresPrimary()) {
+            stickyReads.increment();
+            return connector.connect(primary);
+        }
+        long now = System.currentTimeMillis();
+        for (Replica replica : candidates()) {
+            if (replica.downUntil > now) {
+                continue;
+            }
+            try {
+                Connection connection = connector.connect(replica.dataSource);
+                replica.downUntil = 0;
+                replica.reads.increment();
+                ReadYourWritesFilter.recordReplicaRead();
+                return tracked(replica, connection);
+            } catch (SQLException e) {
+                replica.failures.increment();
+                replica.downUntil = System.currentTimeMillis() + retryAfterMillis;
+                log.warn("Replica {} is unavailable; skipping it for {} ms: {}", replica.name, retryAfterMillis, e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return connector.connect(primary);
+    }
+
+    // Replicas in the order to try them. Round robin rotates the start; least loaded also rotates, so replicas
+    // tied on connections in use still share the reads
+    private List<Replica> candidates() {
+        int count = replicas.size();
+        int start = (int) Math.floorMod(next.getAndIncrement(), (long) count);
+        List<Replica> order = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            order.add(replicas.get((start + i) % count));
+        }
+        if (selection == Selection.LEAST_LOADED) {
+            // Sorted on a snapshot, since the counts keep moving while the sort runs
+            Map<Replica, Integer> load = new IdentityHashMap<>();
+            order.forEach(replica -> load.put(replica, replica.inUse.get()));
+            order.sort(Comparator.comparingInt(load::get));
+        }
+        return order;
+    }
+
+    // Counts the connection as in use until it is closed
+    private static Connection tracked(Replica replica, Connection connection) {
+        replica.inUse.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                    replica.inUse.decrementAndGet();
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+    }
+}
@@ -0,0 +1,84 @@
+package com.examly.springapp.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Regions for the Hibernate second-level and query caches, created up front with the sizes and TTLs configured
+// under crm.second-level-cache.*. Hibernate is told to fail on any region not created here rather than invent an
+// unbounded one. Turned on and off with spring.jpa.properties.hibernate.cache.use_second_level_cache.
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String INTERACTIONS = "interactions";
+    public static final String INTERACTIONS_BY_CUSTOMER = "interactions-by-customer";
+
+    // The provider keeps one manager per URI, and every application context needs its own regions
+    private static final AtomicInteger MANAGERS = new AtomicInteger();
+
+    @Value("${crm.second-level-cache.customers.maximum-size:50000}")
+    private long customersSize;
+
+    @Value("${crm.second-level-cache.customers.expire-after-write:10m}")
+    private Duration customersTtl;
+
+    @Value("${crm.second-level-cache.interactions.maximum-size:200000}")
+    private long interactionsSize;
+
+    @Value("${crm.second-level-cache.interactions.expire-after-write:10m}")
+    private Duration interactionsTtl;
+
+    @Value("${crm.second-level-cache.interactions-by-customer.maximum-size:20000}")
+    private long queriesSize;
+
+    @Value("${crm.second-level-cache.interactions-by-customer.expire-after-write:2m}")
+    private Duration queriesTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("crm-second-level-cache-" + MANAGERS.incrementAndGet()), getClass().getClassLoader());
+        manager.createCache(CUSTOMERS, region(customersSize, customersTtl));
+        manager.createCache(INTERACTIONS, region(interactionsSize, interactionsTtl));
+        manager.createCache(INTERACTIONS_BY_CUSTOMER, region(queriesSize, queriesTtl));
+        // Unused unless a query is cached without naming a region, but Hibernate opens it whenever query caching is on
+        manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queriesSize, queriesTtl));
+        // One entry per table; it must never expire or be evicted, or cached queries would look fresher than they are
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(0, null));
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate's cache entries are immutable, so copying them on every read and write would be pure overhead
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maximumSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuration;
+    }
+}
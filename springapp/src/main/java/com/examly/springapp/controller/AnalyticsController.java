@@ -0,0 +1,32 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.service.CrmAnalytics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:8082")
+public class AnalyticsController {
+
+    @Autowired
+    private CrmAnalytics crmAnalytics;
+
+    @GetMapping
+    public ResponseEntity<?> getAnalytics(@RequestParam(defaultValue = "30") int days) {
+        if (!crmAnalytics.isLoaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("message", "Analytics counters are still loading"));
+        }
+        try {
+            return ResponseEntity.ok(crmAnalytics.getSnapshot(days));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
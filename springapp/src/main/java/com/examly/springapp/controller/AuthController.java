@@ -3,12 +3,20 @@ package com.examly.springapp.controller;
 import com.examly.springapp.model.User;
 import com.examly.springapp.model.UserRole;
 import com.examly.springapp.repository.UserRepository;
+import com.examly.springapp.service.AuthToken;
+import com.examly.springapp.service.PasswordHasher;
+import com.examly.springapp.service.RegistrationFilter;
+import com.examly.springapp.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -18,16 +26,51 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private RegistrationFilter registrationFilter;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private TokenService tokenService;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody User user) {
-        if (userRepository.existsByUsername(user.getUsername())) {
+        if (registrationFilter.mightExist(RegistrationFilter.Key.USERNAME, user.getUsername())
+                && userRepository.existsByUsername(user.getUsername())) {
             return ResponseEntity.badRequest().body(Map.of("message", "Username already exists"));
         }
-        if (userRepository.existsByEmail(user.getEmail())) {
+        if (registrationFilter.mightExist(RegistrationFilter.Key.USER_EMAIL, user.getEmail())
+                && userRepository.existsByEmail(user.getEmail())) {
             return ResponseEntity.badRequest().body(Map.of("message", "Email already exists"));
         }
         
-        User saved = userRepository.save(user);
+        if (user.getPassword() == null || user.getPassword().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Password is required"));
+        }
+        
+        // Self-registration never picks its own id or role; elevated roles are granted through PUT /users/{id}/role
+        user.setId(null);
+        user.setRole(UserRole.ANALYST);
+        User saved;
+        try {
+            user.setPassword(passwordHasher.hash(user.getPassword()));
+            saved = userRepository.save(user);
+        } catch (RejectedExecutionException e) {
+            return busy();
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent registration took the username or email after the checks above
+            if (userRepository.existsByUsername(user.getUsername())) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Username already exists"));
+            }
+            if (userRepository.existsByEmail(user.getEmail())) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Email already exists"));
+            }
+            throw e;
+        }
+        registrationFilter.add(RegistrationFilter.Key.USERNAME, saved.getUsername());
+        registrationFilter.add(RegistrationFilter.Key.USER_EMAIL, saved.getEmail());
         return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("message", "User registered successfully", "user", saved));
     }
 
@@ -37,10 +80,72 @@ public class AuthController {
         String password = credentials.get("password");
         
         Optional<User> user = userRepository.findByUsername(username);
-        if (user.isPresent() && user.get().getPassword().equals(password)) {
-            return ResponseEntity.ok(Map.of("message", "Login successful", "user", user.get()));
+        try {
+            // Unknown usernames still pay for one hash so response times do not reveal which names exist
+            if (passwordHasher.matches(password, user.map(User::getPassword).orElse(null))) {
+                User found = user.get();
+                if (passwordHasher.needsRehash(found.getPassword())) {
+                    found.setPassword(passwordHasher.hash(password));
+                    userRepository.save(found);
+                }
+                AuthToken token = tokenService.issue(found);
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("message", "Login successful");
+                body.put("token", tokenService.encode(token));
+                body.put("expiresAt", token.getExpiresAt());
+                body.put("user", found);
+                return ResponseEntity.ok(body);
+            }
+        } catch (RejectedExecutionException e) {
+            return busy();
         }
         
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid credentials"));
     }
+
+    // Answers from the token alone; no user lookup
+    @GetMapping("/me")
+    public ResponseEntity<?> me(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        return tokenService.verify(token)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid or expired token")));
+    }
+
+    // Admins only. Tokens carry the role, so the user picks up the new one at their next login
+    @PutMapping("/users/{id}/role")
+    public ResponseEntity<?> grantRole(@PathVariable Long id, @RequestBody Map<String, String> body,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        Optional<AuthToken> caller = tokenService.verify(token);
+        if (caller.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid or expired token"));
+        }
+        if (caller.get().getRole() != UserRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Only administrators can grant roles"));
+        }
+        UserRole role;
+        try {
+            role = UserRole.valueOf(String.valueOf(body.get("role")));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "role must be one of ADMIN, SALES_REP, ANALYST"));
+        }
+        Optional<User> user = userRepository.findById(id);
+        if (user.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "User not found"));
+        }
+        user.get().setRole(role);
+        return ResponseEntity.ok(Map.of("message", "Role updated", "user", userRepository.save(user.get())));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getHashingStats() {
+        return ResponseEntity.ok(passwordHasher.getStats());
+    }
+
+    private static ResponseEntity<?> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Map.of("message", "Too many logins in progress, try again shortly"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.service.ChangeFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "http://localhost:8082")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Value("${crm.change-feed.timeout:30m}")
+    private Duration timeout;
+
+    // Server-Sent Events: one "customer.*" or "interaction.*" event per change, with the feed's sequence number as
+    // the event id, so EventSource's automatic reconnect resumes where it left off. A "reset" event means changes
+    // were missed; the client should re-fetch what it shows, and the stream then ends
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) Long customerId,
+                                @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) throws IOException {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        // Gets the response committed now rather than at the first change
+        emitter.send(SseEmitter.event().comment("subscribed"));
+        ChangeFeed.Subscription subscription = changeFeed.subscribe(customerId, lastEventId, new ChangeFeed.Listener() {
+            @Override
+            public void onEvent(ChangeFeed.Event event) throws IOException {
+                emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.id()))
+                    .name(event.type())
+                    .data(event, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onReset(long resumeFrom) throws IOException {
+                emitter.send(SseEmitter.event()
+                    .id(String.valueOf(resumeFrom))
+                    .name("reset")
+                    .data(Map.of("resumeFrom", resumeFrom), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onClose() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        return emitter;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(changeFeed.getStats());
+    }
+}
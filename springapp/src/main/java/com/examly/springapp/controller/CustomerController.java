@@ -1,14 +1,36 @@
 package com.examly.springapp.controller;
 
 import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerSummary;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.service.CustomerCache;
+import com.examly.springapp.service.CustomerDeletionReport;
+import com.examly.springapp.service.CustomerDeletionService;
+import com.examly.springapp.service.CustomerExportService;
+import com.examly.springapp.service.CustomerFileFormat;
+import com.examly.springapp.service.CustomerImportService;
+import com.examly.springapp.service.CustomerSearchIndex;
 import com.examly.springapp.service.CustomerService;
+import com.examly.springapp.service.FieldSet;
+import com.examly.springapp.service.ResourceVersions;
+import com.examly.springapp.service.SecondLevelCache;
+import com.examly.springapp.service.CursorPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -17,18 +39,57 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:8082")
 public class CustomerController {
 
+    private static final Logger log = LoggerFactory.getLogger(CustomerController.class);
+
+    public enum PagingMode {
+        OFFSET, CURSOR
+    }
+
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private CustomerExportService customerExportService;
+
+    @Autowired
+    private CustomerImportService customerImportService;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private CustomerDeletionService customerDeletionService;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
     @PostMapping("/addCustomer")
     public ResponseEntity<?> createCustomer(@RequestBody Customer customer) {
         try {
-            System.out.println("Creating customer: " + customer.getFirstName() + " " + customer.getLastName());
             Customer saved = customerService.createCustomer(customer);
-            System.out.println("Customer created with ID: " + saved.getId());
+            log.debug("Customer created with id {}", saved.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(saved);
         } catch (IllegalArgumentException e) {
-            System.err.println("Error creating customer: " + e.getMessage());
+            log.debug("Customer rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importCustomers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                             InputStream body) throws IOException {
+        CustomerFileFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+            ? CustomerFileFormat.NDJSON
+            : CustomerFileFormat.CSV;
+        try {
+            return ResponseEntity.ok(customerImportService.importCustomers(format, body));
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
@@ -36,46 +97,145 @@ public class CustomerController {
     @GetMapping("/getAllCustomers")
     public ResponseEntity<?> getAllCustomers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "5") int size) {
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "OFFSET") PagingMode mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "ID") CustomerService.CursorSort sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(defaultValue = "full") String fields,
+            WebRequest request) {
+        FieldSet fieldSet;
+        try {
+            fieldSet = FieldSet.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        // Read before the query runs; an unchanged collection is answered without the database or Jackson
+        String etag = resourceVersions.customersTag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (mode == PagingMode.CURSOR || cursor != null) {
+            return getCustomersByCursor(cursor, size, sort, includeTotal, fieldSet, etag);
+        }
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Customer> customerPage = customerService.getAllCustomers(pageable);
-            System.out.println("Total customers found: " + customerPage.getTotalElements());
-            return ResponseEntity.ok(Map.of(
+            Page<?> customerPage = fieldSet == FieldSet.SUMMARY
+                ? customerService.getCustomerSummaries(pageable)
+                : customerService.getAllCustomers(pageable);
+            return ResponseEntity.ok().eTag(etag).body(Map.of(
                 "customers", customerPage.getContent(),
                 "totalPages", customerPage.getTotalPages(),
                 "totalElements", customerPage.getTotalElements(),
                 "currentPage", customerPage.getNumber()
             ));
         } catch (Exception e) {
-            System.err.println("Error fetching customers: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching customers page {} size {}", page, size, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("message", "Error fetching customers: " + e.getMessage()));
         }
     }
 
+    private ResponseEntity<?> getCustomersByCursor(String cursor, int size, CustomerService.CursorSort sort, boolean includeTotal,
+                                                   FieldSet fields, String etag) {
+        try {
+            CursorPage<Customer> slice = customerService.getCustomersAfter(cursor, size, sort, includeTotal);
+            // Map.of rejects null values, and nextCursor/totalElements are legitimately absent
+            Map<String, Object> body = new LinkedHashMap<>();
+            // Keyset positions are read off the full rows, so the summary is cut down here rather than in the query
+            body.put("customers", fields == FieldSet.SUMMARY
+                ? slice.getItems().stream().map(CustomerSummary::of).toList()
+                : slice.getItems());
+            body.put("size", slice.getItems().size());
+            body.put("hasNext", slice.hasNext());
+            body.put("nextCursor", slice.getNextCursor());
+            if (slice.getTotalElements() != null) {
+                body.put("totalElements", slice.getTotalElements());
+            }
+            return ResponseEntity.ok().eTag(etag).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping("/getAllCustomersSimple")
-    public ResponseEntity<List<Customer>> getAllCustomersSimple() {
-        List<Customer> customers = customerService.getAllCustomers();
-        System.out.println("Simple endpoint - Total customers: " + customers.size());
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<StreamingResponseBody> getAllCustomersSimple() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> customerExportService.writeJsonArray(out));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @RequestParam(defaultValue = "NDJSON") CustomerFileFormat format) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (format == CustomerFileFormat.CSV) {
+            response.contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"customers.csv\"");
+        } else {
+            response.contentType(MediaType.APPLICATION_NDJSON);
+        }
+        return response.body(out -> customerExportService.export(format, out));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(required = false) CustomerType type,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (!customerSearchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("message", "Search index is loading"));
+        }
+        try {
+            return ResponseEntity.ok(customerService.searchCustomers(q, type, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @GetMapping("/getCustomer/{id}")
     public ResponseEntity<?> getCustomerById(@PathVariable Long id) {
+        // Usually a cache hit; a matching If-None-Match then skips serialization too
         return customerService.getCustomerById(id)
-            .<ResponseEntity<?>>map(customer -> ResponseEntity.ok().body(customer))
+            .<ResponseEntity<?>>map(customer -> ResponseEntity.ok()
+                .eTag(ResourceVersions.entityTag("customer", customer.getId(), customer.getVersion()))
+                .body(customer))
             .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "Customer not found")));
     }
     
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(customerCache.getStats());
+    }
+
+    // Hibernate's customer, interaction and interactions-by-customer regions
+    @GetMapping("/cache/second-level")
+    public ResponseEntity<Map<String, Object>> getSecondLevelCacheStats() {
+        return ResponseEntity.ok(secondLevelCache.getStats());
+    }
+
     @DeleteMapping("/deleteCustomer/{id}")
     public ResponseEntity<?> deleteCustomer(@PathVariable Long id) {
         try {
-            customerService.deleteCustomer(id);
-            return ResponseEntity.ok(Map.of("message", "Customer deleted successfully"));
+            CustomerDeletionReport report = customerService.deleteCustomer(id);
+            return ResponseEntity.ok(Map.of(
+                "message", "Customer deleted successfully",
+                "interactionsDeleted", report.getInteractionsDeleted(),
+                "elapsedMillis", report.getElapsedMillis()
+            ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
         }
     }
+
+    @PostMapping("/deleteCustomers")
+    public ResponseEntity<?> deleteCustomers(@RequestBody List<Long> ids) {
+        try {
+            return ResponseEntity.ok(customerDeletionService.deleteCustomers(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
 }
\ No newline at end of file
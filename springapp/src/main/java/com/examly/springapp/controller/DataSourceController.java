@@ -0,0 +1,26 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.config.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/datasource")
+@CrossOrigin(origins = "http://localhost:8082")
+public class DataSourceController {
+
+    // Only present when read replicas are configured
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats() {
+        if (replicaRoutingDataSource == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "No read replicas are configured"));
+        }
+        return ResponseEntity.ok(replicaRoutingDataSource.getStats());
+    }
+}
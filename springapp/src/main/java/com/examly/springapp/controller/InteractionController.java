@@ -1,12 +1,25 @@
 package com.examly.springapp.controller;
 
 import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionPatch;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.model.StatusTransitionRequest;
+import com.examly.springapp.service.CursorPage;
+import com.examly.springapp.service.FieldSet;
+import com.examly.springapp.service.InteractionIngestionService;
 import com.examly.springapp.service.InteractionService;
+import com.examly.springapp.service.InteractionStatusTransitionService;
+import com.examly.springapp.service.ResourceVersions;
+import com.examly.springapp.service.StatusTransitionJob;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -17,6 +30,15 @@ public class InteractionController {
     @Autowired
     private InteractionService interactionService;
 
+    @Autowired
+    private InteractionIngestionService interactionIngestionService;
+
+    @Autowired
+    private InteractionStatusTransitionService interactionStatusTransitionService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @PostMapping("/interactions")
     public ResponseEntity<?> createInteraction(@RequestBody Interaction interaction) {
         try {
@@ -27,18 +49,139 @@ public class InteractionController {
         }
     }
 
+    @PostMapping("/interactions/ingest")
+    public ResponseEntity<?> ingestInteraction(@RequestBody Interaction interaction) {
+        try {
+            String trackingId = interactionIngestionService.submit(interaction);
+            if (trackingId == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("message", "Ingestion queue is full"));
+            }
+            return ResponseEntity.accepted().body(Map.of("trackingId", trackingId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/interactions/ingest/stats")
+    public ResponseEntity<Map<String, Object>> getIngestionStats() {
+        return ResponseEntity.ok(interactionIngestionService.getStats());
+    }
+
+    @GetMapping("/interactions/ingest/{trackingId}")
+    public ResponseEntity<?> getIngestionResult(@PathVariable String trackingId) {
+        InteractionIngestionService.Result result = interactionIngestionService.getResult(trackingId);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "Tracking id not found"));
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    // Runs in the background; poll the returned job for per-chunk progress
+    @PostMapping("/interactions/status-transitions")
+    public ResponseEntity<?> transitionStatus(@RequestBody StatusTransitionRequest request) {
+        try {
+            return ResponseEntity.accepted().body(interactionStatusTransitionService.submit(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/interactions/status-transitions/{jobId}")
+    public ResponseEntity<?> getStatusTransition(@PathVariable String jobId) {
+        StatusTransitionJob job = interactionStatusTransitionService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "Job not found"));
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    @DeleteMapping("/interactions/status-transitions/{jobId}")
+    public ResponseEntity<?> cancelStatusTransition(@PathVariable String jobId) {
+        StatusTransitionJob job = interactionStatusTransitionService.cancel(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "Job not found"));
+        }
+        return ResponseEntity.ok(job);
+    }
+
     @GetMapping("/customers/{customerId}/interactions")
-    public ResponseEntity<List<Interaction>> getInteractionsByCustomerId(@PathVariable Long customerId) {
-        return ResponseEntity.ok(interactionService.getInteractionsByCustomerId(customerId));
+    public ResponseEntity<?> getInteractionsByCustomerId(@PathVariable Long customerId,
+                                                         @RequestParam(defaultValue = "full") String fields,
+                                                         WebRequest request) {
+        try {
+            FieldSet fieldSet = FieldSet.parse(fields);
+            String etag = resourceVersions.interactionsTag(customerId);
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(fieldSet == FieldSet.SUMMARY
+                ? interactionService.getInteractionSummariesByCustomerId(customerId)
+                : interactionService.getInteractionsByCustomerId(customerId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
     
+    @GetMapping("/customers/{customerId}/interactions/timeline")
+    public ResponseEntity<?> getInteractionTimeline(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) InteractionType type,
+            @RequestParam(required = false) InteractionStatus status) {
+        try {
+            CursorPage<Interaction> page = interactionService.getTimeline(customerId, cursor, size, type, status);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("interactions", page.getItems());
+            body.put("size", page.getItems().size());
+            body.put("hasNext", page.hasNext());
+            body.put("nextCursor", page.getNextCursor());
+            return ResponseEntity.ok(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @PutMapping("/interactions/{id}")
     public ResponseEntity<?> updateInteraction(@PathVariable Long id, @RequestBody Interaction interaction) {
         try {
             Interaction updated = interactionService.updateInteraction(id, interaction);
             return ResponseEntity.ok(updated);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Interaction " + id + " was modified concurrently"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/interactions/{id}")
+    public ResponseEntity<?> patchInteraction(@PathVariable Long id, @RequestBody InteractionPatch patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ResourceVersions.isWeak(ifMatch)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of("message", "If-Match needs a strong ETag"));
+        }
+        Long expectedVersion;
+        try {
+            expectedVersion = ResourceVersions.versionFromTag("interaction", id, ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        // Checked here so the service's IllegalArgumentException keeps meaning "not found"
+        if ((patch.hasInteractionType() && patch.getInteractionType() == null) || (patch.hasStatus() && patch.getStatus() == null)) {
+            return ResponseEntity.badRequest().body(Map.of("message", "interactionType and status cannot be null"));
+        }
+        try {
+            Interaction patched = interactionService.patchInteraction(id, expectedVersion, patch);
+            return ResponseEntity.ok()
+                .eTag(ResourceVersions.entityTag("interaction", patched.getId(), patched.getVersion()))
+                .body(patched);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+}
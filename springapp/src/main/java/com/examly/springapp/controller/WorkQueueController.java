@@ -0,0 +1,87 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.UserRole;
+import com.examly.springapp.service.AuthToken;
+import com.examly.springapp.service.InteractionWorkQueue;
+import com.examly.springapp.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/work-queue")
+@CrossOrigin(origins = "http://localhost:8082")
+public class WorkQueueController {
+
+    @Autowired
+    private InteractionWorkQueue interactionWorkQueue;
+
+    @Autowired
+    private TokenService tokenService;
+
+    // Hands the caller the highest-priority OPEN interaction nobody else holds, or 204 when there is none
+    @PostMapping("/claim")
+    public ResponseEntity<?> claim(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        Optional<AuthToken> rep = salesRep(authorization);
+        if (rep.isEmpty()) {
+            return denied(authorization);
+        }
+        return interactionWorkQueue.claim(rep.get().getUserId())
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElse(ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/{interactionId}/renew")
+    public ResponseEntity<?> renew(@PathVariable long interactionId,
+                                   @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        Optional<AuthToken> rep = salesRep(authorization);
+        if (rep.isEmpty()) {
+            return denied(authorization);
+        }
+        try {
+            return ResponseEntity.ok(interactionWorkQueue.renew(interactionId, rep.get().getUserId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{interactionId}/release")
+    public ResponseEntity<?> release(@PathVariable long interactionId,
+                                     @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        Optional<AuthToken> rep = salesRep(authorization);
+        if (rep.isEmpty()) {
+            return denied(authorization);
+        }
+        try {
+            interactionWorkQueue.release(interactionId, rep.get().getUserId());
+            return ResponseEntity.ok(Map.of("message", "Interaction released"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(interactionWorkQueue.getStats());
+    }
+
+    private Optional<AuthToken> salesRep(String authorization) {
+        return verify(authorization).filter(token -> token.getRole() == UserRole.SALES_REP || token.getRole() == UserRole.ADMIN);
+    }
+
+    private ResponseEntity<?> denied(String authorization) {
+        if (verify(authorization).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid or expired token"));
+        }
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Only sales reps can work the queue"));
+    }
+
+    private Optional<AuthToken> verify(String authorization) {
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        return tokenService.verify(token);
+    }
+}
@@ -0,0 +1,9 @@
+package com.examly.springapp.model;
+
+// List-view shape of a customer: what the customer cards show, without phone number or registration date
+public record CustomerSummary(Long id, String firstName, String lastName, String email, CustomerType customerType) {
+
+    public static CustomerSummary of(Customer c) {
+        return new CustomerSummary(c.getId(), c.getFirstName(), c.getLastName(), c.getEmail(), c.getCustomerType());
+    }
+}
@@ -1,11 +1,20 @@
 package com.examly.springapp.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "interactions")
+@Table(name = "interactions", indexes = {
+    @Index(name = "idx_interactions_customer_date", columnList = "customerId, interactionDate"),
+    @Index(name = "idx_interactions_status_date", columnList = "status, interactionDate")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "interactions")
 public class Interaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +35,12 @@ public class Interaction {
 
     private LocalDateTime interactionDate;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -43,4 +58,7 @@ public class Interaction {
 
     public LocalDateTime getInteractionDate() { return interactionDate; }
     public void setInteractionDate(LocalDateTime interactionDate) { this.interactionDate = interactionDate; }
-}
\ No newline at end of file
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
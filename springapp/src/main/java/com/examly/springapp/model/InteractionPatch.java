@@ -0,0 +1,33 @@
+package com.examly.springapp.model;
+
+// Body of a PATCH: only the fields the client sent are written, so each one records whether it was present
+public class InteractionPatch {
+    private InteractionType interactionType;
+    private String description;
+    private InteractionStatus status;
+    private boolean interactionTypeSet;
+    private boolean descriptionSet;
+    private boolean statusSet;
+
+    public InteractionType getInteractionType() { return interactionType; }
+    public void setInteractionType(InteractionType interactionType) {
+        this.interactionType = interactionType;
+        this.interactionTypeSet = true;
+    }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionSet = true;
+    }
+
+    public InteractionStatus getStatus() { return status; }
+    public void setStatus(InteractionStatus status) {
+        this.status = status;
+        this.statusSet = true;
+    }
+
+    public boolean hasInteractionType() { return interactionTypeSet; }
+    public boolean hasDescription() { return descriptionSet; }
+    public boolean hasStatus() { return statusSet; }
+}
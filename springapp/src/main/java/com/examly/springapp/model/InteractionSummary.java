@@ -0,0 +1,12 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+
+// List-view shape of an interaction: everything but the free-text description, which dominates row size
+public record InteractionSummary(Long id, Long customerId, InteractionType interactionType, InteractionStatus status,
+                                 LocalDateTime interactionDate) {
+
+    public static InteractionSummary of(Interaction i) {
+        return new InteractionSummary(i.getId(), i.getCustomerId(), i.getInteractionType(), i.getStatus(), i.getInteractionDate());
+    }
+}
@@ -0,0 +1,33 @@
+package com.examly.springapp.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Body of a bulk status change: the interactions are picked either by id or by filter, never both
+public class StatusTransitionRequest {
+    private InteractionStatus targetStatus;
+    private List<Long> ids;
+    private Long customerId;
+    private InteractionType interactionType;
+    // Inclusive lower and exclusive upper bound on interactionDate
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    public InteractionStatus getTargetStatus() { return targetStatus; }
+    public void setTargetStatus(InteractionStatus targetStatus) { this.targetStatus = targetStatus; }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public InteractionType getInteractionType() { return interactionType; }
+    public void setInteractionType(InteractionType interactionType) { this.interactionType = interactionType; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+}
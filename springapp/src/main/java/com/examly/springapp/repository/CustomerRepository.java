@@ -1,10 +1,47 @@
 package com.examly.springapp.repository;
 
 import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("select c.email from Customer c where c.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select c.id from Customer c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Selects only the summary columns; Hibernate builds the records directly, with no managed entities
+    @Query(value = "select new com.examly.springapp.model.CustomerSummary(c.id, c.firstName, c.lastName, c.email, c.customerType) "
+        + "from Customer c", countQuery = "select count(c) from Customer c")
+    Page<CustomerSummary> findSummaries(Pageable pageable);
+
+    // Keyset scrolling: seeks past the last row instead of counting and skipping an offset
+    Window<Customer> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Forward-only read for exports; rows are not kept as managed snapshots, nor pushed into the second-level cache
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Customer> streamAllByOrderByIdAsc();
+}
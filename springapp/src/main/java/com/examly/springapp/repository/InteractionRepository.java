@@ -1,12 +1,29 @@
 package com.examly.springapp.repository;
 
 import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface InteractionRepository extends JpaRepository<Interaction, Long> {
+public interface InteractionRepository extends JpaRepository<Interaction, Long>, JpaSpecificationExecutor<Interaction> {
+    // Cached as a list of ids, resolved through the interactions region; Hibernate drops the result whenever it
+    // writes to the table, and SecondLevelCache does the same for writes made over JDBC
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "interactions-by-customer")
+    })
     List<Interaction> findByCustomerId(Long customerId);
+
+    @Query("select new com.examly.springapp.model.InteractionSummary(i.id, i.customerId, i.interactionType, i.status, i.interactionDate) "
+        + "from Interaction i where i.customerId = :customerId")
+    List<InteractionSummary> findSummariesByCustomerId(@Param("customerId") Long customerId);
     void deleteByCustomerId(Long customerId);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.UserRole;
+import java.time.Instant;
+
+public class AuthToken {
+    private final long userId;
+    private final String username;
+    private final UserRole role;
+    private final Instant expiresAt;
+
+    public AuthToken(long userId, String username, UserRole role, Instant expiresAt) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+
+    public long getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public UserRole getRole() { return role; }
+    public Instant getExpiresAt() { return expiresAt; }
+}
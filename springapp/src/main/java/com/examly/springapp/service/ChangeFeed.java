@@ -0,0 +1,460 @@
+package com.examly.springapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Create/update/delete events for customers and interactions, pushed to subscribers of everything or of one customer.
+// A writer only claims a sequence number and stores the event in a fixed ring, so publishing never waits on a
+// subscriber. One dispatcher thread fans events out into small per-subscriber queues, and a delivery pool drains
+// them; a subscriber whose queue fills up is sent a reset and dropped rather than holding anything up. A send that
+// blocks past the send timeout (a client that stopped reading) drops the subscriber too, and its delivery thread
+// stops counting against the pool until the write gives up, so it cannot starve the others. Event ids are ring
+// sequence numbers, so a client resuming from an id still in the ring is replayed what it missed.
+@Component
+public class ChangeFeed implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    public record Event(long id, String type, Long entityId, Long customerId, Instant occurredAt) {
+    }
+
+    // Implemented over the transport; calls for one subscriber never overlap
+    public interface Listener {
+        void onEvent(Event event) throws IOException;
+
+        // Some events can no longer be delivered; the client should re-fetch, then resume from resumeFrom
+        void onReset(long resumeFrom) throws IOException;
+
+        void onClose();
+    }
+
+    private interface Send {
+        void run() throws IOException;
+    }
+
+    public final class Subscription {
+        private final Long customerId;
+        private final Listener listener;
+        private final Queue<Event> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean replaying = true;
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+        private volatile long lastSent;
+        // Guarded by this; sendingSince is 0 between sends
+        private long sendingSince;
+        private boolean expired;
+
+        private Subscription(Long customerId, Listener listener, long lastSent) {
+            this.customerId = customerId;
+            this.listener = listener;
+            this.lastSent = lastSent;
+        }
+
+        private void enqueue(Event event) {
+            if (closed || overflowed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > subscriberBuffer) {
+                overflowed = true;
+            } else {
+                pending.add(event);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!replaying && !closed && scheduled.compareAndSet(false, true)) {
+                delivery.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (overflowed) {
+                    resets.increment();
+                    send(() -> listener.onReset(sequence.get()));
+                    close();
+                    return;
+                }
+                Event event;
+                while (!closed && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    if (event.id() > lastSent) {
+                        Event next = event;
+                        send(() -> listener.onEvent(next));
+                        lastSent = event.id();
+                        delivered.increment();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                return;
+            } finally {
+                scheduled.set(false);
+                if (isExpired()) {
+                    // The send that overran has returned; give the thread back and end the stream
+                    resizeDelivery(-1);
+                    listener.onClose();
+                }
+            }
+            if (!pending.isEmpty() || overflowed) {
+                schedule();
+            }
+        }
+
+        private void send(Send send) throws IOException {
+            synchronized (this) {
+                sendingSince = System.nanoTime();
+            }
+            sending.add(this);
+            try {
+                send.run();
+            } finally {
+                sending.remove(this);
+                synchronized (this) {
+                    sendingSince = 0;
+                }
+            }
+        }
+
+        private synchronized boolean isExpired() {
+            return expired;
+        }
+
+        // Called by the dispatcher; true when the send still in progress started before the deadline
+        private boolean expire(long deadline) {
+            synchronized (this) {
+                if (expired || closed || sendingSince == 0 || sendingSince - deadline > 0) {
+                    return false;
+                }
+                expired = true;
+            }
+            // Its listener is busy in the send, so onClose waits for drain to see expired
+            detach();
+            return true;
+        }
+
+        public void close() {
+            if (detach()) {
+                listener.onClose();
+            }
+        }
+
+        private synchronized boolean detach() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            if (customerId == null) {
+                everything.remove(this);
+            } else {
+                Set<Subscription> topic = byCustomer.get(customerId);
+                if (topic != null) {
+                    topic.remove(this);
+                    if (topic.isEmpty()) {
+                        byCustomer.remove(customerId, topic);
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    @Value("${crm.change-feed.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${crm.change-feed.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${crm.change-feed.delivery-threads:4}")
+    private int deliveryThreads;
+
+    @Value("${crm.change-feed.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    private AtomicReferenceArray<Event> ring;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<Subscription> everything = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscription>> byCustomer = new ConcurrentHashMap<>();
+    private final Set<Subscription> sending = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor delivery;
+    // Delivery threads held by sends that overran; the pool grows by as many. Guarded by delivery
+    private int abandoned;
+    private Thread dispatcher;
+    private volatile boolean running;
+    private volatile boolean streaming;
+    // Set once shutdown begins; a subscription arriving after that is ended straight away
+    private volatile boolean closing;
+    // Only the dispatcher thread writes this
+    private volatile long dispatched;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder sendTimeouts = new LongAdder();
+
+    @PostConstruct
+    void startDispatcher() {
+        ring = new AtomicReferenceArray<>(bufferSize);
+        AtomicInteger count = new AtomicInteger();
+        delivery = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "change-feed-delivery-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        running = true;
+        dispatcher = new Thread(this::runDispatcher, "change-feed-dispatch");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    void stopDispatcher() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        delivery.shutdownNow();
+    }
+
+    @Override
+    public void start() {
+        closing = false;
+        streaming = true;
+    }
+
+    // Ends every open stream. Runs before the web server's graceful shutdown, which would otherwise wait out each
+    // long-lived response until its own timeout
+    @Override
+    public void stop() {
+        closing = true;
+        streaming = false;
+        everything.forEach(Subscription::close);
+        byCustomer.values().forEach(topic -> topic.forEach(Subscription::close));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return streaming;
+    }
+
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE + 1;
+    }
+
+    // The publish methods apply once the surrounding transaction commits, or immediately outside one
+
+    public void customerCreated(Long customerId) {
+        publish("customer.created", customerId, customerId);
+    }
+
+    public void customerUpdated(Long customerId) {
+        publish("customer.updated", customerId, customerId);
+    }
+
+    public void customerDeleted(Long customerId) {
+        publish("customer.deleted", customerId, customerId);
+    }
+
+    public void interactionCreated(Long interactionId, Long customerId) {
+        publish("interaction.created", interactionId, customerId);
+    }
+
+    public void interactionUpdated(Long interactionId, Long customerId) {
+        publish("interaction.updated", interactionId, customerId);
+    }
+
+    // customerId null subscribes to every event. lastEventId, when given, replays the events after it that are
+    // still in the ring, or resets the subscriber at once when some of them are already gone
+    public Subscription subscribe(Long customerId, Long lastEventId, Listener listener) throws IOException {
+        long head = sequence.get();
+        long resumeFrom = lastEventId == null ? head : lastEventId;
+        Subscription subscription = new Subscription(customerId, listener, resumeFrom);
+        // Registered before the replay, so nothing published from here on can fall between the two
+        if (customerId == null) {
+            everything.add(subscription);
+        } else {
+            byCustomer.computeIfAbsent(customerId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        }
+        if (closing) {
+            // stop() may already have passed over this one
+            subscription.close();
+            return subscription;
+        }
+        try {
+            // An id from before a restart cannot be resumed from, nor can one whose successors were overwritten
+            boolean lost = resumeFrom > head;
+            for (long id = resumeFrom + 1; !lost && id <= head; id++) {
+                Event event = ring.get(slot(id));
+                if (event == null || event.id() < id) {
+                    // Claimed but not stored yet; the dispatcher hands it over once it is
+                    break;
+                }
+                if (event.id() > id) {
+                    lost = true;
+                    break;
+                }
+                if (customerId == null || customerId.equals(event.customerId())) {
+                    listener.onEvent(event);
+                    delivered.increment();
+                }
+                subscription.lastSent = id;
+            }
+            if (lost) {
+                resets.increment();
+                listener.onReset(head);
+                subscription.close();
+                return subscription;
+            }
+        } catch (IOException | RuntimeException e) {
+            subscription.close();
+            throw e;
+        }
+        subscription.replaying = false;
+        subscription.schedule();
+        return subscription;
+    }
+
+    public Map<String, Object> getStats() {
+        int topicSubscribers = 0;
+        for (Set<Subscription> topic : byCustomer.values()) {
+            topicSubscribers += topic.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lastEventId", sequence.get());
+        stats.put("bufferSize", bufferSize);
+        stats.put("subscribers", everything.size() + topicSubscribers);
+        stats.put("customerTopics", byCustomer.size());
+        stats.put("published", published.sum());
+        stats.put("dispatchLag", sequence.get() - dispatched);
+        stats.put("delivered", delivered.sum());
+        stats.put("resets", resets.sum());
+        stats.put("sendTimeouts", sendTimeouts.sum());
+        stats.put("blockedDeliveryThreads", blockedDeliveryThreads());
+        return stats;
+    }
+
+    private void publish(String type, Long entityId, Long customerId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishNow(type, entityId, customerId);
+                }
+            });
+        } else {
+            publishNow(type, entityId, customerId);
+        }
+    }
+
+    private void publishNow(String type, Long entityId, Long customerId) {
+        long id = sequence.incrementAndGet();
+        ring.set(slot(id), new Event(id, type, entityId, customerId, Instant.now()));
+        published.increment();
+        LockSupport.unpark(dispatcher);
+    }
+
+    private void runDispatcher() {
+        long sweepNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(100), sendTimeout.toNanos() / 4);
+        long nextSweep = System.nanoTime() + sweepNanos;
+        while (running) {
+            if (System.nanoTime() - nextSweep >= 0) {
+                expireSlowSends();
+                nextSweep = System.nanoTime() + sweepNanos;
+            }
+            long next = dispatched + 1;
+            Event event = ring.get(slot(next));
+            if (event == null || event.id() < next) {
+                // Nothing new, or the writer holding this sequence has not stored it yet; its unpark wakes us
+                LockSupport.parkNanos(this, sweepNanos);
+                continue;
+            }
+            if (event.id() > next) {
+                // Lapped by writers; whatever was overwritten can no longer reach anyone
+                log.warn("Change feed dispatcher fell {} events behind; resetting subscribers", event.id() - next);
+                everything.forEach(this::overflow);
+                byCustomer.values().forEach(topic -> topic.forEach(this::overflow));
+                dispatched = sequence.get();
+                continue;
+            }
+            everything.forEach(subscription -> subscription.enqueue(event));
+            if (event.customerId() != null) {
+                Set<Subscription> topic = byCustomer.get(event.customerId());
+                if (topic != null) {
+                    topic.forEach(subscription -> subscription.enqueue(event));
+                }
+            }
+            dispatched = next;
+        }
+    }
+
+    private void expireSlowSends() {
+        long deadline = System.nanoTime() - sendTimeout.toNanos();
+        for (Subscription subscription : sending) {
+            if (subscription.expire(deadline)) {
+                sendTimeouts.increment();
+                resizeDelivery(1);
+                log.debug("Change feed subscriber took over {} to accept an event; dropped", sendTimeout);
+            }
+        }
+    }
+
+    private void resizeDelivery(int delta) {
+        synchronized (delivery) {
+            abandoned += delta;
+            int size = deliveryThreads + abandoned;
+            // The core size may never exceed the maximum, so the order depends on the direction
+            if (delta > 0) {
+                delivery.setMaximumPoolSize(size);
+                delivery.setCorePoolSize(size);
+            } else {
+                delivery.setCorePoolSize(size);
+                delivery.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private int blockedDeliveryThreads() {
+        synchronized (delivery) {
+            return abandoned;
+        }
+    }
+
+    private void overflow(Subscription subscription) {
+        subscription.overflowed = true;
+        subscription.schedule();
+    }
+
+    private int slot(long id) {
+        return (int) (id % bufferSize);
+    }
+}
@@ -0,0 +1,374 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.sql.DataSource;
+
+// Running counts behind the analytics endpoint. Writers bump LongAdders once their transaction commits, so hot
+// writers do not contend on a single cell, and a read sums a fixed number of counters whatever the table sizes.
+// Rebuilt from the database at startup under a snapshot, so writes committing during the scan are counted exactly once;
+// rows changed behind the services' back only show up after a rebuild.
+@Component
+public class CrmAnalytics {
+
+    private static final Logger log = LoggerFactory.getLogger(CrmAnalytics.class);
+
+    private static final CustomerType[] CUSTOMER_TYPES = CustomerType.values();
+    private static final InteractionType[] INTERACTION_TYPES = InteractionType.values();
+    private static final InteractionStatus[] STATUSES = InteractionStatus.values();
+
+    private static final class Counters {
+        final LongAdder[] customers = adders(CUSTOMER_TYPES.length);
+        // Indexed by type * STATUSES.length + status
+        final LongAdder[] interactions = adders(INTERACTION_TYPES.length * STATUSES.length);
+        // Epoch day -> interactions dated that day, per InteractionType
+        final Map<Long, LongAdder[]> days = new ConcurrentHashMap<>();
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${crm.analytics.retention-days:90}")
+    private int retentionDays;
+
+    // A lock rather than synchronized: the rebuild blocks on JDBC, which would pin a virtual thread's carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Shared by transactions while they commit and apply their updates, exclusive while a rebuild opens its snapshot
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+    private volatile Counters counters = new Counters();
+    // Non-null while a rebuild scans the tables; writes land here too so they survive the swap
+    private volatile Counters building;
+    private volatile boolean loaded;
+    private volatile long rebuildMillis;
+    private volatile LocalDateTime rebuiltAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildNow();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildNow() {
+        long start = System.nanoTime();
+        Counters fresh = new Counters();
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection instanceof ConnectionProxy proxy) {
+                // Fetch the real connection now rather than inside the gate, where waiting on a pool whose
+                // connections belong to blocked committers could deadlock
+                proxy.getTargetConnection();
+            }
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                JdbcTemplate snapshot = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+                commitGate.writeLock().lock();
+                try {
+                    building = fresh;
+                    // Opens the snapshot on both tables while no commit is in flight: a write committed before
+                    // this is in the scan, one committed after it is applied to fresh, and none is counted twice
+                    snapshot.queryForObject("SELECT (SELECT COUNT(*) FROM customers WHERE id = 0) "
+                        + "+ (SELECT COUNT(*) FROM interactions WHERE id = 0)", Long.class);
+                } finally {
+                    commitGate.writeLock().unlock();
+                }
+                scan(snapshot, fresh);
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Could not rebuild analytics counters; keeping the previous counts", e);
+            building = null;
+            return;
+        }
+        // Readers keep seeing the old counters until here
+        counters = fresh;
+        building = null;
+        loaded = true;
+        rebuiltAt = LocalDateTime.now();
+        rebuildMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Rebuilt analytics counters in {} ms", rebuildMillis);
+    }
+
+    private void scan(JdbcTemplate snapshot, Counters fresh) {
+        snapshot.query("SELECT customer_type, COUNT(*) FROM customers GROUP BY customer_type", rs -> {
+            CustomerType type = parse(CustomerType.class, rs.getString(1));
+            if (type != null) {
+                fresh.customers[type.ordinal()].add(rs.getLong(2));
+            }
+        });
+        snapshot.query("SELECT interaction_type, status, COUNT(*) FROM interactions GROUP BY interaction_type, status", rs -> {
+            InteractionType type = parse(InteractionType.class, rs.getString(1));
+            InteractionStatus status = parse(InteractionStatus.class, rs.getString(2));
+            if (type != null && status != null) {
+                fresh.interactions[slot(type, status)].add(rs.getLong(3));
+            }
+        });
+        LocalDate firstDay = LocalDate.now().minusDays(retentionDays - 1L);
+        snapshot.query(
+            "SELECT CAST(interaction_date AS DATE), interaction_type, COUNT(*) FROM interactions "
+                + "WHERE interaction_date >= ? GROUP BY CAST(interaction_date AS DATE), interaction_type",
+            rs -> {
+                LocalDate day = rs.getObject(1, LocalDate.class);
+                InteractionType type = parse(InteractionType.class, rs.getString(2));
+                if (day != null && type != null) {
+                    day(fresh, day.toEpochDay())[type.ordinal()].add(rs.getLong(3));
+                }
+            },
+            Timestamp.valueOf(firstDay.atStartOfDay()));
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // The record methods apply once the surrounding transaction commits, or immediately outside one
+
+    public void customerCreated(CustomerType type) {
+        if (type != null) {
+            afterCommit(c -> c.customers[type.ordinal()].increment());
+        }
+    }
+
+    public void customerDeleted(CustomerType type) {
+        if (type != null) {
+            afterCommit(c -> c.customers[type.ordinal()].decrement());
+        }
+    }
+
+    public void interactionCreated(InteractionType type, InteractionStatus status, LocalDateTime date) {
+        if (type == null || status == null) {
+            return;
+        }
+        afterCommit(c -> {
+            c.interactions[slot(type, status)].increment();
+            LongAdder[] day = dayWithinRetention(c, date);
+            if (day != null) {
+                day[type.ordinal()].increment();
+            }
+        });
+    }
+
+    public void interactionChanged(InteractionType oldType, InteractionStatus oldStatus, LocalDateTime date,
+                                   InteractionType newType, InteractionStatus newStatus) {
+        if (oldType == newType && oldStatus == newStatus) {
+            return;
+        }
+        interactionDeleted(oldType, oldStatus, date);
+        interactionCreated(newType, newStatus, date);
+    }
+
+    public void interactionDeleted(InteractionType type, InteractionStatus status, LocalDateTime date) {
+        if (type == null || status == null) {
+            return;
+        }
+        afterCommit(c -> {
+            c.interactions[slot(type, status)].decrement();
+            LongAdder[] day = dayWithinRetention(c, date);
+            if (day != null) {
+                day[type.ordinal()].decrement();
+            }
+        });
+    }
+
+    public Map<String, Object> getSnapshot(int days) {
+        if (days < 1 || days > retentionDays) {
+            throw new IllegalArgumentException("days must be between 1 and " + retentionDays);
+        }
+        Counters c = counters;
+
+        Map<String, Long> customersByType = new LinkedHashMap<>();
+        long customerTotal = 0;
+        for (CustomerType type : CUSTOMER_TYPES) {
+            long count = c.customers[type.ordinal()].sum();
+            customersByType.put(type.name(), count);
+            customerTotal += count;
+        }
+
+        Map<String, Map<String, Long>> interactionsByType = new LinkedHashMap<>();
+        long[] statusTotals = new long[STATUSES.length];
+        long interactionTotal = 0;
+        for (InteractionType type : INTERACTION_TYPES) {
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            for (InteractionStatus status : STATUSES) {
+                long count = c.interactions[slot(type, status)].sum();
+                byStatus.put(status.name(), count);
+                statusTotals[status.ordinal()] += count;
+                interactionTotal += count;
+            }
+            interactionsByType.put(type.name(), byStatus);
+        }
+        Map<String, Long> interactionsByStatus = new LinkedHashMap<>();
+        for (InteractionStatus status : STATUSES) {
+            interactionsByStatus.put(status.name(), statusTotals[status.ordinal()]);
+        }
+
+        // Oldest first, with empty days filled in so charts need no gap handling
+        long today = LocalDate.now().toEpochDay();
+        List<Map<String, Object>> daily = new ArrayList<>(days);
+        long last7 = 0;
+        long last30 = 0;
+        for (long day = today - Math.max(days, 30) + 1; day <= today; day++) {
+            LongAdder[] counts = c.days.get(day);
+            Map<String, Long> byType = new LinkedHashMap<>();
+            long total = 0;
+            for (InteractionType type : INTERACTION_TYPES) {
+                long count = counts == null ? 0 : counts[type.ordinal()].sum();
+                byType.put(type.name(), count);
+                total += count;
+            }
+            if (day > today - 7) {
+                last7 += total;
+            }
+            if (day > today - 30) {
+                last30 += total;
+            }
+            if (day > today - days) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("date", LocalDate.ofEpochDay(day).toString());
+                entry.put("total", total);
+                entry.put("byType", byType);
+                daily.add(entry);
+            }
+        }
+        Map<String, Object> rollups = new LinkedHashMap<>();
+        rollups.put("today", daily.get(daily.size() - 1).get("total"));
+        rollups.put("last7Days", last7);
+        rollups.put("last30Days", last30);
+
+        Map<String, Object> customers = new LinkedHashMap<>();
+        customers.put("total", customerTotal);
+        customers.put("byType", customersByType);
+
+        Map<String, Object> interactions = new LinkedHashMap<>();
+        interactions.put("total", interactionTotal);
+        interactions.put("byStatus", interactionsByStatus);
+        interactions.put("byType", interactionsByType);
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("customers", customers);
+        snapshot.put("interactions", interactions);
+        snapshot.put("dailyInteractions", daily);
+        snapshot.put("rollups", rollups);
+        snapshot.put("rebuiltAt", rebuiltAt);
+        snapshot.put("rebuildMillis", rebuildMillis);
+        return snapshot;
+    }
+
+    private interface Update {
+        void apply(Counters counters);
+    }
+
+    // Inside a transaction the gate is held shared from just before the commit until the update is applied. Outside
+    // one the caller's write has already committed, so a rebuild running at that moment may count it twice
+    private void afterCommit(Update update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean gated;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    commitGate.readLock().lock();
+                    gated = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    applyNow(update);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (gated) {
+                        gated = false;
+                        commitGate.readLock().unlock();
+                    }
+                }
+            });
+        } else {
+            applyNow(update);
+        }
+    }
+
+    private void applyNow(Update update) {
+        Counters pending = building;
+        update.apply(counters);
+        if (pending != null && pending != counters) {
+            update.apply(pending);
+        }
+    }
+
+    private LongAdder[] dayWithinRetention(Counters c, LocalDateTime date) {
+        if (date == null) {
+            return null;
+        }
+        long day = date.toLocalDate().toEpochDay();
+        long oldest = LocalDate.now().toEpochDay() - retentionDays + 1;
+        if (day < oldest) {
+            return null;
+        }
+        LongAdder[] counts = c.days.get(day);
+        if (counts == null) {
+            counts = day(c, day);
+            // A new day is rare, so that is when buckets that aged out of the window are dropped
+            c.days.keySet().removeIf(d -> d < oldest);
+        }
+        return counts;
+    }
+
+    private static LongAdder[] day(Counters c, long epochDay) {
+        return c.days.computeIfAbsent(epochDay, d -> adders(INTERACTION_TYPES.length));
+    }
+
+    private static int slot(InteractionType type, InteractionStatus status) {
+        return type.ordinal() * STATUSES.length + status.ordinal();
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
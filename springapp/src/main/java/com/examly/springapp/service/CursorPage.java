@@ -0,0 +1,24 @@
+package com.examly.springapp.service;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    private final Long totalElements;
+
+    public CursorPage(List<T> items, String nextCursor, Long totalElements) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+
+    public List<T> getItems() { return items; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasNext() { return nextCursor != null; }
+
+    // Only populated when the caller explicitly asked for the count query
+    public Long getTotalElements() { return totalElements; }
+}
@@ -0,0 +1,115 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Customer;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Component
+public class CustomerCache {
+
+    @Value("${crm.cache.customers.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${crm.cache.customers.expire-after-write:10m}")
+    private Duration expireAfterWrite;
+
+    private AsyncCache<Long, Customer> cache;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .buildAsync();
+    }
+
+    // Loads once per id; a loader returning empty is not cached, so new ids are never shadowed by a stale miss.
+    // The query runs on the caller after a pending future is published, not inside the map's compute lock, so a
+    // virtual thread waiting on JDBC never pins its carrier and concurrent readers of the same id park on the future
+    public Optional<Customer> get(Long id, Function<Long, Optional<Customer>> loader) {
+        CompletableFuture<Customer> cached = cache.getIfPresent(id);
+        if (cached == null) {
+            CompletableFuture<Customer> loading = new CompletableFuture<>();
+            cached = cache.asMap().putIfAbsent(id, loading);
+            if (cached == null) {
+                return Optional.ofNullable(load(id, loader, loading));
+            }
+        }
+        try {
+            return Optional.ofNullable(cached.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void put(Customer customer) {
+        cache.put(customer.getId(), CompletableFuture.completedFuture(customer));
+    }
+
+    // Evicts now and again once the surrounding transaction completes, so a reader that loaded the
+    // old row before the commit cannot leave it behind in the cache
+    public void evict(Long id) {
+        cache.synchronous().invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.synchronous().invalidate(id);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        cache.synchronous().cleanUp();
+        CacheStats stats = cache.synchronous().stats();
+        long loadCount = loads.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("maximumSize", maximumSize);
+        result.put("expireAfterWriteSeconds", expireAfterWrite.toSeconds());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("loadCount", loadCount);
+        result.put("averageLoadMillis", loadCount == 0 ? 0.0 : loadNanos.sum() / 1e6 / loadCount);
+        return result;
+    }
+
+    // An evict while this runs drops the pending future, so the value loaded here is returned but not kept
+    private Customer load(Long id, Function<Long, Optional<Customer>> loader, CompletableFuture<Customer> loading) {
+        long start = System.nanoTime();
+        try {
+            Customer customer = loader.apply(id).orElse(null);
+            loading.complete(customer);
+            return customer;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.increment();
+            loadNanos.add(System.nanoTime() - start);
+        }
+    }
+}
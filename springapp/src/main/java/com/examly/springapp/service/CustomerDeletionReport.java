@@ -0,0 +1,45 @@
+package com.examly.springapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CustomerDeletionReport {
+
+    private final int requested;
+    private final List<Long> notFound = new ArrayList<>();
+    private long customersDeleted;
+    private long interactionsDeleted;
+    private long statements;
+    private long elapsedMillis;
+
+    public CustomerDeletionReport(int requested) {
+        this.requested = requested;
+    }
+
+    void notFound(Long id) {
+        notFound.add(id);
+    }
+
+    void customersDeleted(long count) {
+        customersDeleted += count;
+    }
+
+    void interactionsDeleted(long count) {
+        interactionsDeleted += count;
+        statements++;
+    }
+
+    void finish(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getRequested() { return requested; }
+    public long getCustomersDeleted() { return customersDeleted; }
+    public long getInteractionsDeleted() { return interactionsDeleted; }
+    public List<Long> getNotFound() { return notFound; }
+
+    // Interaction DELETE statements issued; each ran in its own short transaction
+    public long getStatements() { return statements; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+}
@@ -0,0 +1,184 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.repository.CustomerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Deletes customers and their interactions with set-based DELETEs. Interactions go in bounded chunks,
+// each in its own transaction, so row locks are held for one chunk rather than the whole history.
+@Service
+public class CustomerDeletionService {
+
+    private static final class LockedInteraction {
+        final long id;
+        final InteractionType type;
+        final InteractionStatus status;
+        final LocalDateTime date;
+
+        LockedInteraction(long id, String type, String status, LocalDateTime date) {
+            this.id = id;
+            this.type = type == null ? null : InteractionType.valueOf(type);
+            this.status = status == null ? null : InteractionStatus.valueOf(status);
+            this.date = date;
+        }
+    }
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private CustomerIdIndex customerIdIndex;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CrmAnalytics crmAnalytics;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private InteractionWorkQueue interactionWorkQueue;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Value("${crm.delete.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${crm.delete.customer-batch-size:500}")
+    private int customerBatchSize;
+
+    @Value("${crm.delete.max-ids:10000}")
+    private int maxIds;
+
+    public CustomerDeletionReport deleteCustomers(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("No customer ids given");
+        }
+        if (ids.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " customer ids per request");
+        }
+        long start = System.nanoTime();
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(id -> id == null);
+        CustomerDeletionReport report = new CustomerDeletionReport(distinct.size());
+
+        for (int from = 0; from < distinct.size(); from += customerBatchSize) {
+            List<Long> batch = distinct.subList(from, Math.min(distinct.size(), from + customerBatchSize));
+            Set<Long> existing = new HashSet<>(customerRepository.findExistingIds(batch));
+            List<Long> targets = new ArrayList<>(existing.size());
+            for (Long id : batch) {
+                if (existing.contains(id)) {
+                    targets.add(id);
+                } else {
+                    report.notFound(id);
+                }
+            }
+            if (!targets.isEmpty()) {
+                deleteBatch(targets, report);
+            }
+        }
+        report.finish((System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    private void deleteBatch(List<Long> ids, CustomerDeletionReport report) {
+        String in = placeholders(ids.size());
+        // Rows are locked before they are deleted so the analytics counters subtract exactly what this transaction removed
+        String selectChunk = "SELECT id, interaction_type, status, interaction_date FROM interactions WHERE customer_id IN ("
+            + in + ") LIMIT ? FOR UPDATE";
+        Object[] chunkArgs = new Object[ids.size() + 1];
+        ids.toArray(chunkArgs);
+        chunkArgs[ids.size()] = chunkSize;
+
+        // Chunks are picked by primary key rather than DELETE ... LIMIT, which MySQL flags as unsafe
+        // for statement-based replication and whose row count not every database reports reliably
+        int selected;
+        do {
+            selected = transactionTemplate.execute(status -> {
+                List<LockedInteraction> chunk = jdbcTemplate.query(selectChunk, CustomerDeletionService::interactionRow, chunkArgs);
+                if (chunk.isEmpty()) {
+                    return 0;
+                }
+                Object[] chunkIds = chunk.stream().map(row -> row.id).toArray();
+                report.interactionsDeleted(
+                    jdbcTemplate.update("DELETE FROM interactions WHERE id IN (" + placeholders(chunkIds.length) + ")", chunkIds));
+                chunk.forEach(this::interactionDeleted);
+                secondLevelCache.interactionsDeleted(chunk.stream().map(row -> row.id).toList());
+                ids.forEach(resourceVersions::interactionsChanged);
+                return chunk.size();
+            });
+        } while (selected == chunkSize);
+
+        // A final sweep shares the customers' transaction, so an interaction written between chunks
+        // cannot be left pointing at a deleted customer
+        transactionTemplate.executeWithoutResult(status -> {
+            Object[] idArgs = ids.toArray();
+            List<LockedInteraction> stragglers = jdbcTemplate.query("SELECT id, interaction_type, status, interaction_date "
+                + "FROM interactions WHERE customer_id IN (" + in + ") FOR UPDATE", CustomerDeletionService::interactionRow, idArgs);
+            stragglers.forEach(this::interactionDeleted);
+            secondLevelCache.interactionsDeleted(stragglers.stream().map(row -> row.id).toList());
+            List<String> types = jdbcTemplate.queryForList(
+                "SELECT customer_type FROM customers WHERE id IN (" + in + ") FOR UPDATE", String.class, idArgs);
+            report.interactionsDeleted(jdbcTemplate.update("DELETE FROM interactions WHERE customer_id IN (" + in + ")", idArgs));
+            report.customersDeleted(jdbcTemplate.update("DELETE FROM customers WHERE id IN (" + in + ")", idArgs));
+            for (String type : types) {
+                crmAnalytics.customerDeleted(type == null ? null : CustomerType.valueOf(type));
+            }
+            resourceVersions.customersChanged();
+            secondLevelCache.customersDeleted(ids);
+            for (Long id : ids) {
+                resourceVersions.interactionsChanged(id);
+                customerCache.evict(id);
+                customerIdIndex.remove(id);
+                customerSearchIndex.remove(id);
+                changeFeed.customerDeleted(id);
+            }
+        });
+    }
+
+    private static LockedInteraction interactionRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp date = rs.getTimestamp(4);
+        return new LockedInteraction(rs.getLong(1), rs.getString(2), rs.getString(3), date == null ? null : date.toLocalDateTime());
+    }
+
+    private void interactionDeleted(LockedInteraction row) {
+        crmAnalytics.interactionDeleted(row.type, row.status, row.date);
+        interactionWorkQueue.interactionClosed(row.id);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.repository.CustomerRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class CustomerExportService {
+
+    static final String CSV_HEADER = "id,firstName,lastName,email,phoneNumber,customerType,registrationDate";
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Visits every customer in id order, detaching each row once the consumer is done with it
+    @Transactional(readOnly = true)
+    public long forEachCustomer(Consumer<Customer> consumer) {
+        long count = 0;
+        try (Stream<Customer> customers = customerRepository.streamAllByOrderByIdAsc()) {
+            for (Customer customer : (Iterable<Customer>) customers::iterator) {
+                consumer.accept(customer);
+                entityManager.detach(customer);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(CustomerFileFormat format, OutputStream out) throws IOException {
+        return format == CustomerFileFormat.CSV ? writeCsv(out) : writeNdjson(out);
+    }
+
+    @Transactional(readOnly = true)
+    public long writeJsonArray(OutputStream out) throws IOException {
+        ObjectWriter writer = rowWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            long count = forEachCustomer(customer -> writeRow(writer, generator, customer));
+            generator.writeEndArray();
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long writeNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = rowWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // Rows are root values on one generator; without this Jackson puts a space before every row after the first
+            generator.setRootValueSeparator(null);
+            return forEachCustomer(customer -> {
+                writeRow(writer, generator, customer);
+                try {
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            long count = forEachCustomer(customer -> {
+                try {
+                    writer.write(String.valueOf(customer.getId()));
+                    writer.write(',');
+                    writer.write(csv(customer.getFirstName()));
+                    writer.write(',');
+                    writer.write(csv(customer.getLastName()));
+                    writer.write(',');
+                    writer.write(csv(customer.getEmail()));
+                    writer.write(',');
+                    writer.write(csv(customer.getPhoneNumber()));
+                    writer.write(',');
+                    writer.write(customer.getCustomerType() == null ? "" : customer.getCustomerType().name());
+                    writer.write(',');
+                    writer.write(customer.getRegistrationDate() == null ? "" : customer.getRegistrationDate().toString());
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ObjectWriter rowWriter() {
+        // Flushing after every row would turn each customer into its own network write
+        return objectMapper.writerFor(Customer.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private static void writeRow(ObjectWriter writer, JsonGenerator generator, Customer customer) {
+        try {
+            writer.writeValue(generator, customer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
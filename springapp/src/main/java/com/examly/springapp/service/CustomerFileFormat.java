@@ -0,0 +1,5 @@
+package com.examly.springapp.service;
+
+public enum CustomerFileFormat {
+    NDJSON, CSV
+}
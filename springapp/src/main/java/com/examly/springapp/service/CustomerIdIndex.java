@@ -0,0 +1,166 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-memory set of every customer id, so interaction writes can validate customerId without a query.
+// Deletes must go through CustomerService so the id is removed here; creates are picked up either way.
+@Component
+public class CustomerIdIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerIdIndex.class);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final CustomerIdSet ids = new CustomerIdSet();
+    private final Queue<Long> removedWhileLoading = new ConcurrentLinkedQueue<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder databaseLookups = new LongAdder();
+    // Bumped by every removal; ids confirmed by the database are only added if none happened since the query
+    private final Object removals = new Object();
+    private volatile long removalEpoch;
+    private volatile boolean loading;
+    private volatile boolean loaded;
+    private volatile long loadMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        loading = true;
+        try {
+            jdbcTemplate.query("SELECT id FROM customers", rs -> {
+                ids.add(rs.getLong(1));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not load customer id index; existence checks will query the database", e);
+            return;
+        } finally {
+            loading = false;
+        }
+        // The scan may have read a row that a concurrent delete removed before the scan added it back
+        Long removed;
+        while ((removed = removedWhileLoading.poll()) != null) {
+            ids.remove(removed);
+        }
+        loaded = true;
+        loadMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Loaded {} customer ids in {} ms (~{} KB)", ids.size(), loadMillis, ids.estimatedBytes() / 1024);
+    }
+
+    // A hit is answered from memory. A miss is confirmed against the database, which covers rows written
+    // behind the service's back and the window before the startup scan completes
+    public boolean exists(Long id) {
+        lookups.increment();
+        if (id == null) {
+            return false;
+        }
+        if (loaded && ids.contains(id)) {
+            return true;
+        }
+        databaseLookups.increment();
+        long epoch = removalEpoch;
+        boolean found = customerRepository.existsById(id);
+        if (found && loaded) {
+            learn(List.of(id), epoch);
+        }
+        return found;
+    }
+
+    public Set<Long> retainExisting(Collection<Long> candidates) {
+        lookups.add(candidates.size());
+        Set<Long> existing = new HashSet<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : candidates) {
+            if (id == null) {
+                continue;
+            }
+            if (loaded && ids.contains(id)) {
+                existing.add(id);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            databaseLookups.add(misses.size());
+            long epoch = removalEpoch;
+            List<Long> found = customerRepository.findExistingIds(misses);
+            existing.addAll(found);
+            if (loaded) {
+                learn(found, epoch);
+            }
+        }
+        return existing;
+    }
+
+    // Call once the row is committed
+    public void add(long id) {
+        ids.add(id);
+    }
+
+    // Removes after the surrounding transaction commits; a rolled back delete leaves the id in place
+    public void remove(long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeNow(id);
+                }
+            });
+        } else {
+            removeNow(id);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        stats.put("loadMillis", loadMillis);
+        stats.put("size", ids.size());
+        stats.put("estimatedBytes", ids.estimatedBytes());
+        stats.put("lookups", lookups.sum());
+        stats.put("databaseLookups", databaseLookups.sum());
+        return stats;
+    }
+
+    private void removeNow(long id) {
+        synchronized (removals) {
+            removalEpoch++;
+            if (loading) {
+                removedWhileLoading.add(id);
+            }
+            ids.remove(id);
+        }
+    }
+
+    // The query may have read a row whose delete committed before we got here; adding it then would bring a
+    // deleted customer back for good, so anything found is dropped if a removal ran in between
+    private void learn(Collection<Long> found, long epoch) {
+        synchronized (removals) {
+            if (removalEpoch == epoch) {
+                found.forEach(ids::add);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.examly.springapp.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class CustomerImportReport {
+
+    public static class RowError {
+        private final long row;
+        private final String email;
+        private final String message;
+
+        public RowError(long row, String email, String message) {
+            this.row = row;
+            this.email = email;
+            this.message = message;
+        }
+
+        public long getRow() { return row; }
+        public String getEmail() { return email; }
+        public String getMessage() { return message; }
+    }
+
+    private final int maxReportedErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private long received;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+
+    public CustomerImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void rowReceived() {
+        received++;
+    }
+
+    void rowsImported(long count) {
+        imported += count;
+    }
+
+    void rowFailed(long row, String email, String message) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(row, email, message));
+        }
+    }
+
+    void finish(long elapsedMillis) {
+        // Database-side rejections surface at flush time, after later rows' parse errors
+        errors.sort(Comparator.comparingLong(RowError::getRow));
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getReceived() { return received; }
+    public long getImported() { return imported; }
+    public long getFailed() { return failed; }
+    public List<RowError> getErrors() { return errors; }
+
+    // Errors beyond maxReportedErrors are counted in failed but not listed
+    public boolean isErrorsTruncated() { return failed > errors.size(); }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? imported * 1000.0 : imported * 1000.0 / elapsedMillis;
+    }
+}
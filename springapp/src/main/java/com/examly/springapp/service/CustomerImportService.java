@@ -0,0 +1,342 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class CustomerImportService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO customers (first_name, last_name, email, phone_number, customer_type, registration_date) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static class ParsedRow {
+        final long row;
+        final Customer customer;
+
+        ParsedRow(long row, Customer customer) {
+            this.row = row;
+            this.customer = customer;
+        }
+    }
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private RegistrationFilter registrationFilter;
+
+    @Autowired
+    private CustomerIdIndex customerIdIndex;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CrmAnalytics crmAnalytics;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Value("${crm.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${crm.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public CustomerImportReport importCustomers(CustomerFileFormat format, InputStream in) throws IOException {
+        long start = System.nanoTime();
+        CustomerImportReport report = new CustomerImportReport(maxReportedErrors);
+        // Emails accepted earlier in this upload, so duplicates inside one file are reported rather than aborting a batch
+        Set<String> seenEmails = new HashSet<>();
+        List<ParsedRow> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = format == CustomerFileFormat.CSV ? readCsvHeader(reader) : null;
+            ObjectReader jsonReader = objectMapper.readerFor(Customer.class);
+            long row = 0;
+            String line;
+            while ((line = columns != null ? readCsvRecord(reader) : reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                row++;
+                report.rowReceived();
+                Customer customer;
+                try {
+                    customer = columns != null ? parseCsv(line, columns) : parseJson(jsonReader, line);
+                    validate(customer);
+                } catch (IllegalArgumentException e) {
+                    report.rowFailed(row, null, e.getMessage());
+                    continue;
+                }
+                if (!seenEmails.add(customer.getEmail().toLowerCase(Locale.ROOT))) {
+                    report.rowFailed(row, customer.getEmail(), "Duplicate email in upload");
+                    continue;
+                }
+                chunk.add(new ParsedRow(row, customer));
+                if (chunk.size() >= batchSize) {
+                    flush(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, report);
+        }
+        report.finish((System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    private void flush(List<ParsedRow> chunk, CustomerImportReport report) {
+        // One IN query per chunk instead of an existsByEmail round trip per row, limited to the emails the
+        // registration filter cannot rule out; a chunk of brand new emails skips the query altogether
+        List<String> candidates = chunk.stream()
+            .map(r -> r.customer.getEmail())
+            .filter(email -> registrationFilter.mightExist(RegistrationFilter.Key.CUSTOMER_EMAIL, email))
+            .collect(Collectors.toList());
+        Set<String> existing = candidates.isEmpty() ? Set.of() : customerRepository
+            .findExistingEmails(candidates)
+            .stream()
+            .map(email -> email.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toSet());
+
+        List<ParsedRow> fresh = new ArrayList<>(chunk.size());
+        for (ParsedRow parsed : chunk) {
+            if (existing.contains(parsed.customer.getEmail().toLowerCase(Locale.ROOT))) {
+                report.rowFailed(parsed.row, parsed.customer.getEmail(), "Customer with this email already exists");
+            } else {
+                fresh.add(parsed);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> insertBatch(fresh));
+            imported(fresh, ids);
+            report.rowsImported(fresh.size());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent writer took one of the emails after our check; retry row by row to pin it down
+            for (ParsedRow parsed : fresh) {
+                try {
+                    List<Long> ids = transactionTemplate.execute(status -> insertBatch(List.of(parsed)));
+                    imported(List.of(parsed), ids);
+                    report.rowsImported(1);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    report.rowFailed(parsed.row, parsed.customer.getEmail(), "Customer with this email already exists");
+                }
+            }
+        }
+    }
+
+    // Runs inside the caller's transaction; the analytics updates apply when it commits
+    private List<Long> insertBatch(List<ParsedRow> rows) {
+        for (ParsedRow parsed : rows) {
+            crmAnalytics.customerCreated(parsed.customer.getCustomerType());
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+                for (ParsedRow parsed : rows) {
+                    Customer c = parsed.customer;
+                    ps.setString(1, c.getFirstName());
+                    ps.setString(2, c.getLastName());
+                    ps.setString(3, c.getEmail());
+                    ps.setString(4, c.getPhoneNumber());
+                    ps.setString(5, c.getCustomerType().name());
+                    ps.setDate(6, today);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    // Runs after the insert committed, so the in-memory indexes never hold a rolled back row
+    private void imported(List<ParsedRow> rows, List<Long> ids) {
+        for (ParsedRow parsed : rows) {
+            registrationFilter.add(RegistrationFilter.Key.CUSTOMER_EMAIL, parsed.customer.getEmail());
+        }
+        resourceVersions.customersChanged();
+        if (ids == null || ids.size() != rows.size()) {
+            return;
+        }
+        List<Customer> customers = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Customer customer = rows.get(i).customer;
+            customer.setId(ids.get(i));
+            customerIdIndex.add(customer.getId());
+            changeFeed.customerCreated(customer.getId());
+            customers.add(customer);
+        }
+        customerSearchIndex.addAll(customers);
+    }
+
+    private void validate(Customer customer) {
+        // Same rule createCustomer applies, then the entity's own bean validation constraints
+        if (customer.getEmail() == null || !customer.getEmail().contains("@")) {
+            throw new IllegalArgumentException("Invalid email format");
+        }
+        Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<Customer> first = violations.iterator().next();
+            throw new IllegalArgumentException("Invalid " + first.getPropertyPath() + ": " + first.getMessage());
+        }
+    }
+
+    private static Customer parseJson(ObjectReader reader, String line) {
+        try {
+            return reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            if (e.getMessage() != null && e.getMessage().contains("CustomerType")) {
+                throw new IllegalArgumentException("Invalid customerType");
+            }
+            throw new IllegalArgumentException("Invalid request format");
+        }
+    }
+
+    private static Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = readCsvRecord(reader);
+        if (header == null) {
+            return Map.of();
+        }
+        List<String> names = splitCsv(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        if (!columns.containsKey("email")) {
+            throw new IllegalArgumentException("CSV header must include an email column");
+        }
+        return columns;
+    }
+
+    private static Customer parseCsv(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsv(line);
+        Customer customer = new Customer();
+        customer.setFirstName(column(values, columns, "firstName"));
+        customer.setLastName(column(values, columns, "lastName"));
+        customer.setEmail(column(values, columns, "email"));
+        customer.setPhoneNumber(column(values, columns, "phoneNumber"));
+        String type = column(values, columns, "customerType");
+        if (type != null) {
+            try {
+                customer.setCustomerType(CustomerType.valueOf(type));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid customerType");
+            }
+        }
+        return customer;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    // One CSV record, which spans several physical lines while a quoted field is still open. The exporter quotes
+    // values containing line breaks, so those come back here; a CRLF inside a field is read back as LF
+    static String readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        StringBuilder record = new StringBuilder(line);
+        long quotes = line.chars().filter(ch -> ch == '"').count();
+        while (quotes % 2 != 0 && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            quotes += line.chars().filter(ch -> ch == '"').count();
+        }
+        // An odd count at end of input is left for splitCsv to report as an unterminated field
+        return record.toString();
+    }
+
+    // RFC 4180 fields: commas separate, double quotes wrap, "" escapes a quote
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,629 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index over firstName, lastName, email and phoneNumber. Terms live in a sorted dictionary for
+// exact and prefix lookups; alphabetic terms are also indexed by trigram so misspellings within one or
+// two edits (a swapped pair of letters counts as one) still match. Postings are plain int arrays of
+// (customerId << 2 | field), so ids must stay below 2^29. Costs about 240 bytes per customer (~230 MB
+// at 1M), mostly for terms unique to one customer such as phone numbers and the digits in email addresses.
+@Component
+public class CustomerSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    private static final int FIRST_NAME = 0;
+    private static final int LAST_NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int PHONE = 3;
+    private static final float[] FIELD_WEIGHTS = {3f, 3f, 2f, 2f};
+    private static final int MAX_ID = (1 << 29) - 1;
+    private static final int MAX_PREFIX_EXPANSIONS = 1024;
+    private static final int LOAD_BATCH = 10_000;
+    // Removed customers left in the postings before a compaction pass; never more than an eighth of the index
+    private static final int COMPACT_MIN_STALE = 1024;
+
+    public static class Hits {
+        private final List<Long> ids;
+        private final int total;
+
+        Hits(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        // Best match first
+        public List<Long> getIds() { return ids; }
+        public int getTotal() { return total; }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, int[]> postings = new TreeMap<>();
+    private final Map<String, int[]> trigrams = new HashMap<>();
+    private final List<String> fuzzyTerms = new ArrayList<>();
+    private final BitSet present = new BitSet();
+    // Removed customers whose postings are still in the lists; skipped at query time until the next compaction
+    private final BitSet stale = new BitSet();
+    private int staleDocuments;
+    private final Queue<Long> removedWhileLoading = new ConcurrentLinkedQueue<>();
+    private byte[] types = new byte[1024];
+    private int documents;
+    private long postingCount;
+    private volatile boolean loading;
+    private volatile boolean ready;
+    private volatile long loadMillis;
+
+    // Drops everything and reloads from the customers table; search answers 503 until it finishes
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postings.clear();
+            trigrams.clear();
+            fuzzyTerms.clear();
+            present.clear();
+            stale.clear();
+            staleDocuments = 0;
+            types = new byte[1024];
+            documents = 0;
+            postingCount = 0;
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Customer> batch = new ArrayList<>(LOAD_BATCH);
+        try {
+            jdbcTemplate.query("SELECT id, first_name, last_name, email, phone_number, customer_type FROM customers", rs -> {
+                Customer c = new Customer();
+                c.setId(rs.getLong(1));
+                c.setFirstName(rs.getString(2));
+                c.setLastName(rs.getString(3));
+                c.setEmail(rs.getString(4));
+                c.setPhoneNumber(rs.getString(5));
+                String type = rs.getString(6);
+                c.setCustomerType(type == null ? null : CustomerType.valueOf(type));
+                batch.add(c);
+                if (batch.size() == LOAD_BATCH) {
+                    addAll(batch);
+                    batch.clear();
+                }
+            });
+            addAll(batch);
+        } catch (RuntimeException e) {
+            log.warn("Could not load customer search index; search stays unavailable", e);
+            return;
+        } finally {
+            loading = false;
+        }
+        // The scan may have read a row that a concurrent delete removed before the scan indexed it
+        Long removed;
+        while ((removed = removedWhileLoading.poll()) != null) {
+            removeNow(removed);
+        }
+        ready = true;
+        loadMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Indexed {} customers for search in {} ms", documents, loadMillis);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Call once the row is committed
+    public void add(Customer customer) {
+        addAll(List.of(customer));
+    }
+
+    public void addAll(List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Customer customer : customers) {
+                index(customer);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Removes after the surrounding transaction commits
+    public void remove(long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeNow(id);
+                }
+            });
+        } else {
+            removeNow(id);
+        }
+    }
+
+    public Hits search(String query, CustomerType type, int limit) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain letters or digits");
+        }
+        // Longer tokens tend to be more selective, so they seed the candidate set
+        tokens.sort(Comparator.comparingInt(String::length).reversed());
+
+        lock.readLock().lock();
+        try {
+            IntFloatMap scores = null;
+            for (String token : tokens) {
+                scores = match(token, scores);
+                if (scores.size() == 0) {
+                    return new Hits(List.of(), 0);
+                }
+            }
+            return top(scores, type, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("ready", ready);
+            stats.put("loadMillis", loadMillis);
+            stats.put("documents", documents);
+            stats.put("terms", postings.size());
+            stats.put("fuzzyTerms", fuzzyTerms.size());
+            stats.put("postings", postingCount);
+            stats.put("staleDocuments", staleDocuments);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeNow(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return;
+        }
+        if (loading) {
+            removedWhileLoading.add(id);
+        }
+        lock.writeLock().lock();
+        try {
+            if (present.get((int) id)) {
+                present.clear((int) id);
+                stale.set((int) id);
+                staleDocuments++;
+                documents--;
+                if (staleDocuments >= Math.max(COMPACT_MIN_STALE, documents / 8)) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Customer customer) {
+        Long id = customer.getId();
+        if (id == null || id < 0 || id > MAX_ID) {
+            return;
+        }
+        int doc = id.intValue();
+        if (present.get(doc)) {
+            return;
+        }
+        if (stale.get(doc)) {
+            // Only when an id comes back after removal (an AUTO_INCREMENT counter reset)
+            compact();
+        }
+        present.set(doc);
+        documents++;
+        if (doc >= types.length) {
+            types = Arrays.copyOf(types, Math.max(doc + 1, types.length * 2));
+        }
+        types[doc] = (byte) (customer.getCustomerType() == null ? -1 : customer.getCustomerType().ordinal());
+        addTerms(doc, FIRST_NAME, textTokens(customer.getFirstName()));
+        addTerms(doc, LAST_NAME, textTokens(customer.getLastName()));
+        addTerms(doc, EMAIL, textTokens(customer.getEmail()));
+        String phone = digits(customer.getPhoneNumber());
+        if (!phone.isEmpty()) {
+            addTerms(doc, PHONE, List.of(phone));
+        }
+    }
+
+    private void addTerms(int doc, int field, List<String> terms) {
+        for (String term : terms) {
+            int[] list = postings.get(term);
+            if (list == null) {
+                list = new int[2];
+                if (isFuzzyCandidate(term)) {
+                    addTrigrams(term);
+                }
+            } else if (list[0] + 1 == list.length) {
+                list = Arrays.copyOf(list, list.length + Math.max(1, list.length >> 1));
+            }
+            // Slot 0 holds the size so a posting list costs one array and no wrapper object
+            list[++list[0]] = doc << 2 | field;
+            postings.put(term, list);
+            postingCount++;
+        }
+    }
+
+    // Drops every stale customer's postings in one pass, then any term left without postings along with its
+    // trigram entries. Runs under the write lock
+    private void compact() {
+        boolean termsDropped = false;
+        for (Iterator<Map.Entry<String, int[]>> entries = postings.entrySet().iterator(); entries.hasNext(); ) {
+            Map.Entry<String, int[]> entry = entries.next();
+            int[] list = entry.getValue();
+            int kept = 0;
+            for (int i = 1; i <= list[0]; i++) {
+                if (!stale.get(list[i] >>> 2)) {
+                    list[++kept] = list[i];
+                }
+            }
+            postingCount -= list[0] - kept;
+            list[0] = kept;
+            if (kept == 0) {
+                entries.remove();
+                termsDropped = true;
+            } else if (kept + 1 < list.length / 2) {
+                entry.setValue(Arrays.copyOf(list, kept + 1 + Math.max(1, kept >> 1)));
+            }
+        }
+        if (termsDropped) {
+            fuzzyTerms.clear();
+            trigrams.clear();
+            for (String term : postings.keySet()) {
+                if (isFuzzyCandidate(term)) {
+                    addTrigrams(term);
+                }
+            }
+        }
+        stale.clear();
+        staleDocuments = 0;
+    }
+
+    private void addTrigrams(String term) {
+        int ordinal = fuzzyTerms.size();
+        fuzzyTerms.add(term);
+        for (String gram : trigramsOf(term)) {
+            int[] list = trigrams.get(gram);
+            if (list == null) {
+                list = new int[4];
+            } else if (list[0] + 1 == list.length) {
+                list = Arrays.copyOf(list, list.length * 2);
+            }
+            list[++list[0]] = ordinal;
+            trigrams.put(gram, list);
+        }
+    }
+
+    // Best score per customer for one query token; restricted to the candidates of earlier tokens when given
+    private IntFloatMap match(String token, IntFloatMap candidates) {
+        int[] exact = postings.get(token);
+        List<int[]> prefixLists = new ArrayList<>();
+        List<String> prefixTerms = new ArrayList<>();
+        int expected = exact == null ? 0 : exact[0];
+        for (Map.Entry<String, int[]> entry : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+            if (prefixLists.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            prefixTerms.add(entry.getKey());
+            prefixLists.add(entry.getValue());
+            expected += entry.getValue()[0];
+        }
+        // Sized up front so a broad prefix does not rehash its way up from a small table
+        IntFloatMap scores = new IntFloatMap(candidates == null ? expected : Math.min(expected, candidates.size()));
+        collect(exact, 1f, scores, candidates);
+        for (int i = 0; i < prefixLists.size(); i++) {
+            // Prefix matches rank below exact ones, closer to exact the more of the term they cover
+            float coverage = (float) token.length() / prefixTerms.get(i).length();
+            collect(prefixLists.get(i), 0.5f + 0.4f * coverage, scores, candidates);
+        }
+
+        // A token that is itself a known term was most likely typed as intended, so only unknown ones go fuzzy
+        int maxEdits = token.length() >= 8 ? 2 : token.length() >= 4 ? 1 : 0;
+        if (exact == null && maxEdits > 0 && isFuzzyCandidate(token)) {
+            for (Map.Entry<String, Integer> fuzzy : fuzzyMatches(token, maxEdits).entrySet()) {
+                collect(postings.get(fuzzy.getKey()), 0.45f - 0.1f * fuzzy.getValue(), scores, candidates);
+            }
+        }
+        if (candidates != null) {
+            scores.addAll(candidates);
+        }
+        return scores;
+    }
+
+    private void collect(int[] list, float factor, IntFloatMap scores, IntFloatMap candidates) {
+        if (list == null) {
+            return;
+        }
+        for (int i = 1; i <= list[0]; i++) {
+            int doc = list[i] >>> 2;
+            if (!present.get(doc) || (candidates != null && !candidates.contains(doc))) {
+                continue;
+            }
+            scores.putMax(doc, FIELD_WEIGHTS[list[i] & 3] * factor);
+        }
+    }
+
+    // Terms sharing enough trigrams with the token to possibly be within maxEdits; a substitution breaks at
+    // most three and a transposition at most four
+    private Map<String, Integer> fuzzyMatches(String token, int maxEdits) {
+        List<String> grams = trigramsOf(token);
+        int needed = grams.size() - 4 * maxEdits;
+        IntFloatMap shared = new IntFloatMap(256);
+        for (String gram : grams) {
+            int[] list = trigrams.get(gram);
+            if (list != null) {
+                for (int i = 1; i <= list[0]; i++) {
+                    shared.add(list[i], 1f);
+                }
+            }
+        }
+        Map<String, Integer> matches = new HashMap<>();
+        shared.forEach((ordinal, count) -> {
+            String term = fuzzyTerms.get(ordinal);
+            if (count >= Math.max(1, needed) && !term.equals(token)
+                    && Math.abs(term.length() - token.length()) <= maxEdits) {
+                int edits = editDistance(token, term, maxEdits);
+                if (edits <= maxEdits) {
+                    matches.put(term, edits);
+                }
+            }
+        });
+        return matches;
+    }
+
+    private Hits top(IntFloatMap scores, CustomerType type, int limit) {
+        // Highest score first, lower id breaking ties; positive float bits order like the floats
+        PriorityQueue<Long> best = new PriorityQueue<>(limit + 1);
+        int[] total = {0};
+        scores.forEach((doc, score) -> {
+            if (type != null && types[doc] != type.ordinal()) {
+                return;
+            }
+            total[0]++;
+            best.add((long) Float.floatToIntBits(score) << 32 | (Integer.MAX_VALUE - doc));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        Long[] ranked = best.toArray(new Long[0]);
+        Arrays.sort(ranked, Comparator.reverseOrder());
+        List<Long> ids = new ArrayList<>(ranked.length);
+        for (Long key : ranked) {
+            ids.add((long) (Integer.MAX_VALUE - (int) (key & 0xFFFFFFFFL)));
+        }
+        return new Hits(ids, total[0]);
+    }
+
+    // Letters and digits, lower-cased, split wherever a run of one turns into the other ("smith42" -> smith, 42)
+    static List<String> textTokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            char ch = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean boundary = !Character.isLetterOrDigit(ch)
+                || (start >= 0 && Character.isDigit(ch) != Character.isDigit(lower.charAt(start)));
+            if (boundary && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+            if (start < 0 && Character.isLetterOrDigit(ch)) {
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    // A query made only of digits and phone punctuation is one phone-number token; otherwise same as the fields
+    static List<String> queryTokens(String query) {
+        if (query == null) {
+            return new ArrayList<>();
+        }
+        String trimmed = query.trim();
+        String digits = digits(trimmed);
+        if (digits.length() >= 3 && trimmed.matches("[0-9\\s()+.\\-]+")) {
+            return new ArrayList<>(List.of(digits));
+        }
+        return new ArrayList<>(new LinkedHashSet<>(textTokens(trimmed)));
+    }
+
+    private static String digits(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isFuzzyCandidate(String term) {
+        if (term.length() < 3) {
+            return false;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            if (!Character.isLetter(term.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> trigramsOf(String term) {
+        String padded = "^" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Edit distance counting an adjacent transposition as one edit (optimal string alignment), giving up
+    // with max + 1 as soon as every cell in a row exceeds max
+    static int editDistance(String a, String b, int max) {
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    // Open-addressing int -> float map for per-query scores, avoiding a boxed entry per matching customer
+    private static final class IntFloatMap {
+        interface Visitor {
+            void accept(int key, float value);
+        }
+
+        private int[] keys;
+        private float[] values;
+        private int size;
+
+        IntFloatMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            keys = new int[capacity];
+            values = new float[capacity];
+            Arrays.fill(keys, -1);
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int key) {
+            return keys[slot(key)] == key;
+        }
+
+        void putMax(int key, float value) {
+            int slot = slot(key);
+            if (keys[slot] == key) {
+                values[slot] = Math.max(values[slot], value);
+            } else {
+                insert(slot, key, value);
+            }
+        }
+
+        void add(int key, float value) {
+            int slot = slot(key);
+            if (keys[slot] == key) {
+                values[slot] += value;
+            } else {
+                insert(slot, key, value);
+            }
+        }
+
+        // Adds the other map's score for every key already present here
+        void addAll(IntFloatMap other) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] >= 0) {
+                    int slot = other.slot(keys[i]);
+                    values[i] += other.values[slot];
+                }
+            }
+        }
+
+        void forEach(Visitor visitor) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] >= 0) {
+                    visitor.accept(keys[i], values[i]);
+                }
+            }
+        }
+
+        private void insert(int slot, int key, float value) {
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size * 2 > keys.length) {
+                int[] oldKeys = keys;
+                float[] oldValues = values;
+                keys = new int[oldKeys.length * 2];
+                values = new float[oldKeys.length * 2];
+                Arrays.fill(keys, -1);
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] >= 0) {
+                        int s = slot(oldKeys[i]);
+                        keys[s] = oldKeys[i];
+                        values[s] = oldValues[i];
+                    }
+                }
+            }
+        }
+
+        private int slot(int key) {
+            int mask = keys.length - 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (keys[slot] >= 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Customer;
+import java.util.List;
+
+public class CustomerSearchResult {
+    private final List<Customer> customers;
+    private final int total;
+    private final double tookMillis;
+
+    public CustomerSearchResult(List<Customer> customers, int total, double tookMillis) {
+        this.customers = customers;
+        this.total = total;
+        this.tookMillis = tookMillis;
+    }
+
+    // Best match first, at most the requested limit
+    public List<Customer> getCustomers() { return customers; }
+
+    // Every indexed customer matching the query and type filter
+    public int getTotal() { return total; }
+
+    public double getTookMillis() { return tookMillis; }
+}
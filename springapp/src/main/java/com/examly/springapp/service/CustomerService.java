@@ -1,37 +1,108 @@
 package com.examly.springapp.service;
 
 import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerSummary;
+import com.examly.springapp.model.CustomerType;
 import com.examly.springapp.repository.CustomerRepository;
-import com.examly.springapp.repository.InteractionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class CustomerService {
+
+    public enum CursorSort {
+        ID("id"), REGISTRATION_DATE("registrationDate"), LAST_NAME("lastName");
+
+        private final String property;
+
+        CursorSort(String property) {
+            this.property = property;
+        }
+    }
     
     @Autowired
     private CustomerRepository customerRepository;
     
     @Autowired
-    private InteractionRepository interactionRepository;
+    private CustomerDeletionService customerDeletionService;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private RegistrationFilter registrationFilter;
+
+    @Autowired
+    private CustomerIdIndex customerIdIndex;
+
+    @Autowired
+    private CrmAnalytics crmAnalytics;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReplicaReads replicaReads;
     
     public Customer createCustomer(Customer customer) {
         if (customer.getEmail() == null || !customer.getEmail().contains("@")) {
             throw new IllegalArgumentException("Invalid email format");
         }
         
-        if (customerRepository.existsByEmail(customer.getEmail())) {
+        // Most emails are new, so the filter lets those skip the existence query entirely
+        if (registrationFilter.mightExist(RegistrationFilter.Key.CUSTOMER_EMAIL, customer.getEmail())
+                && customerRepository.existsByEmail(customer.getEmail())) {
             throw new IllegalArgumentException("Customer with this email already exists");
         }
         
         customer.setRegistrationDate(LocalDate.now());
-        return customerRepository.save(customer);
+        Customer saved;
+        try {
+            // The analytics update joins the insert's transaction so it is applied as that transaction commits
+            saved = transactionTemplate.execute(status -> {
+                Customer inserted = customerRepository.save(customer);
+                crmAnalytics.customerCreated(inserted.getCustomerType());
+                return inserted;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent insert won the race for this email; the unique constraint caught it
+            if (customerRepository.existsByEmail(customer.getEmail())) {
+                throw new IllegalArgumentException("Customer with this email already exists");
+            }
+            throw e;
+        }
+        registrationFilter.add(RegistrationFilter.Key.CUSTOMER_EMAIL, saved.getEmail());
+        customerIdIndex.add(saved.getId());
+        customerSearchIndex.add(saved);
+        customerCache.put(saved);
+        resourceVersions.customersChanged();
+        changeFeed.customerCreated(saved.getId());
+        return saved;
     }
     
     public List<Customer> getAllCustomers() {
@@ -39,23 +110,96 @@ public class CustomerService {
     }
     
     public Page<Customer> getAllCustomers(Pageable pageable) {
-        return customerRepository.findAll(pageable);
+        return replicaReads.read(() -> customerRepository.findAll(pageable));
+    }
+
+    public Page<CustomerSummary> getCustomerSummaries(Pageable pageable) {
+        return replicaReads.read(() -> customerRepository.findSummaries(pageable));
+    }
+
+    public CursorPage<Customer> getCustomersAfter(String cursor, int size, CursorSort sortKey, boolean includeTotal) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        Sort sort = sortKey == CursorSort.ID ? Sort.by("id") : Sort.by(sortKey.property, "id");
+        ScrollPosition position = decodeCursor(cursor, sortKey);
+        return replicaReads.read(() -> {
+            Window<Customer> window = customerRepository.findAllBy(position, sort, Limit.of(size));
+
+            String nextCursor = null;
+            if (window.hasNext() && !window.isEmpty()) {
+                nextCursor = encodeCursor((KeysetScrollPosition) window.positionAt(window.size() - 1), sortKey);
+            }
+            Long total = includeTotal ? customerRepository.count() : null;
+            return new CursorPage<>(window.getContent(), nextCursor, total);
+        });
     }
     
     
     
+    // Ranks ids in memory, then loads just the page of winners
+    public CustomerSearchResult searchCustomers(String query, CustomerType type, int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
+        long start = System.nanoTime();
+        CustomerSearchIndex.Hits hits = customerSearchIndex.search(query, type, limit);
+        Map<Long, Customer> byId = new HashMap<>();
+        for (Customer customer : customerRepository.findAllById(hits.getIds())) {
+            byId.put(customer.getId(), customer);
+        }
+        List<Customer> ranked = new ArrayList<>(byId.size());
+        for (Long id : hits.getIds()) {
+            Customer customer = byId.get(id);
+            if (customer != null) {
+                ranked.add(customer);
+            }
+        }
+        return new CustomerSearchResult(ranked, hits.getTotal(), (System.nanoTime() - start) / 1e6);
+    }
+
     public Optional<Customer> getCustomerById(Long id) {
-        return customerRepository.findById(id);
+        return customerCache.get(id, customerRepository::findById);
     }
     
-    @Transactional
-    public void deleteCustomer(Long id) {
-        if (!customerRepository.existsById(id)) {
+    // Interactions are removed in chunked set-based DELETEs rather than loaded and deleted one entity at a time
+    public CustomerDeletionReport deleteCustomer(Long id) {
+        // The deletion looks the id up itself and reports it as not found
+        CustomerDeletionReport report = customerDeletionService.deleteCustomers(List.of(id));
+        if (report.getCustomersDeleted() == 0) {
             throw new IllegalArgumentException("Customer not found");
         }
-        // Delete all interactions for this customer first
-        interactionRepository.deleteByCustomerId(id);
-        // Then delete the customer
-        customerRepository.deleteById(id);
+        return report;
+    }
+
+    // Cursor parts are "<sort>", "<id>" and, for non-id sorts, "<sort key value>"
+    private static String encodeCursor(KeysetScrollPosition position, CursorSort sortKey) {
+        Map<String, Object> keys = position.getKeys();
+        if (sortKey == CursorSort.ID) {
+            return CursorCodec.encode(sortKey.name(), keys.get("id"));
+        }
+        return CursorCodec.encode(sortKey.name(), keys.get("id"), keys.get(sortKey.property));
+    }
+
+    private static ScrollPosition decodeCursor(String cursor, CursorSort sortKey) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String[] parts = CursorCodec.decode(cursor, sortKey == CursorSort.ID ? 2 : 3);
+        try {
+            if (!sortKey.name().equals(parts[0])) {
+                throw new IllegalArgumentException("Cursor does not match sort " + sortKey);
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (sortKey == CursorSort.REGISTRATION_DATE) {
+                keys.put(sortKey.property, LocalDate.parse(parts[2]));
+            } else if (sortKey == CursorSort.LAST_NAME) {
+                keys.put(sortKey.property, parts[2]);
+            }
+            keys.put("id", Long.valueOf(parts[1]));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.examly.springapp.service;
+
+// The ?fields= choice on list endpoints
+public enum FieldSet {
+    SUMMARY, FULL;
+
+    public static FieldSet parse(String value) {
+        for (FieldSet fields : values()) {
+            if (fields.name().equalsIgnoreCase(value)) {
+                return fields;
+            }
+        }
+        throw new IllegalArgumentException("fields must be one of: summary, full");
+    }
+}
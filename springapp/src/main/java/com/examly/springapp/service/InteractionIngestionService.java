@@ -0,0 +1,352 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Queue depth and flush latency are also published as crm.ingest.queue.depth and crm.ingest.flush
+@Service
+public class InteractionIngestionService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(InteractionIngestionService.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO interactions (customer_id, interaction_type, description, status, interaction_date) VALUES (?, ?, ?, ?, ?)";
+
+    // The column length Hibernate gives the unannotated description field
+    private static final int DESCRIPTION_LENGTH = 255;
+
+    public enum State {
+        PENDING, STORED, REJECTED
+    }
+
+    public static class Result {
+        private final State state;
+        private final Long interactionId;
+        private final String message;
+
+        Result(State state, Long interactionId, String message) {
+            this.state = state;
+            this.interactionId = interactionId;
+            this.message = message;
+        }
+
+        public State getState() { return state; }
+        public Long getInteractionId() { return interactionId; }
+        public String getMessage() { return message; }
+    }
+
+    private static class Pending {
+        final String trackingId;
+        final Interaction interaction;
+
+        Pending(String trackingId, Interaction interaction) {
+            this.trackingId = trackingId;
+            this.interaction = interaction;
+        }
+    }
+
+    private static final Result PENDING = new Result(State.PENDING, null, null);
+
+    @Autowired
+    private CustomerIdIndex customerIdIndex;
+
+    @Autowired
+    private CrmAnalytics crmAnalytics;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private InteractionWorkQueue interactionWorkQueue;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${crm.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${crm.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${crm.ingest.linger-ms:20}")
+    private long lingerMillis;
+
+    @Value("${crm.ingest.tracked-results:100000}")
+    private int trackedResults;
+
+    private BlockingQueue<Pending> queue;
+    private Map<String, Result> results;
+    private Thread batcher;
+    private volatile boolean running;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejectedFull = new LongAdder();
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder rejectedInvalid = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private volatile Timer flushTimer;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Oldest outcomes fall off once trackedResults is reached so the map cannot grow without bound
+        results = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Result> eldest) {
+                return size() > trackedResults;
+            }
+        });
+        running = true;
+        batcher = new Thread(this::runBatcher, "interaction-ingest");
+        batcher.setDaemon(true);
+        batcher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        batcher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // Returns the tracking id, or null when the queue is full and the caller should back off
+    public String submit(Interaction interaction) {
+        if (interaction.getCustomerId() == null || interaction.getInteractionType() == null || interaction.getStatus() == null) {
+            throw new IllegalArgumentException("customerId, interactionType and status are required");
+        }
+        if (interaction.getDescription() != null && interaction.getDescription().length() > DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("description must be at most " + DESCRIPTION_LENGTH + " characters");
+        }
+        interaction.setInteractionDate(LocalDateTime.now());
+        String trackingId = UUID.randomUUID().toString();
+        results.put(trackingId, PENDING);
+        if (!queue.offer(new Pending(trackingId, interaction))) {
+            results.remove(trackingId);
+            rejectedFull.increment();
+            return null;
+        }
+        accepted.increment();
+        return trackingId;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("crm.ingest.queue.depth", this, InteractionIngestionService::getQueueDepth)
+            .description("Interactions accepted but not yet flushed")
+            .register(registry);
+        flushTimer = Timer.builder("crm.ingest.flush")
+            .description("Time to store one ingest batch")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    public Result getResult(String trackingId) {
+        return results.get(trackingId);
+    }
+
+    public Map<String, Object> getStats() {
+        long flushCount = flushes.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("accepted", accepted.sum());
+        stats.put("rejectedQueueFull", rejectedFull.sum());
+        stats.put("stored", stored.sum());
+        stats.put("rejectedInvalid", rejectedInvalid.sum());
+        stats.put("failed", failed.sum());
+        stats.put("flushes", flushCount);
+        stats.put("avgFlushMillis", flushCount == 0 ? 0.0 : flushNanos.sum() / 1e6 / flushCount);
+        stats.put("maxFlushMillis", maxFlushNanos.get() / 1e6);
+        stats.put("lastFlushMillis", lastFlushNanos.get() / 1e6);
+        return stats;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void runBatcher() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Wait up to lingerMillis for the batch to fill before paying for a round trip
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Interaction ingest flush failed for {} items", batch.size(), e);
+                for (Pending pending : batch) {
+                    results.put(pending.trackingId, new Result(State.REJECTED, null, "Storage failed"));
+                }
+                failed.add(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        long start = System.nanoTime();
+        Set<Long> requested = batch.stream().map(p -> p.interaction.getCustomerId()).collect(Collectors.toSet());
+        Set<Long> known = customerIdIndex.retainExisting(requested);
+
+        List<Pending> valid = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            if (known.contains(pending.interaction.getCustomerId())) {
+                valid.add(pending);
+            } else {
+                results.put(pending.trackingId, new Result(State.REJECTED, null, "Customer not found"));
+                rejectedInvalid.increment();
+            }
+        }
+        if (!valid.isEmpty()) {
+            try {
+                recordStored(valid, store(valid));
+            } catch (DataAccessException e) {
+                // One bad row fails the whole batch; retry row by row so only that row is rejected
+                log.warn("Interaction ingest batch of {} failed, retrying row by row", valid.size(), e);
+                for (Pending pending : valid) {
+                    try {
+                        recordStored(List.of(pending), store(List.of(pending)));
+                    } catch (DataAccessException rowFailure) {
+                        log.error("Interaction ingest could not store {}", pending.trackingId, rowFailure);
+                        results.put(pending.trackingId, new Result(State.REJECTED, null, "Storage failed"));
+                        failed.increment();
+                    }
+                }
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        flushes.increment();
+        flushNanos.add(elapsed);
+        lastFlushNanos.set(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        Timer timer = flushTimer;
+        if (timer != null) {
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private List<Long> store(List<Pending> rows) {
+        return transactionTemplate.execute(status -> {
+            secondLevelCache.interactionsInserted();
+            for (Pending pending : rows) {
+                Interaction row = pending.interaction;
+                crmAnalytics.interactionCreated(row.getInteractionType(), row.getStatus(), row.getInteractionDate());
+            }
+            return insertBatch(rows);
+        });
+    }
+
+    private void recordStored(List<Pending> rows, List<Long> ids) {
+        // The rows are committed either way; without one key per row they cannot be told apart, so nothing that
+        // needs an id is published for them
+        boolean keyed = ids != null && ids.size() == rows.size();
+        if (!keyed) {
+            log.error("Interaction ingest stored {} rows but got {} generated keys; skipping id-dependent updates",
+                rows.size(), ids == null ? 0 : ids.size());
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            Long id = keyed ? ids.get(i) : null;
+            Interaction row = rows.get(i).interaction;
+            results.put(rows.get(i).trackingId,
+                new Result(State.STORED, id, keyed ? null : "Stored, but the generated id was not returned"));
+            resourceVersions.interactionsChanged(row.getCustomerId());
+            if (!keyed) {
+                continue;
+            }
+            changeFeed.interactionCreated(id, row.getCustomerId());
+            if (row.getStatus() == InteractionStatus.OPEN) {
+                interactionWorkQueue.interactionOpened(id, row.getCustomerId(), row.getInteractionDate());
+            }
+        }
+        stored.add(rows.size());
+    }
+
+    private List<Long> insertBatch(List<Pending> rows) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+                for (Pending pending : rows) {
+                    Interaction i = pending.interaction;
+                    ps.setLong(1, i.getCustomerId());
+                    ps.setString(2, i.getInteractionType().name());
+                    ps.setString(3, i.getDescription());
+                    ps.setString(4, i.getStatus().name());
+                    ps.setTimestamp(5, Timestamp.valueOf(i.getInteractionDate()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+}
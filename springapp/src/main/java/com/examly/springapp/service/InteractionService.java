@@ -1,12 +1,27 @@
 package com.examly.springapp.service;
 
 import com.examly.springapp.model.Interaction;
-import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.model.InteractionPatch;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionSummary;
+import com.examly.springapp.model.InteractionType;
 import com.examly.springapp.repository.InteractionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class InteractionService {
@@ -15,29 +30,193 @@ public class InteractionService {
     private InteractionRepository interactionRepository;
     
     @Autowired
-    private CustomerRepository customerRepository;
+    private CustomerIdIndex customerIdIndex;
+
+    @Autowired
+    private CrmAnalytics crmAnalytics;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private InteractionWorkQueue interactionWorkQueue;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReplicaReads replicaReads;
     
     public Interaction createInteraction(Interaction interaction) {
-        if (!customerRepository.existsById(interaction.getCustomerId())) {
+        if (!customerIdIndex.exists(interaction.getCustomerId())) {
             throw new IllegalArgumentException("Customer not found");
         }
         
         interaction.setInteractionDate(LocalDateTime.now());
-        return interactionRepository.save(interaction);
+        Interaction saved = transactionTemplate.execute(status -> {
+            Interaction inserted = interactionRepository.save(interaction);
+            crmAnalytics.interactionCreated(inserted.getInteractionType(), inserted.getStatus(), inserted.getInteractionDate());
+            return inserted;
+        });
+        resourceVersions.interactionsChanged(saved.getCustomerId());
+        changeFeed.interactionCreated(saved.getId(), saved.getCustomerId());
+        if (saved.getStatus() == InteractionStatus.OPEN) {
+            interactionWorkQueue.interactionOpened(saved.getId(), saved.getCustomerId(), saved.getInteractionDate());
+        }
+        return saved;
     }
     
     public List<Interaction> getInteractionsByCustomerId(Long customerId) {
-        return interactionRepository.findByCustomerId(customerId);
+        return replicaReads.read(() -> interactionRepository.findByCustomerId(customerId));
+    }
+
+    public List<InteractionSummary> getInteractionSummariesByCustomerId(Long customerId) {
+        return replicaReads.read(() -> interactionRepository.findSummariesByCustomerId(customerId));
     }
     
+    // Newest first; served from the (customerId, interactionDate) index with id breaking ties
+    public CursorPage<Interaction> getTimeline(Long customerId, String cursor, int size,
+                                               InteractionType type, InteractionStatus status) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        Specification<Interaction> spec = (root, query, cb) -> cb.equal(root.get("customerId"), customerId);
+        if (type != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("interactionType"), type));
+        }
+        if (status != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "interactionDate", "id");
+        ScrollPosition position = decodeTimelineCursor(cursor);
+        Specification<Interaction> filter = spec;
+        Window<Interaction> window = replicaReads.read(() -> interactionRepository.findBy(filter,
+            query -> query.sortBy(newestFirst).limit(size).scroll(position)));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Map<String, Object> keys = ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys();
+            nextCursor = CursorCodec.encode(keys.get("interactionDate"), keys.get("id"));
+        }
+        return new CursorPage<>(window.getContent(), nextCursor, null);
+    }
+
     public Interaction updateInteraction(Long id, Interaction interaction) {
         Interaction existing = interactionRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Interaction not found"));
+        InteractionType oldType = existing.getInteractionType();
+        InteractionStatus oldStatus = existing.getStatus();
         
         existing.setInteractionType(interaction.getInteractionType());
         existing.setDescription(interaction.getDescription());
         existing.setStatus(interaction.getStatus());
         
-        return interactionRepository.save(existing);
+        try {
+            return transactionTemplate.execute(status -> {
+                Interaction saved = interactionRepository.save(existing);
+                changed(saved, oldType, oldStatus);
+                return saved;
+            });
+        } catch (OptimisticLockingFailureException e) {
+            // Another writer got in first; drop the cached row so a retry starts from the current version
+            secondLevelCache.interactionConflicted(id);
+            throw e;
+        }
+    }
+
+    // One UPDATE of just the columns that change, guarded by the version instead of a row lock. The current row
+    // usually comes from the second-level cache, so a successful patch costs a single statement. expectedVersion
+    // comes from If-Match; without one the version that was read is the one required
+    public Interaction patchInteraction(Long id, Long expectedVersion, InteractionPatch patch) {
+        Interaction current = interactionRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Interaction not found"));
+        long version = current.getVersion() == null ? 0 : current.getVersion();
+        if (expectedVersion != null && expectedVersion != version) {
+            secondLevelCache.interactionConflicted(id);
+            throw new OptimisticLockingFailureException("Interaction " + id + " is at version " + version);
+        }
+        if ((patch.hasInteractionType() && patch.getInteractionType() == null) || (patch.hasStatus() && patch.getStatus() == null)) {
+            throw new IllegalArgumentException("interactionType and status cannot be null");
+        }
+
+        Interaction updated = new Interaction();
+        updated.setId(current.getId());
+        updated.setCustomerId(current.getCustomerId());
+        updated.setInteractionDate(current.getInteractionDate());
+        updated.setInteractionType(patch.hasInteractionType() ? patch.getInteractionType() : current.getInteractionType());
+        updated.setDescription(patch.hasDescription() ? patch.getDescription() : current.getDescription());
+        updated.setStatus(patch.hasStatus() ? patch.getStatus() : current.getStatus());
+        updated.setVersion(version + 1);
+
+        List<String> columns = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (updated.getInteractionType() != current.getInteractionType()) {
+            columns.add("interaction_type = ?");
+            args.add(updated.getInteractionType().name());
+        }
+        if (!Objects.equals(updated.getDescription(), current.getDescription())) {
+            columns.add("description = ?");
+            args.add(updated.getDescription());
+        }
+        if (updated.getStatus() != current.getStatus()) {
+            columns.add("status = ?");
+            args.add(updated.getStatus().name());
+        }
+        if (columns.isEmpty()) {
+            return current;
+        }
+        columns.add("version = version + 1");
+        args.add(id);
+        args.add(version);
+        String sql = "UPDATE interactions SET " + String.join(", ", columns) + " WHERE id = ? AND version = ?";
+
+        Integer rows = transactionTemplate.execute(status -> {
+            int count = jdbcTemplate.update(sql, args.toArray());
+            if (count == 1) {
+                secondLevelCache.interactionsUpdated(List.of(id));
+                changed(updated, current.getInteractionType(), current.getStatus());
+            }
+            return count;
+        });
+        if (rows == null || rows == 0) {
+            secondLevelCache.interactionConflicted(id);
+            throw new OptimisticLockingFailureException("Interaction " + id + " was modified concurrently");
+        }
+        return updated;
+    }
+
+    private void changed(Interaction saved, InteractionType oldType, InteractionStatus oldStatus) {
+        crmAnalytics.interactionChanged(oldType, oldStatus, saved.getInteractionDate(), saved.getInteractionType(), saved.getStatus());
+        resourceVersions.interactionsChanged(saved.getCustomerId());
+        changeFeed.interactionUpdated(saved.getId(), saved.getCustomerId());
+        if (oldStatus != InteractionStatus.OPEN && saved.getStatus() == InteractionStatus.OPEN) {
+            interactionWorkQueue.interactionOpened(saved.getId(), saved.getCustomerId(), saved.getInteractionDate());
+        } else if (oldStatus == InteractionStatus.OPEN && saved.getStatus() != InteractionStatus.OPEN) {
+            interactionWorkQueue.interactionClosed(saved.getId());
+        }
+    }
+
+    private static ScrollPosition decodeTimelineCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("interactionDate", LocalDateTime.parse(parts[0]));
+            keys.put("id", Long.valueOf(parts[1]));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,279 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.model.StatusTransitionRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Moves many interactions to one status in the background, a chunk per transaction: the chunk's rows are locked and
+// read by primary key order, then changed with one UPDATE. Cancelling stops the job between chunks; chunks already
+// committed stay committed.
+@Service
+public class InteractionStatusTransitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(InteractionStatusTransitionService.class);
+
+    private static final class LockedInteraction {
+        final long id;
+        final long customerId;
+        final InteractionType type;
+        final InteractionStatus status;
+        final LocalDateTime date;
+
+        LockedInteraction(long id, long customerId, String type, String status, LocalDateTime date) {
+            this.id = id;
+            this.customerId = customerId;
+            this.type = type == null ? null : InteractionType.valueOf(type);
+            this.status = status == null ? null : InteractionStatus.valueOf(status);
+            this.date = date;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CrmAnalytics crmAnalytics;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private InteractionWorkQueue interactionWorkQueue;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Value("${crm.status-transition.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${crm.status-transition.max-ids:10000}")
+    private int maxIds;
+
+    @Value("${crm.status-transition.threads:2}")
+    private int threads;
+
+    @Value("${crm.status-transition.tracked-jobs:1000}")
+    private int trackedJobs;
+
+    private ExecutorService workers;
+    private Map<String, StatusTransitionJob> jobs;
+
+    @PostConstruct
+    void start() {
+        // Oldest jobs fall off once trackedJobs is reached so the map cannot grow without bound
+        jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StatusTransitionJob> eldest) {
+                return size() > trackedJobs;
+            }
+        });
+        AtomicInteger count = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "status-transition-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+
+    public StatusTransitionJob submit(StatusTransitionRequest request) {
+        if (request.getTargetStatus() == null) {
+            throw new IllegalArgumentException("targetStatus is required");
+        }
+        boolean byIds = request.getIds() != null;
+        boolean byFilter = request.getCustomerId() != null || request.getInteractionType() != null
+            || request.getFrom() != null || request.getTo() != null;
+        if (byIds == byFilter) {
+            throw new IllegalArgumentException("Select interactions either by ids or by customerId, interactionType and date range");
+        }
+        if (byIds && request.getIds().isEmpty()) {
+            throw new IllegalArgumentException("No interaction ids given");
+        }
+        if (byIds && request.getIds().size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " interaction ids per request");
+        }
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().isBefore(request.getTo())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        StatusTransitionJob job = new StatusTransitionJob(UUID.randomUUID().toString(), request.getTargetStatus());
+        jobs.put(job.getJobId(), job);
+        workers.execute(() -> run(job, request));
+        return job;
+    }
+
+    public StatusTransitionJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    // Returns null for an unknown job; a job that already ended is returned unchanged
+    public StatusTransitionJob cancel(String jobId) {
+        StatusTransitionJob job = jobs.get(jobId);
+        if (job != null) {
+            job.cancel();
+        }
+        return job;
+    }
+
+    private void run(StatusTransitionJob job, StatusTransitionRequest request) {
+        long start = System.nanoTime();
+        try {
+            if (job.isCancelRequested()) {
+                job.finish(StatusTransitionJob.State.CANCELLED, null, 0);
+                return;
+            }
+            boolean completed = request.getIds() != null ? runByIds(job, request) : runByFilter(job, request);
+            job.finish(completed ? StatusTransitionJob.State.COMPLETED : StatusTransitionJob.State.CANCELLED, null,
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Status transition {} failed after {} rows", job.getJobId(), job.getUpdated(), e);
+            job.finish(StatusTransitionJob.State.FAILED, e.getMessage(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private boolean runByIds(StatusTransitionJob job, StatusTransitionRequest request) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+        ids.removeIf(id -> id == null);
+        job.started(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            if (job.isCancelRequested()) {
+                return false;
+            }
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+            List<Object> args = new ArrayList<>(chunk);
+            args.add(request.getTargetStatus().name());
+            transition(job, "id IN (" + placeholders(chunk.size()) + ") AND status <> ?", args, request.getTargetStatus(), null);
+        }
+        return true;
+    }
+
+    private boolean runByFilter(StatusTransitionJob job, StatusTransitionRequest request) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (request.getCustomerId() != null) {
+            conditions.add("customer_id = ?");
+            args.add(request.getCustomerId());
+        }
+        if (request.getInteractionType() != null) {
+            conditions.add("interaction_type = ?");
+            args.add(request.getInteractionType().name());
+        }
+        if (request.getFrom() != null) {
+            conditions.add("interaction_date >= ?");
+            args.add(Timestamp.valueOf(request.getFrom()));
+        }
+        if (request.getTo() != null) {
+            conditions.add("interaction_date < ?");
+            args.add(Timestamp.valueOf(request.getTo()));
+        }
+        String filter = String.join(" AND ", conditions);
+        List<Object> countArgs = new ArrayList<>(args);
+        countArgs.add(request.getTargetStatus().name());
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interactions WHERE " + filter + " AND status <> ?",
+            Long.class, countArgs.toArray());
+        job.started(total == null ? 0 : total);
+
+        // Keyset on the primary key, so each chunk starts where the last one stopped instead of rescanning
+        long lastId = 0;
+        while (!job.isCancelRequested()) {
+            List<Object> chunkArgs = new ArrayList<>(args);
+            chunkArgs.add(request.getTargetStatus().name());
+            chunkArgs.add(lastId);
+            Long last = transition(job, filter + " AND status <> ? AND id > ?", chunkArgs, request.getTargetStatus(), chunkSize);
+            if (last == null) {
+                return true;
+            }
+            lastId = last;
+        }
+        return false;
+    }
+
+    // Locks and changes one chunk in its own transaction; returns the highest id it changed, or null when nothing matched
+    private Long transition(StatusTransitionJob job, String where, List<Object> args, InteractionStatus target, Integer limit) {
+        long start = System.nanoTime();
+        String select = "SELECT id, customer_id, interaction_type, status, interaction_date FROM interactions WHERE " + where
+            + " ORDER BY id" + (limit == null ? "" : " LIMIT " + limit) + " FOR UPDATE";
+        return transactionTemplate.execute(status -> {
+            List<LockedInteraction> rows = jdbcTemplate.query(select, InteractionStatusTransitionService::interactionRow, args.toArray());
+            if (rows.isEmpty()) {
+                if (limit == null) {
+                    job.chunk(0, 0, (System.nanoTime() - start) / 1_000_000);
+                }
+                return null;
+            }
+            List<Object> updateArgs = new ArrayList<>(rows.size() + 1);
+            updateArgs.add(target.name());
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (LockedInteraction row : rows) {
+                updateArgs.add(row.id);
+                ids.add(row.id);
+            }
+            int updated = jdbcTemplate.update("UPDATE interactions SET status = ?, version = version + 1 WHERE id IN ("
+                + placeholders(rows.size()) + ")", updateArgs.toArray());
+            secondLevelCache.interactionsUpdated(ids);
+            Set<Long> customers = new LinkedHashSet<>();
+            for (LockedInteraction row : rows) {
+                transitioned(row, target);
+                customers.add(row.customerId);
+            }
+            customers.forEach(resourceVersions::interactionsChanged);
+            job.chunk(rows.size(), updated, (System.nanoTime() - start) / 1_000_000);
+            return rows.get(rows.size() - 1).id;
+        });
+    }
+
+    private void transitioned(LockedInteraction row, InteractionStatus target) {
+        crmAnalytics.interactionChanged(row.type, row.status, row.date, row.type, target);
+        changeFeed.interactionUpdated(row.id, row.customerId);
+        if (target == InteractionStatus.OPEN) {
+            interactionWorkQueue.interactionOpened(row.id, row.customerId, row.date);
+        } else if (row.status == InteractionStatus.OPEN) {
+            interactionWorkQueue.interactionClosed(row.id);
+        }
+    }
+
+    private static LockedInteraction interactionRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp date = rs.getTimestamp(5);
+        return new LockedInteraction(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+            date == null ? null : date.toLocalDateTime());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
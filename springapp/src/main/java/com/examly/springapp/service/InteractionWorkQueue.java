@@ -0,0 +1,329 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// OPEN interactions ranked VIP > PREMIUM > REGULAR, then oldest first, for sales reps to claim one at a time.
+// Items are spread over skip-list stripes; a claim takes the best stripe head and wins it with the skip list's
+// own CAS, so concurrent reps never take the same item and nobody holds a lock. A claimed item is leased: it
+// returns to the queue when released or when the lease runs out, and leaves for good once it is no longer OPEN.
+// Rebuilt from the (status, interactionDate) index at startup; the services report changes after their commit.
+@Component
+public class InteractionWorkQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(InteractionWorkQueue.class);
+
+    private static final Comparator<Item> PRIORITY = Comparator
+        .comparingInt((Item item) -> item.customerType == null ? -1 : item.customerType.ordinal()).reversed()
+        .thenComparing(item -> item.interactionDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparingLong(item -> item.interactionId);
+
+    private static final class Item {
+        final long interactionId;
+        final Long customerId;
+        final CustomerType customerType;
+        final LocalDateTime interactionDate;
+
+        Item(long interactionId, Long customerId, CustomerType customerType, LocalDateTime interactionDate) {
+            this.interactionId = interactionId;
+            this.customerId = customerId;
+            this.customerType = customerType;
+            this.interactionDate = interactionDate;
+        }
+    }
+
+    private static final class Lease {
+        final Item item;
+        final long userId;
+        final Instant expiresAt;
+
+        Lease(Item item, long userId, Instant expiresAt) {
+            this.item = item;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public record Claim(long interactionId, Long customerId, CustomerType customerType,
+                        LocalDateTime interactionDate, Instant leaseExpiresAt) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    // 0 means one stripe per available processor
+    @Value("${crm.work-queue.stripes:0}")
+    private int stripeCount;
+
+    @Value("${crm.work-queue.lease:5m}")
+    private Duration leaseDuration;
+
+    @Value("${crm.work-queue.reap-interval:1s}")
+    private Duration reapInterval;
+
+    private ConcurrentSkipListMap<Item, Boolean>[] stripes;
+    // Every OPEN interaction, queued or leased; an item is only claimable while it is the one registered here
+    private final Map<Long, Item> open = new ConcurrentHashMap<>();
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+    private final Queue<Long> closedWhileLoading = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService reaper;
+    private volatile boolean loading;
+    private volatile boolean loaded;
+    private volatile long loadMillis;
+
+    private final LongAdder claims = new LongAdder();
+    private final LongAdder contendedClaims = new LongAdder();
+    private final LongAdder releases = new LongAdder();
+    private final LongAdder expiredLeases = new LongAdder();
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    void start() {
+        int count = stripeCount > 0 ? stripeCount : Runtime.getRuntime().availableProcessors();
+        stripes = new ConcurrentSkipListMap[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ConcurrentSkipListMap<>(PRIORITY);
+        }
+        reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "work-queue-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reaper.scheduleWithFixedDelay(this::expireLeases, reapInterval.toMillis(), reapInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        reaper.shutdownNow();
+    }
+
+    // Starts over from the table, so rows changed behind the services' back are picked up; leases are dropped too
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        loading = true;
+        open.clear();
+        leases.clear();
+        for (ConcurrentSkipListMap<Item, Boolean> stripe : stripes) {
+            stripe.clear();
+        }
+        try {
+            jdbcTemplate.query("SELECT i.id, i.customer_id, c.customer_type, i.interaction_date FROM interactions i "
+                + "JOIN customers c ON c.id = i.customer_id WHERE i.status = 'OPEN'", rs -> {
+                    Timestamp date = rs.getTimestamp(4);
+                    add(rs.getLong(1), rs.getLong(2), parseType(rs.getString(3)), date == null ? null : date.toLocalDateTime());
+                });
+        } catch (RuntimeException e) {
+            log.warn("Could not load the interaction work queue; it only holds interactions opened since startup", e);
+            return;
+        } finally {
+            loading = false;
+        }
+        // The scan may have read a row that was resolved or deleted before the scan added it
+        Long closed;
+        while ((closed = closedWhileLoading.poll()) != null) {
+            removeNow(closed);
+        }
+        loaded = true;
+        loadMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Loaded {} open interactions into the work queue in {} ms", open.size(), loadMillis);
+    }
+
+    // Queues an interaction that is OPEN once the surrounding transaction commits. The customer's type is
+    // looked up now, while the caller's transaction is still usable
+    public void interactionOpened(Long interactionId, Long customerId, LocalDateTime interactionDate) {
+        if (interactionId == null) {
+            return;
+        }
+        CustomerType type = customerCache.get(customerId, customerRepository::findById)
+            .map(Customer::getCustomerType)
+            .orElse(null);
+        afterCommit(() -> add(interactionId, customerId, type, interactionDate));
+    }
+
+    // Drops an interaction that was resolved or deleted, along with any lease on it
+    public void interactionClosed(Long interactionId) {
+        if (interactionId != null) {
+            afterCommit(() -> removeNow(interactionId));
+        }
+    }
+
+    // Call once the row is committed
+    public void add(long interactionId, Long customerId, CustomerType customerType, LocalDateTime interactionDate) {
+        Item item = new Item(interactionId, customerId, customerType, interactionDate);
+        if (open.putIfAbsent(interactionId, item) == null) {
+            stripe(item).put(item, Boolean.TRUE);
+        }
+    }
+
+    public Optional<Claim> claim(long userId) {
+        Item[] heads = new Item[stripes.length];
+        while (true) {
+            int found = 0;
+            for (ConcurrentSkipListMap<Item, Boolean> stripe : stripes) {
+                Map.Entry<Item, Boolean> head = stripe.firstEntry();
+                if (head != null) {
+                    heads[found++] = head.getKey();
+                }
+            }
+            if (found == 0) {
+                return Optional.empty();
+            }
+            Arrays.sort(heads, 0, found, PRIORITY);
+            // A rep that loses a head to another rep moves on to the next best head instead of rescanning
+            for (int i = 0; i < found; i++) {
+                Item item = heads[i];
+                if (stripe(item).remove(item) == null) {
+                    contendedClaims.increment();
+                    continue;
+                }
+                Lease lease = new Lease(item, userId, Instant.now().plus(leaseDuration));
+                leases.put(item.interactionId, lease);
+                // Resolved between the stripe read and the lease; the resolve has already dropped it everywhere else
+                if (open.get(item.interactionId) != item) {
+                    leases.remove(item.interactionId, lease);
+                    continue;
+                }
+                claims.increment();
+                return Optional.of(toClaim(lease));
+            }
+        }
+    }
+
+    public Claim renew(long interactionId, long userId) {
+        Lease renewed = leases.computeIfPresent(interactionId, (id, lease) -> lease.userId == userId
+            ? new Lease(lease.item, userId, Instant.now().plus(leaseDuration))
+            : lease);
+        if (renewed == null || renewed.userId != userId) {
+            throw new IllegalArgumentException("No lease held on interaction " + interactionId);
+        }
+        return toClaim(renewed);
+    }
+
+    public void release(long interactionId, long userId) {
+        Lease lease = leases.get(interactionId);
+        if (lease == null || lease.userId != userId || !leases.remove(interactionId, lease)) {
+            throw new IllegalArgumentException("No lease held on interaction " + interactionId);
+        }
+        requeue(lease.item);
+        releases.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        int openCount = open.size();
+        int leased = leases.size();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        stats.put("loadMillis", loadMillis);
+        stats.put("stripes", stripes.length);
+        stats.put("open", openCount);
+        stats.put("leased", leased);
+        stats.put("queued", Math.max(0, openCount - leased));
+        stats.put("leaseSeconds", leaseDuration.toSeconds());
+        stats.put("claims", claims.sum());
+        stats.put("contendedClaims", contendedClaims.sum());
+        stats.put("releases", releases.sum());
+        stats.put("expiredLeases", expiredLeases.sum());
+        return stats;
+    }
+
+    void expireLeases() {
+        Instant now = Instant.now();
+        for (Lease lease : leases.values()) {
+            if (lease.expiresAt.isBefore(now) && leases.remove(lease.item.interactionId, lease)) {
+                requeue(lease.item);
+                expiredLeases.increment();
+            }
+        }
+    }
+
+    private void requeue(Item item) {
+        if (open.get(item.interactionId) == item) {
+            stripe(item).put(item, Boolean.TRUE);
+            // Closed while being put back; make sure it does not linger in the stripe
+            if (open.get(item.interactionId) != item) {
+                stripe(item).remove(item);
+            }
+        }
+    }
+
+    private void removeNow(long interactionId) {
+        if (loading) {
+            closedWhileLoading.add(interactionId);
+        }
+        Item item = open.remove(interactionId);
+        if (item != null) {
+            stripe(item).remove(item);
+            Lease lease = leases.get(interactionId);
+            if (lease != null && lease.item == item) {
+                leases.remove(interactionId, lease);
+            }
+        }
+    }
+
+    private ConcurrentSkipListMap<Item, Boolean> stripe(Item item) {
+        return stripes[(int) Math.floorMod(item.interactionId, (long) stripes.length)];
+    }
+
+    private static Claim toClaim(Lease lease) {
+        Item item = lease.item;
+        return new Claim(item.interactionId, item.customerId, item.customerType, item.interactionDate, lease.expiresAt);
+    }
+
+    private static CustomerType parseType(String value) {
+        try {
+            return value == null ? null : CustomerType.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.examly.springapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// BCrypt hashing on a small fixed pool with a bounded queue. A burst of logins queues here, or is turned away with
+// RejectedExecutionException, instead of occupying every request thread with CPU-bound hashing. The pool stays on
+// platform threads in virtual-thread mode too: hashing never blocks, so virtual threads would gain nothing here.
+@Component
+public class PasswordHasher {
+
+    @Value("${crm.auth.bcrypt-strength:10}")
+    private int strength;
+
+    // 0 means one thread per available processor
+    @Value("${crm.auth.hash-threads:0}")
+    private int threads;
+
+    @Value("${crm.auth.hash-queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${crm.auth.hash-timeout-ms:5000}")
+    private long timeoutMillis;
+
+    private BCryptPasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+    // Verified against when the user does not exist, so unknown usernames take as long as wrong passwords
+    private String dummyHash;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder workNanos = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        encoder = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        dummyHash = encoder.encode("not-a-real-password");
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public String hash(String raw) {
+        hashes.increment();
+        return run(() -> encoder.encode(raw));
+    }
+
+    // Accepts BCrypt hashes and, for rows written before hashing was introduced, plaintext
+    public boolean matches(String raw, String stored) {
+        verifications.increment();
+        if (raw == null) {
+            return false;
+        }
+        if (stored == null) {
+            run(() -> encoder.matches(raw, dummyHash));
+            return false;
+        }
+        if (!isHash(stored)) {
+            return MessageDigest.isEqual(raw.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        return run(() -> encoder.matches(raw, stored));
+    }
+
+    // True for plaintext rows and hashes made with a lower work factor than the one configured now
+    public boolean needsRehash(String stored) {
+        return stored == null || !isHash(stored) || encoder.upgradeEncoding(stored);
+    }
+
+    public Map<String, Object> getStats() {
+        long operations = hashes.sum() + verifications.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("strength", strength);
+        stats.put("threads", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("hashes", hashes.sum());
+        stats.put("verifications", verifications.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("avgWorkMillis", operations == 0 ? 0.0 : workNanos.sum() / 1e6 / operations);
+        return stats;
+    }
+
+    private <T> T run(Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    workNanos.add(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new RejectedExecutionException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while hashing");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static boolean isHash(String stored) {
+        return stored.length() == 60 && stored.startsWith("$2");
+    }
+}
@@ -0,0 +1,147 @@
+package com.examly.springapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Answers "definitely not taken" for emails and usernames without a query. A positive answer only means
+// the caller must ask the database; the unique constraints stay the final word on duplicates.
+@Component
+public class RegistrationFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationFilter.class);
+
+    public enum Key {
+        CUSTOMER_EMAIL("customers", "email"),
+        USER_EMAIL("users", "email"),
+        USERNAME("users", "username");
+
+        private final String table;
+        private final String column;
+
+        Key(String table, String column) {
+            this.table = table;
+            this.column = column;
+        }
+    }
+
+    private static class Slot {
+        volatile BloomFilter filter;
+        // The filter the warm-up scan is filling, before it is published as filter
+        volatile BloomFilter building;
+        final LongAdder checks = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        volatile long loaded;
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${crm.registration-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${crm.registration-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final Map<Key, Slot> slots = new EnumMap<>(Key.class);
+
+    public RegistrationFilter() {
+        for (Key key : Key.values()) {
+            slots.put(key, new Slot());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (Key key : Key.values()) {
+            try {
+                load(key);
+            } catch (RuntimeException e) {
+                // Leave the slot unloaded; every lookup then falls through to the database
+                log.warn("Could not load registration filter for {}.{}", key.table, key.column, e);
+            }
+        }
+    }
+
+    // Returns false only when the value has certainly never been written
+    public boolean mightExist(Key key, String value) {
+        Slot slot = slots.get(key);
+        slot.checks.increment();
+        BloomFilter filter = slot.filter;
+        if (filter == null || value == null || filter.mightContain(normalize(value))) {
+            return true;
+        }
+        slot.skipped.increment();
+        return false;
+    }
+
+    // Call once the row is committed
+    public void add(Key key, String value) {
+        Slot slot = slots.get(key);
+        // building is read first: load() publishes filter before clearing building, so a value added at any point
+        // lands in the filter or is committed early enough for the scan to see it
+        BloomFilter building = slot.building;
+        BloomFilter filter = slot.filter;
+        BloomFilter target = filter != null ? filter : building;
+        if (target != null && value != null) {
+            target.put(normalize(value));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Key key : Key.values()) {
+            Slot slot = slots.get(key);
+            BloomFilter filter = slot.filter;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("loaded", filter != null);
+            entry.put("rowsLoaded", slot.loaded);
+            entry.put("checks", slot.checks.sum());
+            entry.put("queriesSkipped", slot.skipped.sum());
+            if (filter != null) {
+                entry.put("bits", filter.bitCount());
+                entry.put("hashFunctions", filter.hashCount());
+                entry.put("expectedFalsePositiveRate", filter.expectedFalsePositiveRate());
+            }
+            stats.put(key.name(), entry);
+        }
+        return stats;
+    }
+
+    private void load(Key key) {
+        Slot slot = slots.get(key);
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + key.table, Long.class);
+        // Leave headroom for growth; the false positive rate degrades gracefully past the sizing anyway
+        BloomFilter filter = new BloomFilter(Math.max(expectedInsertions, 2 * (rows == null ? 0 : rows)), falsePositiveRate);
+        // Exposed to add() before scanning, so a row committed earlier is picked up by the scan and one committed
+        // later goes through add(). Lookups keep falling through to the database until the scan is done
+        slot.building = filter;
+        long[] count = {0};
+        jdbcTemplate.query("SELECT " + key.column + " FROM " + key.table, rs -> {
+            String value = rs.getString(1);
+            if (value != null) {
+                filter.put(normalize(value));
+                count[0]++;
+            }
+        });
+        slot.loaded = count[0];
+        slot.filter = filter;
+        slot.building = null;
+        log.info("Loaded {} values into registration filter for {}.{}", count[0], key.table, key.column);
+    }
+
+    // MySQL's default collation compares case-insensitively, so the filter must too
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
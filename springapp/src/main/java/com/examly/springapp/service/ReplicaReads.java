@@ -0,0 +1,63 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.config.ReplicaRoutingDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.function.Supplier;
+
+// The reads a replica may answer: listings that can show a moment-old view. Only a query run through here can go to
+// a replica; every other read, including the one before a write and the loads that fill the caches, stays on the
+// primary. With replicas configured, rows read here are never put into the second-level cache, so a lagging
+// replica's copy cannot be served later to a reader that needs the current one.
+@Component
+public class ReplicaReads {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
+
+    private TransactionTemplate readOnly;
+    private boolean routed;
+
+    @PostConstruct
+    void start() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        routed = replicaRoutingDataSource.getIfAvailable() != null;
+    }
+
+    public <T> T read(Supplier<T> query) {
+        if (!routed) {
+            return readOnly.execute(status -> query.get());
+        }
+        boolean outer = ReplicaRoutingDataSource.markReplicaRead(true);
+        try {
+            return readOnly.execute(status -> {
+                Session session = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)
+                    .unwrap(Session.class);
+                CacheMode cacheMode = session.getCacheMode();
+                session.setCacheMode(CacheMode.GET);
+                try {
+                    return query.get();
+                } finally {
+                    session.setCacheMode(cacheMode);
+                }
+            });
+        } finally {
+            ReplicaRoutingDataSource.markReplicaRead(outer);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.examly.springapp.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Change counters behind the collection ETags. A counter moves only after the change commits, and callers read the
+// tag before running their query, so a tag is never paired with data older than it. Per-customer interaction
+// counters share a fixed set of stripes: a collision only costs another customer's poll a spurious 200.
+// Rows changed behind the services' back are not seen, as with the other in-memory structures.
+@Component
+public class ResourceVersions {
+
+    private static final int STRIPES = 4096;
+
+    // Differs per process, so a tag issued before a restart never matches counters that started again from zero
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong customers = new AtomicLong();
+    private final AtomicLongArray interactions = new AtomicLongArray(STRIPES);
+
+    public String customersTag() {
+        return "W/\"c-" + epoch + "-" + customers.get() + "\"";
+    }
+
+    public String interactionsTag(Long customerId) {
+        return "W/\"i-" + epoch + "-" + customerId + "-" + interactions.get(stripe(customerId)) + "\"";
+    }
+
+    // Strong: the @Version identifies the entity's exact state, so these tags can satisfy If-Match
+    public static String entityTag(String kind, Long id, Long version) {
+        return "\"" + kind + "-" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+
+    // If-Match compares strongly, so a weak tag never matches (RFC 9110 13.1.1)
+    public static boolean isWeak(String ifMatch) {
+        return ifMatch != null && ifMatch.trim().startsWith("W/");
+    }
+
+    // The version an If-Match header asks for, given as an entityTag or a bare version number; null for "*" or none.
+    // Check isWeak first
+    public static Long versionFromTag(String kind, Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        String prefix = kind + "-" + id + "-";
+        if (tag.startsWith(prefix)) {
+            tag = tag.substring(prefix.length());
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be an ETag of this " + kind + " or a version number");
+        }
+    }
+
+    public void customersChanged() {
+        afterCommit(customers::incrementAndGet);
+    }
+
+    public void interactionsChanged(Long customerId) {
+        if (customerId != null) {
+            afterCommit(() -> interactions.incrementAndGet(stripe(customerId)));
+        }
+    }
+
+    private static int stripe(Long customerId) {
+        return (int) (customerId ^ (customerId >>> 32)) & (STRIPES - 1);
+    }
+
+    private static void afterCommit(Runnable bump) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+}
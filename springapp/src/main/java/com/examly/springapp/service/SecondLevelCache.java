@@ -0,0 +1,124 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.config.SecondLevelCacheConfig;
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.Interaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Region statistics, and invalidation that keeps the second-level cache honest for rows the JDBC paths (ingestion,
+// bulk deletes) change behind Hibernate's back. Called inside the writing transaction, it does what Hibernate does
+// for its own writes: entries are soft-locked and the table's query timestamps pre-invalidated until the transaction
+// completes, so a reader that loaded the old row before the commit cannot put it back afterwards. Cached queries
+// over the table go stale through the timestamps region rather than being evicted one by one.
+@Component
+public class SecondLevelCache {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void customersDeleted(Collection<Long> ids) {
+        invalidate(Customer.class, ids);
+    }
+
+    public void interactionsDeleted(Collection<Long> ids) {
+        invalidate(Interaction.class, ids);
+    }
+
+    public void interactionsUpdated(Collection<Long> ids) {
+        invalidate(Interaction.class, ids);
+    }
+
+    // A version conflict on a row read from the cache can mean the cached copy is the stale one: a reader that loaded
+    // it before an earlier commit can slip it back in once the entry's lock has been taken over by a later writer.
+    // Dropping it makes the caller's retry read the database instead of conflicting on the same copy forever
+    public void interactionConflicted(Long id) {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().evictEntityData(Interaction.class, id);
+    }
+
+    public void interactionsInserted() {
+        invalidate(Interaction.class, List.of());
+    }
+
+    public Map<String, Object> getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        regions.put(SecondLevelCacheConfig.CUSTOMERS, region(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.CUSTOMERS)));
+        regions.put(SecondLevelCacheConfig.INTERACTIONS, region(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.INTERACTIONS)));
+        regions.put(SecondLevelCacheConfig.INTERACTIONS_BY_CUSTOMER,
+            region(statistics.getQueryRegionStatistics(SecondLevelCacheConfig.INTERACTIONS_BY_CUSTOMER)));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", entityManagerFactory.unwrap(SessionFactoryImplementor.class).getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        result.put("regions", regions);
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        return result;
+    }
+
+    private static Map<String, Object> region(CacheRegionStatistics region) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (region == null) {
+            return stats;
+        }
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+        stats.put("hitCount", hits);
+        stats.put("missCount", misses);
+        stats.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        stats.put("putCount", region.getPutCount());
+        stats.put("size", region.getElementCountInMemory());
+        return stats;
+    }
+
+    private void invalidate(Class<?> entity, Collection<Long> ids) {
+        SessionFactoryImplementor factory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = factory.getMappingMetamodel().getEntityDescriptor(entity);
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        String[] spaces = persister.getPropertySpaces();
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            // No transaction to wait for; the rows are already committed
+            ids.forEach(id -> factory.getCache().evictEntityData(entity, id));
+            factory.getCache().evictQueryRegions();
+            return;
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        List<Object> keys = new ArrayList<>(ids.size());
+        List<SoftLock> locks = new ArrayList<>(ids.size());
+        if (access != null) {
+            for (Long id : ids) {
+                Object key = access.generateCacheKey(id, persister, factory, null);
+                keys.add(key);
+                locks.add(access.lockItem(session, key, null));
+            }
+        }
+        factory.getCache().getTimestampsCache().preInvalidate(spaces, session);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = 0; i < keys.size(); i++) {
+                    access.unlockItem(session, keys.get(i), locks.get(i));
+                }
+                factory.getCache().getTimestampsCache().invalidate(spaces, session);
+            }
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.InteractionStatus;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Progress of one bulk status change. Written by the worker running it and read by status requests meanwhile
+public class StatusTransitionJob {
+
+    public enum State {
+        PENDING, RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    public record Chunk(int number, int selected, int updated, long elapsedMillis) {
+    }
+
+    private final String jobId;
+    private final InteractionStatus targetStatus;
+    private final List<Chunk> chunks = new CopyOnWriteArrayList<>();
+    private volatile State state = State.PENDING;
+    private volatile boolean cancelRequested;
+    private volatile long total;
+    private volatile long updated;
+    private volatile long elapsedMillis;
+    private volatile String message;
+
+    StatusTransitionJob(String jobId, InteractionStatus targetStatus) {
+        this.jobId = jobId;
+        this.targetStatus = targetStatus;
+    }
+
+    void started(long total) {
+        this.total = total;
+        state = State.RUNNING;
+    }
+
+    void chunk(int selected, int count, long millis) {
+        chunks.add(new Chunk(chunks.size() + 1, selected, count, millis));
+        updated += count;
+    }
+
+    void finish(State state, String message, long elapsedMillis) {
+        this.message = message;
+        this.elapsedMillis = elapsedMillis;
+        this.state = state;
+    }
+
+    void cancel() {
+        cancelRequested = true;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public String getJobId() { return jobId; }
+    public InteractionStatus getTargetStatus() { return targetStatus; }
+    public State getState() { return state; }
+
+    // Rows that matched when the job started and were not already in the target status
+    public long getTotal() { return total; }
+
+    public long getUpdated() { return updated; }
+    public List<Chunk> getChunks() { return chunks; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public String getMessage() { return message; }
+}
@@ -0,0 +1,112 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.User;
+import com.examly.springapp.model.UserRole;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+
+// Stateless session tokens: base64url("<userId>\n<expiresEpochSecond>\n<role>\n<username>") + "." + base64url(HMAC-SHA256).
+// Validation is a MAC over a few dozen bytes and a clock check, with no database or shared state involved.
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    // HMAC-SHA256 is only as strong as its key; anything shorter than the hash output can be brute forced offline
+    // from a single captured token
+    static final int MIN_SECRET_BYTES = 32;
+
+    @Value("${crm.auth.token-secret:}")
+    private String secret;
+
+    @Value("${crm.auth.token-ttl:8h}")
+    private Duration ttl;
+
+    private SecretKeySpec key;
+    // Mac instances are not thread safe and costly to look up, so each thread keeps its own
+    private ThreadLocal<Mac> macs;
+
+    @PostConstruct
+    void start() {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("crm.auth.token-secret is not set; using a random key, so tokens will not survive a restart");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("crm.auth.token-secret must be at least " + MIN_SECRET_BYTES
+                    + " bytes; it is " + keyBytes.length);
+            }
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public AuthToken issue(User user) {
+        Instant expiresAt = Instant.now().plus(ttl).truncatedTo(ChronoUnit.SECONDS);
+        return new AuthToken(user.getId(), user.getUsername(), user.getRole(), expiresAt);
+    }
+
+    public String encode(AuthToken token) {
+        String payload = token.getUserId() + "\n" + token.getExpiresAt().getEpochSecond() + "\n"
+            + (token.getRole() == null ? "" : token.getRole().name()) + "\n" + token.getUsername();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payloadBytes) + "." + encoder.encodeToString(macs.get().doFinal(payloadBytes));
+    }
+
+    // Empty for anything malformed, tampered with or expired
+    public Optional<AuthToken> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payloadBytes = decoder.decode(token.substring(0, dot));
+            byte[] signature = decoder.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(macs.get().doFinal(payloadBytes), signature)) {
+                return Optional.empty();
+            }
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\n", 4);
+            if (parts.length != 4) {
+                return Optional.empty();
+            }
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[1]));
+            if (!Instant.now().isBefore(expiresAt)) {
+                return Optional.empty();
+            }
+            UserRole role = parts[2].isEmpty() ? null : UserRole.valueOf(parts[2]);
+            return Optional.of(new AuthToken(Long.parseLong(parts[0]), parts[3], role, expiresAt));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.repository.UserRepository;
+import com.examly.springapp.service.PasswordHasher;
+import com.examly.springapp.service.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Run with: mvn test -Pbenchmark -Dtest=AuthBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuthBenchmarkTest {
+    private static final int CLIENTS = 16;
+    private static final int LOGINS_PER_CLIENT = 20;
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void seed() throws Exception {
+        userRepository.deleteAllInBatch();
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"bench\",\"email\":\"bench@example.com\",\"password\":\"bench-pass\",\"role\":\"ANALYST\"}"))
+            .andExpect(status().isCreated());
+    }
+
+    @Test
+    void workFactorCost() {
+        System.out.printf("%nBCrypt cost per hash by work factor (single thread, median of 5)%n");
+        for (int strength = 8; strength <= 12; strength += 2) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            String hash = encoder.encode("bench-pass");
+            long[] samples = new long[5];
+            for (int i = 0; i < samples.length; i++) {
+                long start = System.nanoTime();
+                encoder.matches("bench-pass", hash);
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+            System.out.printf("strength %2d: %8.1f ms%n", strength, samples[2] / 1e6);
+        }
+    }
+
+    @Test
+    void loginThroughput() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long[] latencies = new long[CLIENTS * LOGINS_PER_CLIENT];
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < LOGINS_PER_CLIENT; i++) {
+                        long begin = System.nanoTime();
+                        mockMvc.perform(post("/api/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"username\":\"bench\",\"password\":\"bench-pass\"}"))
+                            .andExpect(status().isOk());
+                        latencies[client * LOGINS_PER_CLIENT + i] = System.nanoTime() - begin;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        Map<String, Object> stats = passwordHasher.getStats();
+
+        System.out.printf("%nLogin, %d clients x %d logins, strength %s on %s hashing threads%n",
+            CLIENTS, LOGINS_PER_CLIENT, stats.get("strength"), stats.get("threads"));
+        System.out.printf("throughput %.1f logins/s, p50 %.1f ms, p99 %.1f ms, rejected %s%n",
+            latencies.length / seconds,
+            latencies[latencies.length / 2] / 1e6,
+            latencies[(int) (latencies.length * 0.99)] / 1e6,
+            stats.get("rejected"));
+    }
+
+    @Test
+    void tokenValidationCost() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"bench\",\"password\":\"bench-pass\"}"))
+            .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("token").asText();
+
+        double verifyNanos = nanosPerOp(() -> tokenService.verify(token).isPresent(), WARMUP, ITERATIONS);
+        double lookupNanos = nanosPerOp(() -> userRepository.findByUsername("bench").isPresent(), 2_000, 5_000);
+
+        System.out.printf("%nPer-request authentication cost%n");
+        System.out.printf("token verify (HMAC-SHA256): %10.0f ns/op%n", verifyNanos);
+        System.out.printf("findByUsername query:       %10.0f ns/op%n", lookupNanos);
+        assertTrue(verifyNanos < 20_000, "token verification should stay in the low microseconds");
+    }
+
+    private interface Op {
+        boolean run();
+    }
+
+    private static double nanosPerOp(Op op, int warmup, int iterations) {
+        for (int i = 0; i < warmup; i++) {
+            assertTrue(op.run());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (!op.run()) {
+                fail("operation failed");
+            }
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+}
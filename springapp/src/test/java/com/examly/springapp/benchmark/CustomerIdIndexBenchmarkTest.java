@@ -0,0 +1,105 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CustomerIdIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark -Dtest=CustomerIdIndexBenchmarkTest [-Dbenchmark.customers=N]
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerIdIndexBenchmarkTest {
+    private static final int CUSTOMERS = Integer.getInteger("benchmark.customers", 1_000_000);
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 20_000;
+
+    @Autowired
+    private CustomerIdIndex customerIdIndex;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long firstId;
+
+    @BeforeAll
+    void seed() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO customers (first_name, last_name, email, customer_type, registration_date) VALUES (?, ?, ?, ?, ?)",
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, "First" + i);
+                    ps.setString(2, "Last" + i);
+                    ps.setString(3, "ids" + i + "@example.com");
+                    ps.setString(4, CustomerType.REGULAR.name());
+                    ps.setObject(5, LocalDate.of(2020, 1, 1));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return CUSTOMERS;
+                }
+            });
+        firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM customers", Long.class);
+        // Rows were inserted behind the service, so rebuild the index the way startup does
+        customerIdIndex.warmUp();
+    }
+
+    @Test
+    void compareIndexWithRepository() {
+        assertTrue(customerIdIndex.exists(firstId + CUSTOMERS - 1));
+
+        double repository = medianNanos(id -> customerRepository.existsById(id));
+        double index = medianNanos(id -> customerIdIndex.exists(id));
+
+        System.out.printf("%nCustomer id existence check, %d customers (median of %d, nanoseconds)%n", CUSTOMERS, ITERATIONS);
+        System.out.printf("%-22s %12.0f%n", "repository.existsById", repository);
+        System.out.printf("%-22s %12.0f%n", "CustomerIdIndex", index);
+        System.out.printf("index memory: %s%n", customerIdIndex.getStats());
+    }
+
+    private double medianNanos(LongPredicate check) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < WARMUP; i++) {
+            assertTrue(check.test(firstId + random.nextInt(CUSTOMERS)));
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long id = firstId + random.nextInt(CUSTOMERS);
+            long start = System.nanoTime();
+            boolean found = check.test(id);
+            samples[i] = System.nanoTime() - start;
+            assertTrue(found);
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,112 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CursorPage;
+import com.examly.springapp.service.CustomerService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark -Dtest=CustomerPagingBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerPagingBenchmarkTest {
+    private static final int PAGE_SIZE = 5;
+    private static final int DEEP_PAGE = 10_000;
+    private static final int ROWS = PAGE_SIZE * (DEEP_PAGE + 1);
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO customers (first_name, last_name, email, phone_number, customer_type, registration_date) VALUES (?, ?, ?, ?, ?, ?)",
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, "First" + i);
+                    ps.setString(2, "Last" + (i % 997));
+                    ps.setString(3, "page" + i + "@example.com");
+                    ps.setString(4, "555" + i);
+                    ps.setString(5, CustomerType.values()[i % 3].name());
+                    ps.setObject(6, LocalDate.of(2020, 1, 1).plusDays(i % 1500));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return ROWS;
+                }
+            });
+    }
+
+    @Test
+    void comparePageOneWithDeepPage() {
+        // Cursor that lands on the same rows as offset page DEEP_PAGE
+        String deepCursor = customerService
+            .getCustomersAfter(null, PAGE_SIZE * DEEP_PAGE, CustomerService.CursorSort.ID, false)
+            .getNextCursor();
+        assertNotNull(deepCursor);
+
+        double offsetFirst = medianMicros(() -> customerService.getAllCustomers(PageRequest.of(0, PAGE_SIZE)));
+        double offsetDeep = medianMicros(() -> customerService.getAllCustomers(PageRequest.of(DEEP_PAGE, PAGE_SIZE)));
+        double cursorFirst = medianMicros(() -> customerService.getCustomersAfter(null, PAGE_SIZE, CustomerService.CursorSort.ID, false));
+        double cursorDeep = medianMicros(() -> customerService.getCustomersAfter(deepCursor, PAGE_SIZE, CustomerService.CursorSort.ID, false));
+
+        CursorPage<Customer> deep = customerService.getCustomersAfter(deepCursor, PAGE_SIZE, CustomerService.CursorSort.ID, false);
+        assertEquals(
+            customerService.getAllCustomers(PageRequest.of(DEEP_PAGE, PAGE_SIZE)).getContent().get(0).getId(),
+            deep.getItems().get(0).getId());
+
+        System.out.printf("%nCustomer paging, %d rows, page size %d (median of %d, microseconds)%n", ROWS, PAGE_SIZE, ITERATIONS);
+        System.out.printf("%-8s %12s %14s%n", "mode", "page 1", "page " + DEEP_PAGE);
+        System.out.printf("%-8s %12.1f %14.1f%n", "offset", offsetFirst, offsetDeep);
+        System.out.printf("%-8s %12.1f %14.1f%n", "cursor", cursorFirst, cursorDeep);
+    }
+
+    private static double medianMicros(Runnable query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.run();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / 1_000.0;
+    }
+}
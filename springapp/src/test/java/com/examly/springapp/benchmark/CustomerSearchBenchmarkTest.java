@@ -0,0 +1,174 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CustomerSearchIndex;
+import com.examly.springapp.service.CustomerService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark -Dtest=CustomerSearchBenchmarkTest [-Dbenchmark.customers=N]
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerSearchBenchmarkTest {
+    private static final int CUSTOMERS = Integer.getInteger("benchmark.customers", 1_000_000);
+    private static final int CHUNK = 50_000;
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 500;
+    // Latency targets for the in-memory ranking step at 1M customers, in milliseconds
+    private static final double TARGET_P50 = 10;
+    private static final double TARGET_P99 = 50;
+
+    private static final String[] SYLLABLES = {
+        "an", "ber", "cal", "dor", "el", "fin", "gar", "hal", "is", "jo", "kel", "lin", "mar", "nor",
+        "ol", "per", "quin", "ros", "sten", "tor", "ul", "ver", "wal", "xan", "yor", "zel"
+    };
+    private static final String[] DOMAINS = {"example.com", "mail.test", "corp.test", "shop.test"};
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long indexBytes;
+
+    @BeforeAll
+    void seed() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        for (int offset = 0; offset < CUSTOMERS; offset += CHUNK) {
+            int base = offset;
+            int rows = Math.min(CHUNK, CUSTOMERS - offset);
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO customers (first_name, last_name, email, phone_number, customer_type, registration_date) VALUES (?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int n = base + i;
+                        String first = firstName(n);
+                        String last = lastName(n);
+                        ps.setString(1, first);
+                        ps.setString(2, last);
+                        ps.setString(3, first.toLowerCase() + "." + last.toLowerCase() + n + "@" + DOMAINS[n % DOMAINS.length]);
+                        ps.setString(4, String.format("555-%07d", n));
+                        ps.setString(5, CustomerType.values()[n % 3].name());
+                        ps.setObject(6, LocalDate.of(2020, 1, 1));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows;
+                    }
+                });
+        }
+        // Rows were inserted behind the service, so rebuild the index the way startup does
+        long before = usedHeap();
+        customerSearchIndex.rebuild();
+        indexBytes = usedHeap() - before;
+    }
+
+    @Test
+    void searchLatencyAtScale() {
+        Map<String, IntFunction<String>> queries = new LinkedHashMap<>();
+        queries.put("exact last name", i -> lastName(i * 7919));
+        queries.put("first + last", i -> firstName(i * 104729) + " " + lastName(i * 104729));
+        queries.put("3-char prefix", i -> lastName(i * 31).substring(0, 3));
+        queries.put("misspelled", i -> swap(lastName(i * 7919)));
+        queries.put("phone prefix", i -> String.format("555-%04d", i % 10_000));
+        queries.put("email local part", i -> {
+            int n = i * 7919 % CUSTOMERS;
+            return lastName(n).toLowerCase() + n;
+        });
+
+        System.out.printf("%nCustomer search, %d customers (ms over %d queries)%n", CUSTOMERS, ITERATIONS);
+        System.out.printf("%-18s %8s %8s %8s %10s %10s%n", "query", "p50", "p95", "p99", "e2e p50", "avg hits");
+        for (Map.Entry<String, IntFunction<String>> entry : queries.entrySet()) {
+            IntFunction<String> query = entry.getValue();
+            long[] hits = {0};
+            double[] index = percentiles(i -> hits[0] += customerSearchIndex.search(query.apply(i), null, 20).getTotal());
+            double[] endToEnd = percentiles(i -> customerService.searchCustomers(query.apply(i), CustomerType.VIP, 20));
+            System.out.printf("%-18s %8.2f %8.2f %8.2f %10.2f %10d%n",
+                entry.getKey(), index[0], index[1], index[2], endToEnd[0], hits[0] / (WARMUP + ITERATIONS));
+            assertTrue(index[0] <= TARGET_P50, entry.getKey() + " p50 " + index[0]);
+            assertTrue(index[2] <= TARGET_P99, entry.getKey() + " p99 " + index[2]);
+        }
+        System.out.printf("index: %s, ~%d MB heap (%d bytes per customer)%n",
+            customerSearchIndex.getStats(), indexBytes >> 20, indexBytes / CUSTOMERS);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String firstName(int n) {
+        n = Math.floorMod(n, 2_000);
+        return capitalize(SYLLABLES[n % 26] + SYLLABLES[n / 26 % 26] + (n >= 676 ? SYLLABLES[n / 676] : ""));
+    }
+
+    private static String lastName(int n) {
+        n = Math.floorMod(n * 31, 50_000);
+        return capitalize(SYLLABLES[n % 26] + SYLLABLES[n / 26 % 26] + SYLLABLES[n / 676 % 26] + SYLLABLES[n / 17_576 % 26]);
+    }
+
+    private static String swap(String word) {
+        int i = word.length() / 2;
+        return word.substring(0, i - 1) + word.charAt(i) + word.charAt(i - 1) + word.substring(i + 1);
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    private static double[] percentiles(IntConsumer run) {
+        for (int i = 0; i < WARMUP; i++) {
+            run.accept(i);
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            run.accept(WARMUP + i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return new double[] {
+            samples[ITERATIONS / 2] / 1e6,
+            samples[ITERATIONS * 95 / 100] / 1e6,
+            samples[ITERATIONS * 99 / 100] / 1e6
+        };
+    }
+}
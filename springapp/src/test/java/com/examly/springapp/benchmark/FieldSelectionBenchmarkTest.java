@@ -0,0 +1,131 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Run with: mvn test -Pbenchmark -Dtest=FieldSelectionBenchmarkTest
+// Response size and median time through the full MVC stack for ?fields=full against ?fields=summary.
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FieldSelectionBenchmarkTest {
+    private static final int CUSTOMERS = 10_000;
+    private static final int INTERACTIONS = 500;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long customerId;
+
+    @BeforeAll
+    void seed() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO customers (first_name, last_name, email, phone_number, customer_type, registration_date) VALUES (?, ?, ?, ?, ?, ?)",
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, "First" + i);
+                    ps.setString(2, "Last" + (i % 997));
+                    ps.setString(3, "fields" + i + "@example.com");
+                    ps.setString(4, "+1-555-010-" + String.format("%04d", i % 10_000));
+                    ps.setString(5, CustomerType.values()[i % 3].name());
+                    ps.setObject(6, LocalDate.of(2020, 1, 1).plusDays(i % 1500));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return CUSTOMERS;
+                }
+            });
+        customerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM customers", Long.class);
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO interactions (customer_id, interaction_type, description, status, interaction_date) VALUES (?, ?, ?, ?, ?)",
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, customerId);
+                    ps.setString(2, "INQUIRY");
+                    ps.setString(3, "Customer called about order #" + (100_000 + i) + " asking for delivery updates, "
+                        + "a copy of the invoice and whether the extended warranty covers accidental damage");
+                    ps.setString(4, i % 5 == 0 ? "OPEN" : "RESOLVED");
+                    ps.setTimestamp(5, Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 9, 0).plusHours(i)));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return INTERACTIONS;
+                }
+            });
+    }
+
+    @Test
+    void compareFieldSets() throws Exception {
+        String customers = "/api/customers/getAllCustomers?size=" + PAGE_SIZE + "&page=7&fields=";
+        String interactions = "/api/customers/" + customerId + "/interactions?fields=";
+
+        System.out.printf("%nField selection, %d customers per page, %d interactions for one customer (median of %d)%n",
+            PAGE_SIZE, INTERACTIONS, ITERATIONS);
+        System.out.printf("%-24s %-8s %10s %10s%n", "endpoint", "fields", "bytes", "micros");
+        int fullCustomers = report("getAllCustomers", customers, "full");
+        int summaryCustomers = report("getAllCustomers", customers, "summary");
+        int fullInteractions = report("customer interactions", interactions, "full");
+        int summaryInteractions = report("customer interactions", interactions, "summary");
+
+        assertTrue(summaryCustomers < fullCustomers);
+        assertTrue(summaryInteractions < fullInteractions);
+    }
+
+    private int report(String endpoint, String uri, String fields) throws Exception {
+        int bytes = mockMvc.perform(get(uri + fields)).andReturn().getResponse().getContentAsByteArray().length;
+        for (int i = 0; i < WARMUP; i++) {
+            mockMvc.perform(get(uri + fields));
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            mockMvc.perform(get(uri + fields)).andReturn().getResponse().getContentAsByteArray();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-24s %-8s %10d %10.1f%n", endpoint, fields, bytes, samples[ITERATIONS / 2] / 1_000.0);
+        return bytes;
+    }
+}
@@ -0,0 +1,147 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CursorPage;
+import com.examly.springapp.service.InteractionService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark -Dtest=InteractionTimelineBenchmarkTest [-Dbenchmark.interactions=N]
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class InteractionTimelineBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.interactions", 2_000_000);
+    private static final int CUSTOMERS = 20_000;
+    // Every 20th row belongs to the first customer, giving it a long VIP history
+    private static final int VIP_STRIDE = 20;
+    private static final int CHUNK = 50_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 100;
+
+    @Autowired
+    private InteractionService interactionService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long vipId;
+
+    @BeforeAll
+    void seed() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO customers (first_name, last_name, email, customer_type, registration_date) VALUES (?, ?, ?, ?, ?)",
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, "First" + i);
+                    ps.setString(2, "Last" + i);
+                    ps.setString(3, "timeline" + i + "@example.com");
+                    ps.setString(4, (i == 0 ? CustomerType.VIP : CustomerType.REGULAR).name());
+                    ps.setObject(5, LocalDate.of(2020, 1, 1));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return CUSTOMERS;
+                }
+            });
+        long firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM customers", Long.class);
+        vipId = firstId;
+
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int offset = 0; offset < ROWS; offset += CHUNK) {
+            int base = offset;
+            int count = Math.min(CHUNK, ROWS - offset);
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO interactions (customer_id, interaction_type, description, status, interaction_date) VALUES (?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int n = base + i;
+                        ps.setLong(1, n % VIP_STRIDE == 0 ? firstId : firstId + 1 + (n % (CUSTOMERS - 1)));
+                        ps.setString(2, InteractionType.values()[n % 3].name());
+                        ps.setString(3, "event " + n);
+                        ps.setString(4, (n % 7 == 0 ? InteractionStatus.OPEN : InteractionStatus.RESOLVED).name());
+                        ps.setTimestamp(5, Timestamp.valueOf(start.plusMinutes(n)));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+        }
+    }
+
+    @Test
+    void timelineAgainstFullHistory() {
+        long vipRows = ROWS / VIP_STRIDE;
+        String deepCursor = interactionService.getTimeline(vipId, null, 5_000, null, null).getNextCursor();
+
+        double fullList = medianMicros(10, 20, () -> interactionService.getInteractionsByCustomerId(vipId));
+        double firstPage = medianMicros(WARMUP, ITERATIONS, () -> interactionService.getTimeline(vipId, null, 20, null, null));
+        double deepPage = medianMicros(WARMUP, ITERATIONS, () -> interactionService.getTimeline(vipId, deepCursor, 20, null, null));
+        double filtered = medianMicros(WARMUP, ITERATIONS,
+            () -> interactionService.getTimeline(vipId, null, 20, InteractionType.PURCHASE, InteractionStatus.OPEN));
+
+        CursorPage<Interaction> page = interactionService.getTimeline(vipId, null, 20, null, null);
+        assertEquals(20, page.getItems().size());
+        assertTrue(page.getItems().get(0).getInteractionDate().isAfter(page.getItems().get(19).getInteractionDate()));
+
+        jdbcTemplate.execute("DROP INDEX idx_interactions_customer_date");
+        double firstPageNoIndex = medianMicros(3, 10, () -> interactionService.getTimeline(vipId, null, 20, null, null));
+        jdbcTemplate.execute("CREATE INDEX idx_interactions_customer_date ON interactions (customer_id, interaction_date)");
+
+        System.out.printf("%nInteraction timeline, %d rows, VIP history %d rows (median, microseconds)%n", ROWS, vipRows);
+        System.out.printf("%-40s %14.1f%n", "full list (findByCustomerId)", fullList);
+        System.out.printf("%-40s %14.1f%n", "timeline page 1", firstPage);
+        System.out.printf("%-40s %14.1f%n", "timeline page after 5,000 rows", deepPage);
+        System.out.printf("%-40s %14.1f%n", "timeline page 1, PURCHASE + OPEN", filtered);
+        System.out.printf("%-40s %14.1f%n", "timeline page 1, index dropped", firstPageNoIndex);
+    }
+
+    private static double medianMicros(int warmup, int iterations, Runnable query) {
+        for (int i = 0; i < warmup; i++) {
+            query.run();
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[iterations / 2] / 1_000.0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.CrmSystemApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark -Dtest=MixedWorkloadBenchmarkTest [-Dbenchmark.clients=N] [-Dbenchmark.duration-s=N]
+//           [-Dcrm.loadtest.customers=N] [-Dcrm.loadtest.interactions-per-customer=N]
+//
+// Starts the application under the loadtest profile (embedded H2, seeded at startup) on a random port and has
+// a fixed number of closed-loop clients drive the REST endpoints with a weighted mix of reads and writes.
+// Every client draws from its own seeded Random, so the request sequence is the same from run to run.
+@Tag("benchmark")
+class MixedWorkloadBenchmarkTest {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 16);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-s", 5));
+    private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("benchmark.duration-s", 30));
+    private static final long SEED = Long.getLong("benchmark.seed", 42);
+    private static final String[] SEARCH_PREFIXES = {"smi", "john", "gar", "kum", "ngu", "chen", "mar", "lee"};
+
+    private enum Operation {
+        GET_CUSTOMER(30),
+        LIST_CUSTOMERS(10),
+        SEARCH_CUSTOMERS(10),
+        CUSTOMER_INTERACTIONS(20),
+        CREATE_INTERACTION(15),
+        UPDATE_INTERACTION(10),
+        CREATE_CUSTOMER(5);
+
+        final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final class Stats {
+        final List<Long> latencies = new ArrayList<>();
+        final AtomicLong errors = new AtomicLong();
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        Map<Operation, Stats> stats = new ConcurrentHashMap<>();
+        for (Operation op : Operation.values()) {
+            stats.put(op, new Stats());
+        }
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CrmSystemApplication.class)
+                .profiles("loadtest")
+                .run("--server.port=0", "--logging.level.com.examly.springapp=WARN")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            long[] customerIds = ids(jdbcTemplate, "customers");
+            long[] interactionIds = ids(jdbcTemplate, "interactions");
+            assertTrue(customerIds.length > 0);
+            assertTrue(interactionIds.length > 0);
+            String base = "http://localhost:" + port + "/api";
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            AtomicLong newCustomers = new AtomicLong();
+
+            long warmupEnd = System.nanoTime() + WARMUP.toNanos();
+            long measureEnd = warmupEnd + MEASURE.toNanos();
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            List<Future<Map<Operation, List<Long>>>> futures = new ArrayList<>();
+            try {
+                for (int c = 0; c < CLIENTS; c++) {
+                    Random random = new Random(SEED + c);
+                    futures.add(clients.submit(() -> {
+                        Map<Operation, List<Long>> latencies = new ConcurrentHashMap<>();
+                        long now;
+                        while ((now = System.nanoTime()) < measureEnd) {
+                            Operation op = pick(random);
+                            HttpRequest request = request(op, base, random, customerIds, interactionIds, newCustomers);
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            long elapsed = System.nanoTime() - now;
+                            if (response.statusCode() >= 300) {
+                                stats.get(op).errors.incrementAndGet();
+                            } else if (now >= warmupEnd) {
+                                latencies.computeIfAbsent(op, o -> new ArrayList<>()).add(elapsed);
+                            }
+                        }
+                        return latencies;
+                    }));
+                }
+                for (Future<Map<Operation, List<Long>>> f : futures) {
+                    f.get().forEach((op, latencies) -> stats.get(op).latencies.addAll(latencies));
+                }
+            } finally {
+                clients.shutdownNow();
+            }
+        }
+
+        System.out.printf("%nMixed workload, %d clients, %d s measured after %d s warmup%n",
+            CLIENTS, MEASURE.toSeconds(), WARMUP.toSeconds());
+        System.out.printf("%-22s %9s %9s %9s %9s %9s %7s%n", "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors");
+        long total = 0;
+        for (Operation op : Operation.values()) {
+            Stats s = stats.get(op);
+            long[] sorted = s.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            total += sorted.length;
+            System.out.printf("%-22s %9d %9.1f %9.2f %9.2f %9.2f %7d%n", op.name().toLowerCase(), sorted.length,
+                sorted.length / (double) MEASURE.toSeconds(),
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99), s.errors.get());
+        }
+        System.out.printf("%-22s %9d %9.1f%n", "total", total, total / (double) MEASURE.toSeconds());
+
+        for (Operation op : Operation.values()) {
+            assertFalse(stats.get(op).latencies.isEmpty(), op + " recorded no successful requests");
+        }
+    }
+
+    private static Operation pick(Random random) {
+        int roll = random.nextInt(100);
+        for (Operation op : Operation.values()) {
+            roll -= op.weight;
+            if (roll < 0) {
+                return op;
+            }
+        }
+        return Operation.GET_CUSTOMER;
+    }
+
+    private static HttpRequest request(Operation op, String base, Random random, long[] customerIds,
+                                       long[] interactionIds, AtomicLong newCustomers) {
+        long customerId = customerIds[random.nextInt(customerIds.length)];
+        return switch (op) {
+            case GET_CUSTOMER -> get(base + "/customers/getCustomer/" + customerId);
+            case LIST_CUSTOMERS -> get(base + "/customers/getAllCustomers?size=20&page="
+                + random.nextInt(Math.max(1, customerIds.length / 20)));
+            case SEARCH_CUSTOMERS -> get(base + "/customers/search?limit=20&q=" + SEARCH_PREFIXES[random.nextInt(SEARCH_PREFIXES.length)]);
+            case CUSTOMER_INTERACTIONS -> get(base + "/customers/" + customerId + "/interactions");
+            case CREATE_INTERACTION -> send("POST", base + "/interactions", "{\"customerId\":" + customerId
+                + ",\"interactionType\":\"INQUIRY\",\"status\":\"OPEN\",\"description\":\"Load test inquiry\"}");
+            case UPDATE_INTERACTION -> send("PUT", base + "/interactions/" + interactionIds[random.nextInt(interactionIds.length)],
+                "{\"interactionType\":\"INQUIRY\",\"status\":\"" + (random.nextBoolean() ? "OPEN" : "RESOLVED")
+                    + "\",\"description\":\"Load test update\"}");
+            case CREATE_CUSTOMER -> {
+                long n = newCustomers.incrementAndGet();
+                yield send("POST", base + "/customers/addCustomer", "{\"firstName\":\"Load\",\"lastName\":\"Client\",\"email\":\"load"
+                    + n + "." + System.nanoTime() + "@example.com\",\"phoneNumber\":\"+1-555-010-" + String.format("%04d", n % 10_000)
+                    + "\",\"customerType\":\"REGULAR\"}");
+            }
+        };
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private static HttpRequest send(String method, String uri, String json) {
+        return HttpRequest.newBuilder(URI.create(uri))
+            .header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    private static long[] ids(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class)
+            .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
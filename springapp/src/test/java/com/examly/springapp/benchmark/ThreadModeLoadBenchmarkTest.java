@@ -0,0 +1,186 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.CrmSystemApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark -Dtest=ThreadModeLoadBenchmarkTest [-Dbenchmark.db-latency-ms=N] [-Dserver.tomcat.threads.max=N]
+// The virtual-thread run needs a JDK 21+ runtime; on older JDKs only the platform-thread run is reported.
+//
+// Starts the application twice on a random port, once per thread mode, with every connection checkout
+// delayed to stand in for a slow database. Writers hammer createInteraction, which needs a connection;
+// readers hammer getCustomer, which is served from the customer cache once warm.
+@Tag("benchmark")
+class ThreadModeLoadBenchmarkTest {
+    private static final int WRITERS = Integer.getInteger("benchmark.writers", 100);
+    private static final int READERS = Integer.getInteger("benchmark.readers", 20);
+    private static final long DB_LATENCY_MS = Long.getLong("benchmark.db-latency-ms", 20);
+    private static final int CUSTOMERS = 1_000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASURE = Duration.ofSeconds(15);
+
+    private static final class Result {
+        final String mode;
+        final List<Long> reads = new ArrayList<>();
+        final List<Long> writes = new ArrayList<>();
+        final AtomicLong readErrors = new AtomicLong();
+        final AtomicLong writeErrors = new AtomicLong();
+
+        Result(String mode) {
+            this.mode = mode;
+        }
+    }
+
+    // Not annotated, so component scanning never picks it up; it is only passed to the builder below
+    static class SlowDatabase {
+        @Bean
+        static BeanPostProcessor slowConnections() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            Connection connection = super.getConnection();
+                            try {
+                                Thread.sleep(DB_LATENCY_MS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return connection;
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    @Test
+    void compareThreadModes() throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.add(run(false));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run(true));
+        } else {
+            System.out.printf("%nJDK %d has no virtual threads; skipping that run%n", Runtime.version().feature());
+        }
+
+        System.out.printf("%nThread modes, %d writers + %d readers, %d ms per connection checkout, %d s measured%n",
+            WRITERS, READERS, DB_LATENCY_MS, MEASURE.toSeconds());
+        System.out.printf("%-9s %-18s %10s %10s %10s %8s%n", "mode", "endpoint", "req/s", "p50 ms", "p99 ms", "errors");
+        for (Result r : results) {
+            print(r.mode, "getCustomer", r.reads, r.readErrors.get());
+            print(r.mode, "createInteraction", r.writes, r.writeErrors.get());
+        }
+        for (Result r : results) {
+            assertFalse(r.reads.isEmpty());
+            assertFalse(r.writes.isEmpty());
+        }
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        Result result = new Result(virtualThreads ? "virtual" : "platform");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CrmSystemApplication.class, SlowDatabase.class)
+                .run("--server.port=0", "--spring.threads.virtual.enabled=" + virtualThreads, "--spring.jpa.show-sql=false")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            long[] customerIds = seed(context.getBean(JdbcTemplate.class));
+            String base = "http://localhost:" + port + "/api";
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            long warmupEnd = System.nanoTime() + WARMUP.toNanos();
+            long measureEnd = warmupEnd + MEASURE.toNanos();
+            ExecutorService clients = Executors.newFixedThreadPool(WRITERS + READERS);
+            List<Future<List<Long>>> writers = new ArrayList<>();
+            List<Future<List<Long>>> readers = new ArrayList<>();
+            try {
+                for (int c = 0; c < WRITERS + READERS; c++) {
+                    boolean writer = c < WRITERS;
+                    int client = c;
+                    Future<List<Long>> future = clients.submit(() -> {
+                        List<Long> latencies = new ArrayList<>();
+                        int i = client;
+                        long now;
+                        while ((now = System.nanoTime()) < measureEnd) {
+                            long customerId = customerIds[i++ % customerIds.length];
+                            HttpRequest request = writer
+                                ? HttpRequest.newBuilder(URI.create(base + "/interactions"))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString("{\"customerId\":" + customerId
+                                        + ",\"interactionType\":\"INQUIRY\",\"status\":\"OPEN\",\"description\":\"load\"}"))
+                                    .build()
+                                : HttpRequest.newBuilder(URI.create(base + "/customers/getCustomer/" + customerId)).GET().build();
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            long elapsed = System.nanoTime() - now;
+                            if (response.statusCode() >= 300) {
+                                (writer ? result.writeErrors : result.readErrors).incrementAndGet();
+                            } else if (now >= warmupEnd) {
+                                latencies.add(elapsed);
+                            }
+                        }
+                        return latencies;
+                    });
+                    (writer ? writers : readers).add(future);
+                }
+                for (Future<List<Long>> f : writers) {
+                    result.writes.addAll(f.get());
+                }
+                for (Future<List<Long>> f : readers) {
+                    result.reads.addAll(f.get());
+                }
+            } finally {
+                clients.shutdownNow();
+            }
+        }
+        return result;
+    }
+
+    private static long[] seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("DELETE FROM interactions");
+        jdbcTemplate.execute("DELETE FROM customers");
+        List<Object[]> rows = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            rows.add(new Object[] {"Load" + i, "Test", "load" + i + "@example.com", "REGULAR", LocalDate.now()});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO customers (first_name, last_name, email, customer_type, registration_date) VALUES (?, ?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM customers ORDER BY id", Long.class)
+            .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static void print(String mode, String endpoint, List<Long> latencies, long errors) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%-9s %-18s %10.0f %10.1f %10.1f %8d%n", mode, endpoint,
+            sorted.length / (double) MEASURE.toSeconds(),
+            sorted[sorted.length / 2] / 1e6,
+            sorted[(int) (sorted.length * 0.99)] / 1e6,
+            errors);
+    }
+}
@@ -0,0 +1,140 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark -Dtest=WireFormatBenchmarkTest
+// Payload size and serialization CPU time for a 1,000-row page in each negotiable format, using the same
+// mappers the HTTP message converters use.
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class WireFormatBenchmarkTest {
+    private static final int ROWS = 1_000;
+    private static final int WARMUP = 1_000;
+    private static final int ITERATIONS = 1_000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void compareFormats() throws Exception {
+        Map<String, ObjectMapper> mappers = Map.of(
+            "json", objectMapper,
+            "cbor", cborConverter.getObjectMapper(),
+            "smile", smileConverter.getObjectMapper());
+        List<String> order = List.of("json", "cbor", "smile");
+
+        Map<String, Object> customerPage = Map.of(
+            "customers", customers(),
+            "totalPages", 100,
+            "totalElements", 100_000L,
+            "currentPage", 0);
+        List<Interaction> interactions = interactions();
+
+        // Every mapper is compiled before any is timed, so later formats do not run against a hotter JIT
+        for (int i = 0; i < WARMUP; i++) {
+            for (String name : order) {
+                mappers.get(name).writeValueAsBytes(customerPage);
+                mappers.get(name).writeValueAsBytes(interactions);
+            }
+        }
+
+        System.out.printf("%n%d-row pages, serialization CPU time per page (median of %d)%n", ROWS, ITERATIONS);
+        System.out.printf("%-12s %-6s %10s %10s %10s%n", "payload", "format", "bytes", "gzipped", "cpu us");
+        for (String name : order) {
+            report("customers", name, mappers.get(name), customerPage);
+        }
+        for (String name : order) {
+            report("interactions", name, mappers.get(name), interactions);
+        }
+        assertTrue(cborConverter.getObjectMapper().writeValueAsBytes(customerPage).length
+            < objectMapper.writeValueAsBytes(customerPage).length);
+    }
+
+    private static void report(String payload, String format, ObjectMapper mapper, Object value) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(value);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = threads.getCurrentThreadCpuTime();
+            mapper.writeValueAsBytes(value);
+            samples[i] = threads.getCurrentThreadCpuTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-12s %-6s %10d %10d %10.1f%n", payload, format, bytes.length, gzip(bytes).length,
+            samples[ITERATIONS / 2] / 1_000.0);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Customer> customers() {
+        List<Customer> customers = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Customer c = new Customer();
+            c.setId((long) i + 1);
+            c.setFirstName("First" + i);
+            c.setLastName("Last" + (i % 997));
+            c.setEmail("first" + i + ".last@example.com");
+            c.setPhoneNumber("+1-555-010-" + String.format("%04d", i));
+            c.setCustomerType(CustomerType.values()[i % 3]);
+            c.setRegistrationDate(LocalDate.of(2020, 1, 1).plusDays(i));
+            c.setVersion(0L);
+            customers.add(c);
+        }
+        return customers;
+    }
+
+    private static List<Interaction> interactions() {
+        List<Interaction> interactions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Interaction interaction = new Interaction();
+            interaction.setId((long) i + 1);
+            interaction.setCustomerId((long) (i % 50) + 1);
+            interaction.setInteractionType(InteractionType.values()[i % 3]);
+            interaction.setStatus(i % 5 == 0 ? InteractionStatus.OPEN : InteractionStatus.RESOLVED);
+            interaction.setDescription("Customer asked about order #" + (100_000 + i) + " and the delivery window");
+            interaction.setInteractionDate(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i * 37L));
+            interaction.setVersion(0L);
+            interactions.add(interaction);
+        }
+        return interactions;
+    }
+}
@@ -0,0 +1,132 @@
+package com.examly.springapp.benchmark;
+
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.service.InteractionWorkQueue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark -Dtest=WorkQueueClaimBenchmarkTest [-Dbenchmark.items=N]
+//
+// Reps drain a full queue, resolving each claim as they go, with one stripe and with the default striping.
+// A synchronized PriorityQueue with the same ranking is the locked baseline.
+@Tag("benchmark")
+class WorkQueueClaimBenchmarkTest {
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 200_000);
+    private static final int[] REPS = {1, 4, 16, 64};
+    private static final int ROUNDS = 3;
+    private static final CustomerType[] TYPES = CustomerType.values();
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private record Row(long id, CustomerType type, LocalDateTime date) {
+    }
+
+    @Test
+    void compareClaimThroughput() throws Exception {
+        int stripes = Math.max(8, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%nWork queue claims, %,d items, best of %d rounds, %d CPUs%n",
+            ITEMS, ROUNDS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-24s %6s %14s%n", "queue", "reps", "claims/s");
+        for (int reps : REPS) {
+            print("synchronized heap", reps, best(reps, this::lockedQueue));
+            print("skip list, 1 stripe", reps, best(reps, () -> workQueue(1)));
+            print("skip list, " + stripes + " stripes", reps, best(reps, () -> workQueue(stripes)));
+        }
+    }
+
+    private interface Source {
+        LongSupplier fill();
+    }
+
+    private LongSupplier workQueue(int stripes) {
+        InteractionWorkQueue queue = new InteractionWorkQueue();
+        ReflectionTestUtils.setField(queue, "stripeCount", stripes);
+        ReflectionTestUtils.setField(queue, "leaseDuration", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(queue, "reapInterval", Duration.ofHours(1));
+        ReflectionTestUtils.invokeMethod(queue, "start");
+        for (int i = 0; i < ITEMS; i++) {
+            queue.add(i + 1, (long) i, TYPES[i % TYPES.length], START.plusSeconds(i % 10_000));
+        }
+        return () -> {
+            long rep = Thread.currentThread().getId();
+            return queue.claim(rep).map(claim -> {
+                queue.interactionClosed(claim.interactionId());
+                return claim.interactionId();
+            }).orElse(-1L);
+        };
+    }
+
+    private LongSupplier lockedQueue() {
+        PriorityQueue<Row> heap = new PriorityQueue<>(Comparator
+            .comparingInt((Row row) -> row.type().ordinal()).reversed()
+            .thenComparing(Row::date)
+            .thenComparingLong(Row::id));
+        for (int i = 0; i < ITEMS; i++) {
+            heap.add(new Row(i + 1, TYPES[i % TYPES.length], START.plusSeconds(i % 10_000)));
+        }
+        return () -> {
+            synchronized (heap) {
+                Row row = heap.poll();
+                return row == null ? -1L : row.id();
+            }
+        };
+    }
+
+    private static double best(int reps, Source source) throws Exception {
+        double best = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            best = Math.max(best, drain(reps, source.fill()));
+        }
+        return best;
+    }
+
+    private static double drain(int reps, LongSupplier claim) throws Exception {
+        AtomicLong claimed = new AtomicLong();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(reps);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int r = 0; r < reps; r++) {
+                running.add(pool.submit(() -> {
+                    go.await();
+                    long count = 0;
+                    while (claim.getAsLong() >= 0) {
+                        count++;
+                    }
+                    claimed.addAndGet(count);
+                    return null;
+                }));
+            }
+            long start = System.nanoTime();
+            go.countDown();
+            for (Future<?> f : running) {
+                f.get(5, TimeUnit.MINUTES);
+            }
+            long elapsed = System.nanoTime() - start;
+            assertEquals(ITEMS, claimed.get());
+            return ITEMS / (elapsed / 1e9);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void print(String queue, int reps, double claimsPerSecond) {
+        System.out.printf("%-24s %6d %,14.0f%n", queue, reps, claimsPerSecond);
+    }
+}
@@ -0,0 +1,202 @@
+package com.examly.springapp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    // Fails every connection attempt while down, like a replica that has gone away
+    private static final class FlakyDataSource extends DriverManagerDataSource {
+        volatile boolean down;
+
+        FlakyDataSource(String url) {
+            super(url);
+        }
+
+        @Override
+        protected Connection getConnectionFromDriverManager(String url, Properties props) throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnectionFromDriverManager(url, props);
+        }
+    }
+
+    private final FlakyDataSource primary = new FlakyDataSource("jdbc:h2:mem:routing_primary");
+    private final FlakyDataSource replicaA = new FlakyDataSource("jdbc:h2:mem:routing_a");
+    private final FlakyDataSource replicaB = new FlakyDataSource("jdbc:h2:mem:routing_b");
+
+    private ReplicaRoutingDataSource routing(ReplicaRoutingDataSource.Selection selection, Duration retryAfter) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replicaA);
+        replicas.put("replica-2", replicaB);
+        return new ReplicaRoutingDataSource(primary, replicas, selection, retryAfter);
+    }
+
+    @AfterEach
+    void clearTransactionState() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ReplicaRoutingDataSource.markReplicaRead(false);
+    }
+
+    @Test
+    void connectionsOutsideReadOnlyTransactionsGoToThePrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Duration.ofSeconds(30));
+
+        assertEquals("routing_primary", database(routing));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertEquals("routing_primary", database(routing));
+        assertEquals(2L, routing.getStats().get("primaryConnections"));
+    }
+
+    @Test
+    void readOnlyTransactionsNotMarkedAsReplicaReadsGoToThePrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Duration.ofSeconds(30));
+        // What a bare repository call such as findById runs in
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertEquals("routing_primary", database(routing));
+        ReplicaRoutingDataSource.markReplicaRead(true);
+        assertEquals("routing_a", database(routing));
+        // A marked read that joined a read-write transaction stays with it
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertEquals("routing_primary", database(routing));
+        assertEquals(2L, routing.getStats().get("primaryConnections"));
+    }
+
+    @Test
+    void clientDeadlinesAreCappedAtOneWindow() throws Exception {
+        List<Boolean> primary = new ArrayList<>();
+        FilterChain chain = (request, response) -> primary.add(ReadYourWritesFilter.requiresPrimary());
+        MockHttpServletRequest forever = new MockHttpServletRequest("GET", "/api/customers/getAllCustomers");
+        forever.addHeader(ReadYourWritesFilter.HEADER, Long.toString(Long.MAX_VALUE));
+        MockHttpServletRequest foreverCookie = new MockHttpServletRequest("GET", "/api/customers/getAllCustomers");
+        foreverCookie.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(Long.MAX_VALUE)));
+
+        new ReadYourWritesFilter(Duration.ofHours(1)).doFilter(forever, new MockHttpServletResponse(), chain);
+        new ReadYourWritesFilter(Duration.ZERO).doFilter(forever, new MockHttpServletResponse(), chain);
+        new ReadYourWritesFilter(Duration.ZERO).doFilter(foreverCookie, new MockHttpServletResponse(), chain);
+
+        assertEquals(List.of(true, false, false), primary);
+    }
+
+    @Test
+    void roundRobinAlternatesReplicas() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Duration.ofSeconds(30));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.markReplicaRead(true);
+
+        List<String> databases = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            databases.add(database(routing));
+        }
+
+        assertEquals(List.of("routing_a", "routing_b", "routing_a", "routing_b"), databases);
+        assertEquals(0L, routing.getStats().get("primaryConnections"));
+    }
+
+    @Test
+    void leastLoadedPrefersTheReplicaWithFewerOpenConnections() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Selection.LEAST_LOADED, Duration.ofSeconds(30));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.markReplicaRead(true);
+
+        try (Connection held = routing.getConnection()) {
+            String busy = name(held);
+            for (int i = 0; i < 3; i++) {
+                String chosen = database(routing);
+                assertNotEquals(busy, chosen);
+            }
+        }
+        // Both idle again, so they share the reads
+        assertNotEquals(database(routing), database(routing));
+    }
+
+    @Test
+    void unavailableReplicaIsSkippedThenRetried() throws Exception {
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Duration.ofMillis(200));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.markReplicaRead(true);
+        replicaA.down = true;
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("routing_b", database(routing));
+        }
+        assertEquals(1L, replica(routing, 0).get("failures"));
+        assertEquals(false, replica(routing, 0).get("available"));
+
+        replicaA.down = false;
+        Thread.sleep(250);
+        List<String> databases = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            databases.add(database(routing));
+        }
+        assertTrue(databases.contains("routing_a"));
+        assertEquals(true, replica(routing, 0).get("available"));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaIsAvailable() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Duration.ofSeconds(30));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.markReplicaRead(true);
+        replicaA.down = true;
+        replicaB.down = true;
+
+        assertEquals("routing_primary", database(routing));
+        assertEquals("routing_primary", database(routing));
+        assertEquals(2L, routing.getStats().get("fallbackReads"));
+        assertEquals(1L, replica(routing, 0).get("failures"));
+        assertEquals(1L, replica(routing, 1).get("failures"));
+    }
+
+    @Test
+    void closingAReplicaConnectionReleasesItsLoad() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Selection.LEAST_LOADED, Duration.ofSeconds(30));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.markReplicaRead(true);
+
+        Connection connection = routing.getConnection();
+        int replica = name(connection).equals("routing_a") ? 0 : 1;
+        assertEquals(1, replica(routing, replica).get("inUse"));
+        connection.close();
+        connection.close();
+        assertEquals(0, replica(routing, replica).get("inUse"));
+    }
+
+    private static String database(ReplicaRoutingDataSource routing) throws SQLException {
+        try (Connection connection = routing.getConnection()) {
+            return name(connection);
+        }
+    }
+
+    private static String name(Connection connection) throws SQLException {
+        String url = connection.getMetaData().getURL();
+        return url.substring(url.lastIndexOf(':') + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> replica(ReplicaRoutingDataSource routing, int index) {
+        return ((List<Map<String, Object>>) routing.getStats().get("replicas")).get(index);
+    }
+}
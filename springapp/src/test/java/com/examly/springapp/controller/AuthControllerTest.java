@@ -0,0 +1,215 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.config.AdminBootstrap;
+import com.examly.springapp.model.User;
+import com.examly.springapp.model.UserRole;
+import com.examly.springapp.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AuthControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AdminBootstrap adminBootstrap;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("testRegisterStoresHashAndHidesPassword")
+    void testRegisterStoresHashAndHidesPassword() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("hashed", "hashed@example.com", "s3cret!")))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.user.username").value("hashed"))
+            .andExpect(jsonPath("$.user.password").doesNotExist());
+
+        String stored = userRepository.findByUsername("hashed").orElseThrow().getPassword();
+        assertNotEquals("s3cret!", stored);
+        assertTrue(stored.startsWith("$2"));
+    }
+
+    @Test
+    @DisplayName("testRegisterIgnoresRoleAndIdFromTheBody")
+    void testRegisterIgnoresRoleAndIdFromTheBody() throws Exception {
+        User existing = new User();
+        existing.setUsername("admin");
+        existing.setEmail("admin@example.com");
+        existing.setPassword("unused");
+        existing.setRole(UserRole.ADMIN);
+        Long adminId = userRepository.save(existing).getId();
+
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":" + adminId + ",\"username\":\"climber\",\"email\":\"climber@example.com\","
+                    + "\"password\":\"pw\",\"role\":\"ADMIN\"}"))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.user.role").value("ANALYST"));
+
+        assertEquals(UserRole.ADMIN, userRepository.findById(adminId).orElseThrow().getRole());
+        assertEquals("admin", userRepository.findById(adminId).orElseThrow().getUsername());
+        User climber = userRepository.findByUsername("climber").orElseThrow();
+        assertNotEquals(adminId, climber.getId());
+        assertEquals(UserRole.ANALYST, climber.getRole());
+    }
+
+    @Test
+    @DisplayName("testLoginIssuesTokenAcceptedWithoutLookup")
+    void testLoginIssuesTokenAcceptedWithoutLookup() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("tokened", "tokened@example.com", "pa55word")))
+            .andExpect(status().isCreated());
+
+        String body = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"tokened\",\"password\":\"pa55word\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token").isString())
+            .andExpect(jsonPath("$.expiresAt").exists())
+            .andExpect(jsonPath("$.user.password").doesNotExist())
+            .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("token").asText();
+
+        // The token stays valid even once the row is gone: nothing is looked up per request
+        userRepository.deleteAllInBatch();
+        mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.username").value("tokened"))
+            .andExpect(jsonPath("$.role").value("ANALYST"));
+
+        mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/auth/me"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("testWrongPasswordAndUnknownUserAreRejected")
+    void testWrongPasswordAndUnknownUserAreRejected() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("careful", "careful@example.com", "right")))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"careful\",\"password\":\"wrong\"}"))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.message").value("Invalid credentials"));
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"nobody\",\"password\":\"right\"}"))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.message").value("Invalid credentials"));
+    }
+
+    @Test
+    @DisplayName("testPlaintextPasswordIsUpgradedOnLogin")
+    void testPlaintextPasswordIsUpgradedOnLogin() throws Exception {
+        User legacy = new User();
+        legacy.setUsername("legacy");
+        legacy.setEmail("legacy@example.com");
+        legacy.setPassword("old-plaintext");
+        legacy.setRole(UserRole.ADMIN);
+        userRepository.save(legacy);
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"legacy\",\"password\":\"old-plaintext\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token", not(emptyString())));
+
+        assertTrue(userRepository.findByUsername("legacy").orElseThrow().getPassword().startsWith("$2"));
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"legacy\",\"password\":\"old-plaintext\"}"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("testBootstrapAdminGrantsSalesRepWhoCanClaimWork")
+    void testBootstrapAdminGrantsSalesRepWhoCanClaimWork() throws Exception {
+        register("boss", "boss@example.com", "boss-pw");
+        Long repId = register("rep", "rep@example.com", "rep-pw");
+        ReflectionTestUtils.setField(adminBootstrap, "username", "boss");
+        try {
+            adminBootstrap.run(null);
+        } finally {
+            ReflectionTestUtils.setField(adminBootstrap, "username", "");
+        }
+        String admin = login("boss", "boss-pw");
+        String analyst = login("rep", "rep-pw");
+
+        mockMvc.perform(post("/api/work-queue/claim").header(HttpHeaders.AUTHORIZATION, analyst))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/auth/users/" + repId + "/role").header(HttpHeaders.AUTHORIZATION, analyst)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"role\":\"SALES_REP\"}"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/auth/users/" + repId + "/role").header(HttpHeaders.AUTHORIZATION, admin)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"role\":\"OWNER\"}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/auth/users/" + repId + "/role").header(HttpHeaders.AUTHORIZATION, admin)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"role\":\"SALES_REP\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.user.role").value("SALES_REP"));
+
+        String salesRep = login("rep", "rep-pw");
+        mockMvc.perform(post("/api/work-queue/claim").header(HttpHeaders.AUTHORIZATION, salesRep))
+            .andExpect(status().is2xxSuccessful());
+    }
+
+    private Long register(String username, String email, String password) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson(username, email, password)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("user").get("id").asLong();
+    }
+
+    private String login(String username, String password) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(body).get("token").asText();
+    }
+
+    private static String userJson(String username, String email, String password) {
+        return "{\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"password\":\"" + password + "\",\"role\":\"SALES_REP\"}";
+    }
+}
@@ -0,0 +1,215 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.ChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Real connections against Tomcat, since MockMvc does not hold thousands of open async responses
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ChangeFeedTest {
+    private static final int EVERYTHING_SUBSCRIBERS = 1500;
+    private static final int CUSTOMER_SUBSCRIBERS = 500;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final List<Stream> streams = new ArrayList<>();
+    private Long customerId;
+
+    // Collects the SSE lines of one open response without a thread per connection
+    private static class Stream implements Flow.Subscriber<String> {
+        final List<String> lines = new CopyOnWriteArrayList<>();
+        final CountDownLatch subscribed = new CountDownLatch(1);
+        final CountDownLatch events;
+        final CountDownLatch ended = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile boolean cancelled;
+        CompletableFuture<?> response;
+
+        Stream(int expectedEvents) {
+            events = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            lines.add(line);
+            if (line.startsWith(":")) {
+                subscribed.countDown();
+            } else if (line.startsWith("event:")) {
+                events.countDown();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            ended.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            ended.countDown();
+        }
+
+        void cancel() {
+            cancelled = true;
+            subscription.cancel();
+        }
+
+        List<String> eventNames() {
+            return lines.stream().filter(line -> line.startsWith("event:")).map(line -> line.substring(6)).toList();
+        }
+
+        String lastId() {
+            return lines.stream().filter(line -> line.startsWith("id:")).reduce((a, b) -> b).map(line -> line.substring(3)).orElse(null);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        Customer c = new Customer();
+        c.setFirstName("Feed");
+        c.setLastName("Topic");
+        c.setEmail("feed@example.com");
+        c.setCustomerType(CustomerType.PREMIUM);
+        c.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        customerId = customerRepository.save(c).getId();
+    }
+
+    // Ends the streams from the server side, as shutdown does, so no response is left open for graceful shutdown
+    // to wait on
+    @AfterEach
+    void tearDown() throws Exception {
+        changeFeed.stop();
+        try {
+            for (Stream stream : streams) {
+                assertTrue(stream.cancelled || stream.ended.await(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            for (Stream stream : streams) {
+                stream.response.cancel(true);
+            }
+            changeFeed.start();
+        }
+    }
+
+    @Test
+    @DisplayName("testThousandsOfSubscribersReceiveTheirEvents")
+    void testThousandsOfSubscribersReceiveTheirEvents() throws Exception {
+        int before = (int) changeFeed.getStats().get("subscribers");
+        List<Stream> everything = new ArrayList<>();
+        List<Stream> topic = new ArrayList<>();
+        for (int i = 0; i < EVERYTHING_SUBSCRIBERS + CUSTOMER_SUBSCRIBERS; i++) {
+            boolean all = i < EVERYTHING_SUBSCRIBERS;
+            Stream stream = open(all ? "" : "?customerId=" + customerId, null, all ? 2 : 1);
+            (all ? everything : topic).add(stream);
+        }
+        for (Stream stream : streams) {
+            assertTrue(stream.subscribed.await(30, TimeUnit.SECONDS));
+        }
+        assertEquals(before + EVERYTHING_SUBSCRIBERS + CUSTOMER_SUBSCRIBERS, changeFeed.getStats().get("subscribers"));
+
+        assertEquals(201, post("/api/customers/addCustomer",
+            "{\"firstName\":\"New\",\"lastName\":\"Lead\",\"email\":\"lead@example.com\",\"customerType\":\"REGULAR\"}"));
+        assertEquals(201, post("/api/interactions",
+            "{\"customerId\":" + customerId + ",\"interactionType\":\"INQUIRY\",\"status\":\"OPEN\"}"));
+
+        for (Stream stream : everything) {
+            assertTrue(stream.events.await(30, TimeUnit.SECONDS));
+            assertEquals(List.of("customer.created", "interaction.created"), stream.eventNames());
+        }
+        for (Stream stream : topic) {
+            assertTrue(stream.events.await(30, TimeUnit.SECONDS));
+        }
+        // The other customer's creation never reaches this topic
+        Thread.sleep(100);
+        for (Stream stream : topic) {
+            assertEquals(List.of("interaction.created"), stream.eventNames());
+        }
+    }
+
+    @Test
+    @DisplayName("testReconnectWithLastEventIdReplaysMissedEvents")
+    void testReconnectWithLastEventIdReplaysMissedEvents() throws Exception {
+        Stream first = open("?customerId=" + customerId, null, 1);
+        assertTrue(first.subscribed.await(10, TimeUnit.SECONDS));
+        post("/api/interactions", "{\"customerId\":" + customerId + ",\"interactionType\":\"INQUIRY\",\"status\":\"OPEN\"}");
+        assertTrue(first.events.await(10, TimeUnit.SECONDS));
+        String lastId = first.lastId();
+        first.cancel();
+
+        // Changes made while disconnected
+        post("/api/interactions", "{\"customerId\":" + customerId + ",\"interactionType\":\"PURCHASE\",\"status\":\"OPEN\"}");
+        post("/api/customers/addCustomer",
+            "{\"firstName\":\"Other\",\"lastName\":\"Lead\",\"email\":\"other@example.com\",\"customerType\":\"REGULAR\"}");
+
+        Stream resumed = open("?customerId=" + customerId, lastId, 1);
+        assertTrue(resumed.events.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("interaction.created"), resumed.eventNames());
+        assertTrue(Long.parseLong(resumed.lastId()) > Long.parseLong(lastId));
+
+        Stream stale = open("", "999999999", 1);
+        assertTrue(stale.events.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("reset"), stale.eventNames());
+    }
+
+    private Stream open(String query, String lastEventId, int expectedEvents) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/changes" + query))
+            .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        Stream stream = new Stream(expectedEvents);
+        stream.response = http.sendAsync(request.build(), HttpResponse.BodyHandlers.fromLineSubscriber(stream));
+        streams.add(stream);
+        return stream;
+    }
+
+    private int post(String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,136 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ConditionalGetTest {
+    private static final String CUSTOMERS = "/api/customers/getAllCustomers?size=10";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        Customer c = new Customer();
+        c.setFirstName("Etag");
+        c.setLastName("Tester");
+        c.setEmail("etag@example.com");
+        c.setCustomerType(CustomerType.REGULAR);
+        c.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        customerId = customerRepository.save(c).getId();
+    }
+
+    @Test
+    @DisplayName("testUnchangedCustomerListIsNotModifiedWithoutQueries")
+    void testUnchangedCustomerListIsNotModifiedWithoutQueries() throws Exception {
+        String etag = etagOf(CUSTOMERS);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        mockMvc.perform(get(CUSTOMERS).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+        assertEquals(statements, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/api/customers/getAllCustomers").param("mode", "CURSOR").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("testCustomerListEtagChangesOnCreateAndDelete")
+    void testCustomerListEtagChangesOnCreateAndDelete() throws Exception {
+        String before = etagOf(CUSTOMERS);
+        mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"New\",\"lastName\":\"Person\",\"email\":\"etag-new@example.com\",\"customerType\":\"VIP\"}"))
+            .andExpect(status().isCreated());
+        String afterCreate = etagOf(CUSTOMERS);
+        assertNotEquals(before, afterCreate);
+        mockMvc.perform(get(CUSTOMERS).header(HttpHeaders.IF_NONE_MATCH, before)).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/customers/deleteCustomer/" + customerId)).andExpect(status().isOk());
+        assertNotEquals(afterCreate, etagOf(CUSTOMERS));
+    }
+
+    @Test
+    @DisplayName("testInteractionListEtagChangesOnCreateUpdateAndDelete")
+    void testInteractionListEtagChangesOnCreateUpdateAndDelete() throws Exception {
+        String uri = "/api/customers/" + customerId + "/interactions";
+        String empty = etagOf(uri);
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, empty)).andExpect(status().isNotModified());
+
+        String created = mockMvc.perform(post("/api/interactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":" + customerId + ",\"interactionType\":\"INQUIRY\",\"status\":\"OPEN\",\"description\":\"Hi\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        String afterCreate = etagOf(uri);
+        assertNotEquals(empty, afterCreate);
+
+        long interactionId = Long.parseLong(created.replaceAll(".*\"id\":(\\d+).*", "$1"));
+        mockMvc.perform(put("/api/interactions/" + interactionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"interactionType\":\"INQUIRY\",\"status\":\"RESOLVED\",\"description\":\"Done\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(1));
+        String afterUpdate = etagOf(uri);
+        assertNotEquals(afterCreate, afterUpdate);
+
+        mockMvc.perform(delete("/api/customers/deleteCustomer/" + customerId)).andExpect(status().isOk());
+        assertNotEquals(afterUpdate, etagOf(uri));
+    }
+
+    @Test
+    @DisplayName("testSingleCustomerEtagFollowsVersion")
+    void testSingleCustomerEtagFollowsVersion() throws Exception {
+        String uri = "/api/customers/getCustomer/" + customerId;
+        String etag = etagOf(uri);
+        assertEquals("\"customer-" + customerId + "-0\"", etag);
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    private String etagOf(String uri) throws Exception {
+        String etag = mockMvc.perform(get(uri))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+}
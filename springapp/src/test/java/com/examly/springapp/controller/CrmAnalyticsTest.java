@@ -0,0 +1,254 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CrmAnalytics;
+import com.examly.springapp.service.InteractionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CrmAnalyticsTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private InteractionService interactionService;
+
+    @Autowired
+    private CrmAnalytics crmAnalytics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        // The bulk deletes above bypass the services, so start each test from a fresh count
+        crmAnalytics.rebuild();
+    }
+
+    @Test
+    @DisplayName("testCountersFollowWrites")
+    void testCountersFollowWrites() throws Exception {
+        long vip = createCustomer("vip@example.com", "VIP");
+        createCustomer("regular@example.com", "REGULAR");
+        long first = createInteraction(vip, "PURCHASE", "OPEN");
+        createInteraction(vip, "PURCHASE", "OPEN");
+        createInteraction(vip, "INQUIRY", "OPEN");
+
+        mockMvc.perform(put("/api/interactions/" + first)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"interactionType\":\"PURCHASE\",\"status\":\"RESOLVED\",\"description\":\"done\"}"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/analytics").param("days", "7"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customers.total").value(2))
+            .andExpect(jsonPath("$.customers.byType.VIP").value(1))
+            .andExpect(jsonPath("$.customers.byType.REGULAR").value(1))
+            .andExpect(jsonPath("$.customers.byType.PREMIUM").value(0))
+            .andExpect(jsonPath("$.interactions.total").value(3))
+            .andExpect(jsonPath("$.interactions.byStatus.OPEN").value(2))
+            .andExpect(jsonPath("$.interactions.byStatus.RESOLVED").value(1))
+            .andExpect(jsonPath("$.interactions.byType.PURCHASE.OPEN").value(1))
+            .andExpect(jsonPath("$.interactions.byType.PURCHASE.RESOLVED").value(1))
+            .andExpect(jsonPath("$.interactions.byType.INQUIRY.OPEN").value(1))
+            .andExpect(jsonPath("$.dailyInteractions", hasSize(7)))
+            .andExpect(jsonPath("$.dailyInteractions[6].date").value(LocalDate.now().toString()))
+            .andExpect(jsonPath("$.dailyInteractions[6].total").value(3))
+            .andExpect(jsonPath("$.dailyInteractions[6].byType.PURCHASE").value(2))
+            .andExpect(jsonPath("$.rollups.today").value(3))
+            .andExpect(jsonPath("$.rollups.last7Days").value(3));
+    }
+
+    @Test
+    @DisplayName("testDeleteSubtractsCustomerAndInteractions")
+    void testDeleteSubtractsCustomerAndInteractions() throws Exception {
+        long kept = createCustomer("kept@example.com", "PREMIUM");
+        long removed = createCustomer("removed@example.com", "VIP");
+        createInteraction(kept, "RETURN", "OPEN");
+        createInteraction(removed, "RETURN", "OPEN");
+        createInteraction(removed, "INQUIRY", "RESOLVED");
+
+        mockMvc.perform(delete("/api/customers/deleteCustomer/" + removed)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/analytics"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customers.total").value(1))
+            .andExpect(jsonPath("$.customers.byType.VIP").value(0))
+            .andExpect(jsonPath("$.interactions.total").value(1))
+            .andExpect(jsonPath("$.interactions.byType.RETURN.OPEN").value(1))
+            .andExpect(jsonPath("$.interactions.byType.INQUIRY.RESOLVED").value(0))
+            .andExpect(jsonPath("$.dailyInteractions", hasSize(30)))
+            .andExpect(jsonPath("$.rollups.today").value(1));
+    }
+
+    @Test
+    @DisplayName("testRebuildCountsRowsWrittenOutsideTheServices")
+    void testRebuildCountsRowsWrittenOutsideTheServices() throws Exception {
+        Customer customer = new Customer();
+        customer.setFirstName("Raw");
+        customer.setLastName("Row");
+        customer.setEmail("raw@example.com");
+        customer.setCustomerType(CustomerType.PREMIUM);
+        customer.setRegistrationDate(LocalDate.now());
+        customer = customerRepository.save(customer);
+        for (int daysAgo = 0; daysAgo < 3; daysAgo++) {
+            Interaction interaction = new Interaction();
+            interaction.setCustomerId(customer.getId());
+            interaction.setInteractionType(InteractionType.INQUIRY);
+            interaction.setStatus(InteractionStatus.RESOLVED);
+            interaction.setInteractionDate(LocalDateTime.now().minusDays(daysAgo));
+            interactionRepository.save(interaction);
+        }
+        // Older than the retention window: counted in the totals but not in the daily buckets
+        Interaction old = new Interaction();
+        old.setCustomerId(customer.getId());
+        old.setInteractionType(InteractionType.INQUIRY);
+        old.setStatus(InteractionStatus.RESOLVED);
+        old.setInteractionDate(LocalDateTime.now().minusDays(400));
+        interactionRepository.save(old);
+
+        mockMvc.perform(get("/api/analytics"))
+            .andExpect(jsonPath("$.customers.total").value(0));
+
+        crmAnalytics.rebuild();
+
+        mockMvc.perform(get("/api/analytics").param("days", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customers.byType.PREMIUM").value(1))
+            .andExpect(jsonPath("$.interactions.byType.INQUIRY.RESOLVED").value(4))
+            .andExpect(jsonPath("$.dailyInteractions[*].total", contains(1, 1, 1)))
+            .andExpect(jsonPath("$.rollups.last30Days").value(3));
+    }
+
+    @Test
+    @DisplayName("testConcurrentWritersAreAllCounted")
+    void testConcurrentWritersAreAllCounted() throws Exception {
+        long customerId = createCustomer("busy@example.com", "REGULAR");
+        int threads = 8;
+        int perThread = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        Interaction interaction = new Interaction();
+                        interaction.setCustomerId(customerId);
+                        interaction.setInteractionType(InteractionType.PURCHASE);
+                        interaction.setStatus(InteractionStatus.OPEN);
+                        interactionService.createInteraction(interaction);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        mockMvc.perform(get("/api/analytics"))
+            .andExpect(jsonPath("$.interactions.byType.PURCHASE.OPEN").value(threads * perThread))
+            .andExpect(jsonPath("$.rollups.today").value(threads * perThread));
+    }
+
+    @Test
+    @DisplayName("testRebuildDuringWritesCountsEachWriteOnce")
+    void testRebuildDuringWritesCountsEachWriteOnce() throws Exception {
+        long customerId = createCustomer("rebuild@example.com", "REGULAR");
+        int threads = 4;
+        int perThread = 150;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        Interaction interaction = new Interaction();
+                        interaction.setCustomerId(customerId);
+                        interaction.setInteractionType(InteractionType.RETURN);
+                        interaction.setStatus(InteractionStatus.OPEN);
+                        interactionService.createInteraction(interaction);
+                    }
+                }));
+            }
+            // Rebuild repeatedly while the writers commit, so some commits land inside each scan
+            while (!futures.stream().allMatch(Future::isDone)) {
+                crmAnalytics.rebuild();
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        mockMvc.perform(get("/api/analytics"))
+            .andExpect(jsonPath("$.customers.total").value(1))
+            .andExpect(jsonPath("$.interactions.byType.RETURN.OPEN").value(threads * perThread))
+            .andExpect(jsonPath("$.rollups.today").value(threads * perThread));
+    }
+
+    @Test
+    @DisplayName("testDaysOutOfRange")
+    void testDaysOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/analytics").param("days", "0"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", containsString("days")));
+    }
+
+    private long createCustomer(String email, String type) throws Exception {
+        String body = mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Count\",\"lastName\":\"Me\",\"email\":\"" + email + "\",\"customerType\":\"" + type + "\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private long createInteraction(long customerId, String type, String status) throws Exception {
+        String body = mockMvc.perform(post("/api/interactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":" + customerId + ",\"interactionType\":\"" + type + "\",\"status\":\"" + status + "\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,130 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"crm.delete.chunk-size=1000", "crm.delete.customer-batch-size=2"})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerBulkDeleteTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("testDeleteCustomerWithLargeHistoryUsesChunks")
+    void testDeleteCustomerWithLargeHistoryUsesChunks() throws Exception {
+        long big = customer("big@example.com", 12_345);
+        long other = customer("other@example.com", 10);
+
+        mockMvc.perform(delete("/api/customers/deleteCustomer/" + big))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.message").value("Customer deleted successfully"))
+            .andExpect(jsonPath("$.interactionsDeleted").value(12_345))
+            .andExpect(jsonPath("$.elapsedMillis").isNumber());
+
+        assertFalse(customerRepository.existsById(big));
+        assertEquals(10, interactionRepository.count());
+        assertEquals(10, interactionRepository.findByCustomerId(other).size());
+        mockMvc.perform(get("/api/customers/getCustomer/" + big)).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/customers/deleteCustomer/" + big)).andExpect(status().isNotFound());
+        assertEquals(10, interactionRepository.count());
+    }
+
+    @Test
+    @DisplayName("testMassDeleteReportsRowsAndMissingIds")
+    void testMassDeleteReportsRowsAndMissingIds() throws Exception {
+        long a = customer("a@example.com", 2_500);
+        long b = customer("b@example.com", 0);
+        long c = customer("c@example.com", 700);
+        long keep = customer("keep@example.com", 5);
+        long missing = keep + 1_000;
+
+        mockMvc.perform(post("/api/customers/deleteCustomers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + a + "," + b + "," + c + "," + missing + "," + a + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.requested").value(4))
+            .andExpect(jsonPath("$.customersDeleted").value(3))
+            .andExpect(jsonPath("$.interactionsDeleted").value(3_200))
+            .andExpect(jsonPath("$.notFound", contains((int) missing)))
+            .andExpect(jsonPath("$.statements", greaterThanOrEqualTo(4)))
+            .andExpect(jsonPath("$.elapsedMillis").isNumber());
+
+        assertEquals(1, customerRepository.count());
+        assertEquals(5, interactionRepository.count());
+        mockMvc.perform(post("/api/interactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":" + a + ",\"interactionType\":\"INQUIRY\",\"status\":\"OPEN\"}"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("testMassDeleteRejectsEmptyList")
+    void testMassDeleteRejectsEmptyList() throws Exception {
+        mockMvc.perform(post("/api/customers/deleteCustomers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("No customer ids given"));
+    }
+
+    private long customer(String email, int interactions) {
+        Customer customer = new Customer();
+        customer.setFirstName("Bulk");
+        customer.setLastName("Delete");
+        customer.setEmail(email);
+        customer.setCustomerType(CustomerType.REGULAR);
+        customer.setRegistrationDate(LocalDate.now());
+        long id = customerRepository.save(customer).getId();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO interactions (customer_id, interaction_type, description, status, interaction_date) VALUES (?, ?, ?, ?, ?)",
+            Collections.nCopies(interactions, id), 1000, (ps, customerId) -> {
+                ps.setLong(1, customerId);
+                ps.setString(2, InteractionType.INQUIRY.name());
+                ps.setString(3, "history");
+                ps.setString(4, InteractionStatus.RESOLVED.name());
+                ps.setTimestamp(5, now);
+            });
+        return id;
+    }
+}
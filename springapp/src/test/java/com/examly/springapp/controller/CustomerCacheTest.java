@@ -0,0 +1,148 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CustomerCache;
+import com.examly.springapp.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerCacheTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("testRepeatedReadsAreServedFromCache")
+    void testRepeatedReadsAreServedFromCache() throws Exception {
+        Long id = createCustomer("cached@example.com");
+        long hitsBefore = (long) customerCache.getStats().get("hitCount");
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/customers/getCustomer/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("cached@example.com"));
+        }
+
+        mockMvc.perform(get("/api/customers/cache/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hitRate").isNumber())
+            .andExpect(jsonPath("$.evictionCount").isNumber());
+        assertEquals(hitsBefore + 5, (long) customerCache.getStats().get("hitCount"));
+    }
+
+    @Test
+    @DisplayName("testNoStaleReadAfterDelete")
+    void testNoStaleReadAfterDelete() throws Exception {
+        Long id = createCustomer("gone@example.com");
+        mockMvc.perform(get("/api/customers/getCustomer/" + id)).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/customers/deleteCustomer/" + id)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/customers/getCustomer/" + id))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("testNoStaleReadAfterDeleteUnderConcurrentReaders")
+    void testNoStaleReadAfterDeleteUnderConcurrentReaders() throws Exception {
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 20; round++) {
+                Long id = createCustomer("race" + round + "@example.com");
+                AtomicBoolean stop = new AtomicBoolean();
+                List<Future<?>> running = new ArrayList<>();
+                for (int r = 0; r < 8; r++) {
+                    running.add(readers.submit(() -> {
+                        while (!stop.get()) {
+                            customerService.getCustomerById(id);
+                        }
+                    }));
+                }
+                customerService.deleteCustomer(id);
+                // Readers keep racing after the delete; none of them may repopulate the entry
+                Thread.sleep(5);
+                stop.set(true);
+                for (Future<?> f : running) {
+                    f.get(5, TimeUnit.SECONDS);
+                }
+                assertTrue(customerService.getCustomerById(id).isEmpty(), "stale customer served in round " + round);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("testLookupOfUnknownIdDoesNotShadowLaterCreate")
+    void testLookupOfUnknownIdDoesNotShadowLaterCreate() throws Exception {
+        Long id = createCustomer("first@example.com");
+        Long nextId = id + 1;
+        mockMvc.perform(get("/api/customers/getCustomer/" + nextId)).andExpect(status().isNotFound());
+
+        Long created = createCustomer("second@example.com");
+        assertEquals(nextId, created);
+        mockMvc.perform(get("/api/customers/getCustomer/" + created))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value("second@example.com"));
+    }
+
+    private Long createCustomer(String email) throws Exception {
+        Customer customer = new Customer();
+        customer.setFirstName("Cache");
+        customer.setLastName("Test");
+        customer.setEmail(email);
+        customer.setCustomerType(CustomerType.PREMIUM);
+        String body = mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(customer)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
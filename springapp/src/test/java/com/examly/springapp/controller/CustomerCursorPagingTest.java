@@ -0,0 +1,140 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerCursorPagingTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        String[] lastNames = {"Baker", "Adams", "Clark", "Adams", "Evans", "Davis", "Baker"};
+        for (int i = 0; i < lastNames.length; i++) {
+            Customer c = new Customer();
+            c.setFirstName("First" + i);
+            c.setLastName(lastNames[i]);
+            c.setEmail("cursor" + i + "@example.com");
+            c.setCustomerType(CustomerType.REGULAR);
+            c.setRegistrationDate(LocalDate.of(2024, 1, 1).plusDays(i % 3));
+            customerRepository.save(c);
+        }
+    }
+
+    @Test
+    @DisplayName("testCursorModeWalksAllCustomersById")
+    void testCursorModeWalksAllCustomersById() throws Exception {
+        List<String> emails = walk("ID");
+        assertEquals(7, emails.size());
+        for (int i = 0; i < emails.size(); i++) {
+            assertEquals("cursor" + i + "@example.com", emails.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("testCursorModeByLastNameHasNoDuplicatesOrGaps")
+    void testCursorModeByLastNameHasNoDuplicatesOrGaps() throws Exception {
+        List<String> emails = walk("LAST_NAME");
+        assertEquals(7, emails.size());
+        assertEquals(7, emails.stream().distinct().count());
+        assertEquals(List.of("cursor1@example.com", "cursor3@example.com"), emails.subList(0, 2));
+    }
+
+    @Test
+    @DisplayName("testCursorModeByRegistrationDate")
+    void testCursorModeByRegistrationDate() throws Exception {
+        List<String> emails = walk("REGISTRATION_DATE");
+        assertEquals(List.of("cursor0@example.com", "cursor3@example.com", "cursor6@example.com"), emails.subList(0, 3));
+        assertEquals(7, emails.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("testCursorModeSkipsCountUnlessRequested")
+    void testCursorModeSkipsCountUnlessRequested() throws Exception {
+        mockMvc.perform(get("/api/customers/getAllCustomers").param("mode", "CURSOR").param("size", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customers", hasSize(3)))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+            .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/api/customers/getAllCustomers").param("mode", "CURSOR").param("includeTotal", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(7));
+    }
+
+    @Test
+    @DisplayName("testCursorModeRejectsTamperedCursor")
+    void testCursorModeRejectsTamperedCursor() throws Exception {
+        mockMvc.perform(get("/api/customers/getAllCustomers").param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("testOffsetModeUnchanged")
+    void testOffsetModeUnchanged() throws Exception {
+        mockMvc.perform(get("/api/customers/getAllCustomers").param("page", "1").param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customers", hasSize(2)))
+            .andExpect(jsonPath("$.totalElements").value(7))
+            .andExpect(jsonPath("$.totalPages").value(2))
+            .andExpect(jsonPath("$.currentPage").value(1));
+    }
+
+    private List<String> walk(String sort) throws Exception {
+        List<String> emails = new ArrayList<>();
+        String cursor = "";
+        for (int guard = 0; guard < 10; guard++) {
+            String body = mockMvc.perform(get("/api/customers/getAllCustomers")
+                    .param("cursor", cursor)
+                    .param("size", "2")
+                    .param("sort", sort))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            page.get("customers").forEach(c -> emails.add(c.get("email").asText()));
+            if (!page.get("hasNext").asBoolean()) {
+                return emails;
+            }
+            cursor = page.get("nextCursor").asText();
+        }
+        fail("cursor walk did not terminate");
+        return emails;
+    }
+}
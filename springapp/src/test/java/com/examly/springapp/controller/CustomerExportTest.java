@@ -0,0 +1,198 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CustomerExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerExportTest {
+    private static final int LARGE_DATASET = 50_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private CustomerExportService customerExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("testSimpleListStreamsJsonArray")
+    void testSimpleListStreamsJsonArray() throws Exception {
+        saveCustomer("Ada", "Lovelace", "ada@example.com");
+        saveCustomer("Alan", "Turing", "alan@example.com");
+
+        MvcResult started = mockMvc.perform(get("/api/customers/getAllCustomersSimple"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].email").value("ada@example.com"))
+            .andExpect(jsonPath("$[1].lastName").value("Turing"));
+    }
+
+    @Test
+    @DisplayName("testExportNdjson")
+    void testExportNdjson() throws Exception {
+        saveCustomer("Ada", "Lovelace", "ada@example.com");
+        saveCustomer("Alan", "Turing", "alan@example.com");
+
+        MvcResult started = mockMvc.perform(get("/api/customers/export").param("format", "NDJSON"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{"));
+        assertTrue(lines[1].startsWith("{"));
+        assertTrue(lines[0].contains("\"email\":\"ada@example.com\""));
+        assertTrue(lines[1].contains("\"email\":\"alan@example.com\""));
+    }
+
+    @Test
+    @DisplayName("testExportCsvEscapesValues")
+    void testExportCsvEscapesValues() throws Exception {
+        saveCustomer("Smith, Jr.", "O\"Brien", "quoted@example.com");
+
+        MvcResult started = mockMvc.perform(get("/api/customers/export").param("format", "CSV"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Disposition", containsString("customers.csv")))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals("id,firstName,lastName,email,phoneNumber,customerType,registrationDate", lines[0]);
+        assertTrue(lines[1].contains(",\"Smith, Jr.\",\"O\"\"Brien\",quoted@example.com,,VIP,"));
+    }
+
+    @Test
+    @DisplayName("testExportUnsupportedFormat")
+    void testExportUnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/customers/export").param("format", "XML"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", containsString("Invalid format")));
+    }
+
+    @Test
+    @DisplayName("testExportLargeDatasetKeepsPersistenceContextFlat")
+    void testExportLargeDatasetKeepsPersistenceContextFlat() throws Exception {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO customers (first_name, last_name, email, phone_number, customer_type, registration_date) VALUES (?, ?, ?, ?, ?, ?)",
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, "First" + i);
+                    ps.setString(2, "Last" + i);
+                    ps.setString(3, "bulk" + i + "@example.com");
+                    ps.setString(4, "555" + i);
+                    ps.setString(5, CustomerType.REGULAR.name());
+                    ps.setObject(6, LocalDate.now());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return LARGE_DATASET;
+                }
+            });
+
+        // Peak number of entities held by the export's persistence context while it runs
+        AtomicInteger peakManaged = new AtomicInteger();
+        long visited = customerExportService.forEachCustomer(customer -> {
+            int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+            peakManaged.accumulateAndGet(managed, Math::max);
+        });
+        assertEquals(LARGE_DATASET, visited);
+        assertTrue(peakManaged.get() <= 1, "persistence context grew to " + peakManaged.get() + " entities");
+
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong newlines = new AtomicLong();
+        OutputStream counting = new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes.incrementAndGet();
+                if (b == '\n') {
+                    newlines.incrementAndGet();
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes.addAndGet(len);
+                for (int i = off; i < off + len; i++) {
+                    if (b[i] == '\n') {
+                        newlines.incrementAndGet();
+                    }
+                }
+            }
+        };
+        assertEquals(LARGE_DATASET, customerExportService.writeNdjson(counting));
+        assertEquals(LARGE_DATASET, newlines.get());
+        assertTrue(bytes.get() > 0);
+    }
+
+    private void saveCustomer(String firstName, String lastName, String email) {
+        Customer customer = new Customer();
+        customer.setFirstName(firstName);
+        customer.setLastName(lastName);
+        customer.setEmail(email);
+        customer.setCustomerType(CustomerType.VIP);
+        customer.setRegistrationDate(LocalDate.now());
+        customerRepository.save(customer);
+    }
+}
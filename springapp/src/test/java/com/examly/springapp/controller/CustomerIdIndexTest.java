@@ -0,0 +1,100 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CustomerIdIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerIdIndexTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private CustomerIdIndex customerIdIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("testInteractionForKnownCustomerSkipsDatabaseCheck")
+    void testInteractionForKnownCustomerSkipsDatabaseCheck() throws Exception {
+        long customerId = createCustomer("indexed@example.com");
+        long databaseLookups = (long) customerIdIndex.getStats().get("databaseLookups");
+
+        mockMvc.perform(post("/api/interactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(interactionJson(customerId)))
+            .andExpect(status().isCreated());
+
+        assertEquals(true, customerIdIndex.getStats().get("loaded"));
+        assertEquals(databaseLookups, (long) customerIdIndex.getStats().get("databaseLookups"));
+    }
+
+    @Test
+    @DisplayName("testInteractionForDeletedCustomerIsRejected")
+    void testInteractionForDeletedCustomerIsRejected() throws Exception {
+        long customerId = createCustomer("deleted@example.com");
+        mockMvc.perform(delete("/api/customers/deleteCustomer/" + customerId)).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/interactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(interactionJson(customerId)))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.message").value("Customer not found"));
+        assertFalse(customerIdIndex.exists(customerId));
+    }
+
+    @Test
+    @DisplayName("testImportedCustomersAreIndexed")
+    void testImportedCustomersAreIndexed() throws Exception {
+        mockMvc.perform(post("/api/customers/import").contentType("text/csv")
+                .content("firstName,lastName,email,customerType\nA,B,a.b@example.com,REGULAR\nC,D,c.d@example.com,VIP\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2));
+        long databaseLookups = (long) customerIdIndex.getStats().get("databaseLookups");
+
+        customerRepository.findAll().forEach(c -> assertTrue(customerIdIndex.exists(c.getId())));
+        assertEquals(databaseLookups, (long) customerIdIndex.getStats().get("databaseLookups"));
+    }
+
+    private long createCustomer(String email) throws Exception {
+        String body = mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Index\",\"lastName\":\"Test\",\"email\":\"" + email + "\",\"customerType\":\"VIP\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private static String interactionJson(long customerId) {
+        return "{\"customerId\":" + customerId + ",\"interactionType\":\"PURCHASE\",\"status\":\"OPEN\",\"description\":\"x\"}";
+    }
+}
@@ -0,0 +1,165 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CustomerExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerImportTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private CustomerExportService customerExportService;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("testImportCsvReportsRowErrors")
+    void testImportCsvReportsRowErrors() throws Exception {
+        Customer existing = new Customer();
+        existing.setFirstName("Old");
+        existing.setLastName("Timer");
+        existing.setEmail("taken@example.com");
+        existing.setCustomerType(CustomerType.VIP);
+        existing.setRegistrationDate(LocalDate.now());
+        customerRepository.save(existing);
+
+        String csv = "firstName,lastName,email,phoneNumber,customerType\n"
+            + "Ada,Lovelace,ada@example.com,111,PREMIUM\n"
+            + "\"Smith, Jr.\",Doe,smith@example.com,,REGULAR\n"
+            + "Bad,Email,not-an-email,,REGULAR\n"
+            + "Dup,Ada,ADA@example.com,,REGULAR\n"
+            + "Old,Again,taken@example.com,,REGULAR\n"
+            + "Gold,Member,gold@example.com,,GOLD\n";
+
+        mockMvc.perform(post("/api/customers/import").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(6))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.failed").value(4))
+            .andExpect(jsonPath("$.errors[0].row").value(3))
+            .andExpect(jsonPath("$.errors[0].message").value("Invalid email format"))
+            .andExpect(jsonPath("$.errors[1].message").value("Duplicate email in upload"))
+            .andExpect(jsonPath("$.errors[2].message", containsString("already exists")))
+            .andExpect(jsonPath("$.errors[3].message").value("Invalid customerType"))
+            .andExpect(jsonPath("$.rowsPerSecond").isNumber());
+
+        assertEquals(3, customerRepository.count());
+        assertTrue(customerRepository.existsByEmail("smith@example.com"));
+    }
+
+    @Test
+    @DisplayName("testImportNdjson")
+    void testImportNdjson() throws Exception {
+        String ndjson = "{\"firstName\":\"Grace\",\"lastName\":\"Hopper\",\"email\":\"grace@example.com\",\"customerType\":\"VIP\"}\n"
+            + "{\"firstName\":\"\",\"lastName\":\"Blank\",\"email\":\"blank@example.com\",\"customerType\":\"VIP\"}\n"
+            + "{not json}\n";
+
+        mockMvc.perform(post("/api/customers/import").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors[0].message", containsString("firstName")))
+            .andExpect(jsonPath("$.errors[1].message").value("Invalid request format"));
+
+        Customer grace = customerRepository.findAll().get(0);
+        assertEquals("grace@example.com", grace.getEmail());
+        assertEquals(LocalDate.now(), grace.getRegistrationDate());
+    }
+
+    @Test
+    @DisplayName("testImportManyRowsAcrossBatches")
+    void testImportManyRowsAcrossBatches() throws Exception {
+        StringBuilder csv = new StringBuilder("firstName,lastName,email,customerType\n");
+        for (int i = 0; i < 5_000; i++) {
+            csv.append("F").append(i).append(",L").append(i).append(",bulk").append(i).append("@example.com,REGULAR\n");
+        }
+
+        mockMvc.perform(post("/api/customers/import").contentType("text/csv").content(csv.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(5_000))
+            .andExpect(jsonPath("$.failed").value(0))
+            .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        assertEquals(5_000, customerRepository.count());
+    }
+
+    @Test
+    @DisplayName("testImportCsvWithoutEmailColumn")
+    void testImportCsvWithoutEmailColumn() throws Exception {
+        mockMvc.perform(post("/api/customers/import").contentType("text/csv").content("firstName,lastName\nA,B\n"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", containsString("email column")));
+    }
+
+    @Test
+    @DisplayName("testImportCsvExportedWithMultiLineFields")
+    void testImportCsvExportedWithMultiLineFields() throws Exception {
+        Customer multiLine = new Customer();
+        multiLine.setFirstName("Mary\nAnn");
+        multiLine.setLastName("O\"Neil, Sr.");
+        multiLine.setEmail("mary@example.com");
+        multiLine.setCustomerType(CustomerType.PREMIUM);
+        multiLine.setRegistrationDate(LocalDate.now());
+        customerRepository.save(multiLine);
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        customerExportService.writeCsv(exported);
+        customerRepository.deleteAllInBatch();
+
+        String csv = exported.toString(StandardCharsets.UTF_8) + ",Next,Row,next@example.com,,REGULAR,\n";
+        mockMvc.perform(post("/api/customers/import").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(2))
+            .andExpect(jsonPath("$.imported").value(2));
+
+        Customer imported = customerRepository.findAll().stream()
+            .filter(c -> c.getEmail().equals("mary@example.com")).findFirst().orElseThrow();
+        assertEquals("Mary\nAnn", imported.getFirstName());
+        assertEquals("O\"Neil, Sr.", imported.getLastName());
+        assertTrue(customerRepository.existsByEmail("next@example.com"));
+    }
+
+    @Test
+    @DisplayName("testImportCsvUnterminatedQuoteAtEnd")
+    void testImportCsvUnterminatedQuoteAtEnd() throws Exception {
+        mockMvc.perform(post("/api/customers/import").contentType("text/csv")
+                .content("firstName,lastName,email,customerType\nA,B,a@example.com,VIP\n\"Open,B,b@example.com,VIP\nC,D,c@example.com,VIP\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(2))
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.errors[0].message").value("Unterminated quoted field"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CustomerSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerSearchTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        // Other test contexts recreate the schema and reuse ids behind this context's index
+        customerSearchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("testSearchFindsCreatedCustomersRanked")
+    void testSearchFindsCreatedCustomersRanked() throws Exception {
+        createCustomer("Quentin", "Zylberstein", "q.zylberstein@example.com", "VIP");
+        createCustomer("Zylber", "Quark", "zylber.quark@example.com", "REGULAR");
+
+        mockMvc.perform(get("/api/customers/search").param("q", "zylber"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(2))
+            .andExpect(jsonPath("$.customers[0].lastName").value("Quark"))
+            .andExpect(jsonPath("$.customers[1].lastName").value("Zylberstein"))
+            .andExpect(jsonPath("$.tookMillis").isNumber());
+
+        mockMvc.perform(get("/api/customers/search").param("q", "zylberstien"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customers[*].email", contains("q.zylberstein@example.com")));
+
+        mockMvc.perform(get("/api/customers/search").param("q", "zylber").param("type", "VIP"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.customers[0].customerType").value("VIP"));
+    }
+
+    @Test
+    @DisplayName("testDeletedAndImportedCustomersAreReflected")
+    void testDeletedAndImportedCustomersAreReflected() throws Exception {
+        long id = createCustomer("Vera", "Xanthopoulos", "vera.x@example.com", "PREMIUM");
+        mockMvc.perform(delete("/api/customers/deleteCustomer/" + id)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/customers/import").contentType("text/csv")
+                .content("firstName,lastName,email,customerType\nVictor,Xanthopoulos,victor.x@example.com,REGULAR\n"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/customers/search").param("q", "xanthopoulos"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.customers[0].firstName").value("Victor"));
+    }
+
+    @Test
+    @DisplayName("testSearchRejectsBadParameters")
+    void testSearchRejectsBadParameters() throws Exception {
+        mockMvc.perform(get("/api/customers/search").param("q", "  !! "))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Search query must contain letters or digits"));
+        mockMvc.perform(get("/api/customers/search").param("q", "a").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/customers/search").param("q", "a").param("type", "GOLD"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Invalid type"));
+    }
+
+    private long createCustomer(String first, String last, String email, String type) throws Exception {
+        String body = mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"" + first + "\",\"lastName\":\"" + last + "\",\"email\":\"" + email
+                    + "\",\"customerType\":\"" + type + "\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,118 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FieldSelectionTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        for (int i = 0; i < 3; i++) {
+            Customer c = new Customer();
+            c.setFirstName("Field" + i);
+            c.setLastName("Select");
+            c.setEmail("fields" + i + "@example.com");
+            c.setPhoneNumber("555-000" + i);
+            c.setCustomerType(CustomerType.PREMIUM);
+            c.setRegistrationDate(LocalDate.of(2024, 1, 1));
+            customerId = customerRepository.save(c).getId();
+        }
+        Interaction interaction = new Interaction();
+        interaction.setCustomerId(customerId);
+        interaction.setInteractionType(InteractionType.PURCHASE);
+        interaction.setStatus(InteractionStatus.OPEN);
+        interaction.setDescription("Ordered two chairs");
+        interaction.setInteractionDate(LocalDateTime.of(2024, 2, 1, 10, 0));
+        interactionRepository.save(interaction);
+    }
+
+    @Test
+    @DisplayName("testSummaryCustomerPageOmitsDetailFields")
+    void testSummaryCustomerPageOmitsDetailFields() throws Exception {
+        mockMvc.perform(get("/api/customers/getAllCustomers").param("size", "10").param("fields", "summary"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customers", hasSize(3)))
+            .andExpect(jsonPath("$.totalElements").value(3))
+            .andExpect(jsonPath("$.customers[0].email").value(startsWith("fields")))
+            .andExpect(jsonPath("$.customers[0].customerType").value("PREMIUM"))
+            .andExpect(jsonPath("$.customers[0].phoneNumber").doesNotExist())
+            .andExpect(jsonPath("$.customers[0].registrationDate").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("testFullIsTheDefault")
+    void testFullIsTheDefault() throws Exception {
+        mockMvc.perform(get("/api/customers/getAllCustomers").param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customers[0].phoneNumber").value(startsWith("555-000")))
+            .andExpect(jsonPath("$.customers[0].registrationDate").value("2024-01-01"));
+    }
+
+    @Test
+    @DisplayName("testSummaryAppliesToCursorMode")
+    void testSummaryAppliesToCursorMode() throws Exception {
+        mockMvc.perform(get("/api/customers/getAllCustomers").param("mode", "CURSOR").param("size", "2").param("fields", "summary"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customers", hasSize(2)))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andExpect(jsonPath("$.customers[0].firstName").exists())
+            .andExpect(jsonPath("$.customers[0].phoneNumber").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("testSummaryInteractionsOmitDescription")
+    void testSummaryInteractionsOmitDescription() throws Exception {
+        mockMvc.perform(get("/api/customers/" + customerId + "/interactions").param("fields", "summary"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].interactionType").value("PURCHASE"))
+            .andExpect(jsonPath("$[0].status").value("OPEN"))
+            .andExpect(jsonPath("$[0].interactionDate").exists())
+            .andExpect(jsonPath("$[0].description").doesNotExist());
+        mockMvc.perform(get("/api/customers/" + customerId + "/interactions"))
+            .andExpect(jsonPath("$[0].description").value("Ordered two chairs"));
+    }
+
+    @Test
+    @DisplayName("testUnknownFieldSetIsRejected")
+    void testUnknownFieldSetIsRejected() throws Exception {
+        mockMvc.perform(get("/api/customers/getAllCustomers").param("fields", "everything"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(containsString("summary")));
+        mockMvc.perform(get("/api/customers/" + customerId + "/interactions").param("fields", "everything"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,142 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InteractionIngestionTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long existingCustomerId;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        Customer c = new Customer();
+        c.setFirstName("Queue");
+        c.setLastName("Cust");
+        c.setEmail("queue@t.com");
+        c.setCustomerType(CustomerType.REGULAR);
+        c.setRegistrationDate(LocalDate.now());
+        existingCustomerId = customerRepository.save(c).getId();
+    }
+
+    @Test
+    @DisplayName("testIngestStoresInteractionsInBatches")
+    void testIngestStoresInteractionsInBatches() throws Exception {
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            trackingIds.add(ingest(existingCustomerId, InteractionType.PURCHASE));
+        }
+
+        for (String trackingId : trackingIds) {
+            JsonNode result = awaitOutcome(trackingId);
+            assertEquals("STORED", result.get("state").asText());
+            assertTrue(interactionRepository.existsById(result.get("interactionId").asLong()));
+        }
+        assertEquals(50, interactionRepository.findByCustomerId(existingCustomerId).size());
+
+        mockMvc.perform(get("/api/interactions/ingest/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.queueDepth").value(0))
+            .andExpect(jsonPath("$.flushes").isNumber())
+            .andExpect(jsonPath("$.avgFlushMillis").isNumber());
+    }
+
+    @Test
+    @DisplayName("testIngestRejectsUnknownCustomer")
+    void testIngestRejectsUnknownCustomer() throws Exception {
+        String good = ingest(existingCustomerId, InteractionType.RETURN);
+        String bad = ingest(77777L, InteractionType.RETURN);
+
+        assertEquals("STORED", awaitOutcome(good).get("state").asText());
+        JsonNode rejected = awaitOutcome(bad);
+        assertEquals("REJECTED", rejected.get("state").asText());
+        assertEquals("Customer not found", rejected.get("message").asText());
+    }
+
+    @Test
+    @DisplayName("testIngestRequiresFields")
+    void testIngestRequiresFields() throws Exception {
+        mockMvc.perform(post("/api/interactions/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\": 1}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/interactions/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\": 1, \"interactionType\": \"PURCHASE\", \"status\": \"OPEN\", \"description\": \""
+                    + "x".repeat(256) + "\"}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("testUnknownTrackingId")
+    void testUnknownTrackingId() throws Exception {
+        mockMvc.perform(get("/api/interactions/ingest/does-not-exist"))
+            .andExpect(status().isNotFound());
+    }
+
+    private String ingest(Long customerId, InteractionType type) throws Exception {
+        Interaction interaction = new Interaction();
+        interaction.setCustomerId(customerId);
+        interaction.setInteractionType(type);
+        interaction.setDescription("checkout event");
+        interaction.setStatus(InteractionStatus.RESOLVED);
+        String body = mockMvc.perform(post("/api/interactions/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(interaction)))
+            .andExpect(status().isAccepted())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("trackingId").asText();
+    }
+
+    private JsonNode awaitOutcome(String trackingId) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            String body = mockMvc.perform(get("/api/interactions/ingest/" + trackingId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode result = objectMapper.readTree(body);
+            if (!"PENDING".equals(result.get("state").asText())) {
+                return result;
+            }
+            Thread.sleep(10);
+        }
+        fail("ingest of " + trackingId + " did not complete");
+        return null;
+    }
+}
@@ -0,0 +1,221 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionPatch;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.InteractionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InteractionPatchTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+    @Autowired
+    private InteractionService interactionService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long interactionId;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        Customer c = new Customer();
+        c.setFirstName("Patch");
+        c.setLastName("Target");
+        c.setEmail("patch@example.com");
+        c.setCustomerType(CustomerType.VIP);
+        c.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        Long customerId = customerRepository.save(c).getId();
+        Interaction interaction = new Interaction();
+        interaction.setCustomerId(customerId);
+        interaction.setInteractionType(InteractionType.INQUIRY);
+        interaction.setStatus(InteractionStatus.OPEN);
+        interaction.setDescription("0");
+        interaction.setInteractionDate(LocalDateTime.of(2024, 3, 1, 10, 0));
+        interactionId = interactionRepository.save(interaction).getId();
+    }
+
+    @Test
+    @DisplayName("testPatchWritesOnlyTheGivenFields")
+    void testPatchWritesOnlyTheGivenFields() throws Exception {
+        mockMvc.perform(patch("/api/interactions/" + interactionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"interaction-" + interactionId + "-0\"")
+                .content("{\"status\":\"RESOLVED\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"interaction-" + interactionId + "-1\""))
+            .andExpect(jsonPath("$.status").value("RESOLVED"))
+            .andExpect(jsonPath("$.interactionType").value("INQUIRY"))
+            .andExpect(jsonPath("$.description").value("0"))
+            .andExpect(jsonPath("$.version").value(1));
+
+        assertEquals(List.of("INQUIRY", "0", "RESOLVED", 1L), jdbcTemplate.queryForObject(
+            "SELECT interaction_type, description, status, version FROM interactions WHERE id = ?",
+            (rs, n) -> List.<Object>of(rs.getString(1), rs.getString(2), rs.getString(3), rs.getLong(4)), interactionId));
+        assertEquals(InteractionStatus.RESOLVED, interactionRepository.findById(interactionId).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("testStaleVersionIsAConflict")
+    void testStaleVersionIsAConflict() throws Exception {
+        mockMvc.perform(patch("/api/interactions/" + interactionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "0")
+                .content("{\"description\":\"first\"}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/interactions/" + interactionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "0")
+                .content("{\"description\":\"second\"}"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").exists());
+        assertEquals("first", interactionRepository.findById(interactionId).orElseThrow().getDescription());
+    }
+
+    @Test
+    @DisplayName("testConcurrentPutIsAConflict")
+    void testConcurrentPutIsAConflict() throws Exception {
+        // Caches the row at version 0, then another writer moves the database on behind the cache
+        interactionRepository.findById(interactionId).orElseThrow();
+        jdbcTemplate.update("UPDATE interactions SET description = 'other', version = version + 1 WHERE id = ?", interactionId);
+
+        String body = "{\"interactionType\":\"PURCHASE\",\"status\":\"RESOLVED\",\"description\":\"put\"}";
+        mockMvc.perform(put("/api/interactions/" + interactionId).contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").exists());
+        assertEquals("other", jdbcTemplate.queryForObject(
+            "SELECT description FROM interactions WHERE id = ?", String.class, interactionId));
+
+        mockMvc.perform(put("/api/interactions/" + interactionId).contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.description").value("put"))
+            .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    @DisplayName("testPatchRejectsBadRequests")
+    void testPatchRejectsBadRequests() throws Exception {
+        mockMvc.perform(patch("/api/interactions/" + interactionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"customer-1-0\"")
+                .content("{\"description\":\"x\"}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/interactions/" + interactionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "W/\"interaction-" + interactionId + "-0\"")
+                .content("{\"description\":\"x\"}"))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/interactions/" + interactionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":null}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/interactions/" + interactionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"interactionType\":null,\"description\":\"x\"}"))
+            .andExpect(status().isBadRequest());
+        assertEquals("0", jdbcTemplate.queryForObject(
+            "SELECT description FROM interactions WHERE id = ?", String.class, interactionId));
+        mockMvc.perform(patch("/api/interactions/" + (interactionId + 1000))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\":\"x\"}"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("testCachedRowIsPatchedWithoutHibernateQueries")
+    void testCachedRowIsPatchedWithoutHibernateQueries() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        interactionRepository.findById(interactionId);
+
+        long statements = statistics.getPrepareStatementCount();
+        InteractionPatch patch = new InteractionPatch();
+        patch.setDescription("patched");
+        assertEquals(1L, interactionService.patchInteraction(interactionId, 0L, patch).getVersion());
+        // The read came from the second-level cache; the only statement was the JDBC UPDATE
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("testConcurrentPatchesLoseNoUpdates")
+    void testConcurrentPatchesLoseNoUpdates() throws Exception {
+        int threads = 16;
+        int incrementsPerThread = 20;
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; i < incrementsPerThread; i++) {
+                        while (true) {
+                            Interaction current = interactionRepository.findById(interactionId).orElseThrow();
+                            InteractionPatch patch = new InteractionPatch();
+                            patch.setDescription(String.valueOf(Integer.parseInt(current.getDescription()) + 1));
+                            try {
+                                interactionService.patchInteraction(interactionId, current.getVersion(), patch);
+                                break;
+                            } catch (OptimisticLockingFailureException e) {
+                                conflicts.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int total = threads * incrementsPerThread;
+        Interaction result = interactionRepository.findById(interactionId).orElseThrow();
+        assertEquals(String.valueOf(total), result.getDescription());
+        assertEquals(total, result.getVersion());
+        assertTrue(conflicts.get() > 0);
+    }
+}
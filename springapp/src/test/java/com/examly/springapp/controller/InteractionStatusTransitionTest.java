@@ -0,0 +1,203 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.model.StatusTransitionRequest;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.InteractionStatusTransitionService;
+import com.examly.springapp.service.StatusTransitionJob;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InteractionStatusTransitionTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+    @Autowired
+    private InteractionStatusTransitionService interactionStatusTransitionService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long campaignCustomerId;
+    private Long otherCustomerId;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        campaignCustomerId = customer("campaign@example.com");
+        otherCustomerId = customer("other@example.com");
+    }
+
+    @Test
+    @DisplayName("testFilterTransitionRunsInChunks")
+    void testFilterTransitionRunsInChunks() throws Exception {
+        insert(campaignCustomerId, 2_500, InteractionType.INQUIRY, InteractionStatus.OPEN, LocalDateTime.of(2024, 6, 1, 9, 0));
+        insert(otherCustomerId, 10, InteractionType.INQUIRY, InteractionStatus.OPEN, LocalDateTime.of(2024, 6, 1, 9, 0));
+
+        String body = mockMvc.perform(post("/api/interactions/status-transitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"targetStatus\":\"RESOLVED\",\"customerId\":" + campaignCustomerId + "}"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.jobId").exists())
+            .andReturn().getResponse().getContentAsString();
+        JsonNode job = awaitJob(objectMapper.readTree(body).get("jobId").asText());
+
+        assertEquals("COMPLETED", job.get("state").asText());
+        assertEquals(2_500, job.get("total").asLong());
+        assertEquals(2_500, job.get("updated").asLong());
+        assertEquals(3, job.get("chunks").size());
+        assertEquals(1_000, job.get("chunks").get(0).get("updated").asInt());
+        assertEquals(500, job.get("chunks").get(2).get("updated").asInt());
+        assertEquals(2_500, count(campaignCustomerId, "RESOLVED"));
+        assertEquals(10, count(otherCustomerId, "OPEN"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM interactions WHERE customer_id = ? AND version <> 1", Integer.class, campaignCustomerId));
+    }
+
+    @Test
+    @DisplayName("testTypeAndDateRangeNarrowTheFilter")
+    void testTypeAndDateRangeNarrowTheFilter() throws Exception {
+        insert(campaignCustomerId, 5, InteractionType.PURCHASE, InteractionStatus.OPEN, LocalDateTime.of(2024, 5, 31, 23, 0));
+        insert(campaignCustomerId, 7, InteractionType.PURCHASE, InteractionStatus.OPEN, LocalDateTime.of(2024, 6, 15, 9, 0));
+        insert(campaignCustomerId, 3, InteractionType.RETURN, InteractionStatus.OPEN, LocalDateTime.of(2024, 6, 15, 9, 0));
+
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setTargetStatus(InteractionStatus.RESOLVED);
+        request.setInteractionType(InteractionType.PURCHASE);
+        request.setFrom(LocalDateTime.of(2024, 6, 1, 0, 0));
+        request.setTo(LocalDateTime.of(2024, 7, 1, 0, 0));
+        JsonNode job = awaitJob(interactionStatusTransitionService.submit(request).getJobId());
+
+        assertEquals(7, job.get("updated").asLong());
+        assertEquals(7, count(campaignCustomerId, "RESOLVED"));
+        assertEquals(8, count(campaignCustomerId, "OPEN"));
+    }
+
+    @Test
+    @DisplayName("testIdListSkipsRowsAlreadyInTheTargetStatus")
+    void testIdListSkipsRowsAlreadyInTheTargetStatus() throws Exception {
+        insert(campaignCustomerId, 4, InteractionType.INQUIRY, InteractionStatus.OPEN, LocalDateTime.of(2024, 6, 1, 9, 0));
+        insert(campaignCustomerId, 2, InteractionType.INQUIRY, InteractionStatus.RESOLVED, LocalDateTime.of(2024, 6, 1, 9, 0));
+        List<Long> ids = new ArrayList<>(jdbcTemplate.queryForList("SELECT id FROM interactions", Long.class));
+        ids.add(-1L);
+
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setTargetStatus(InteractionStatus.RESOLVED);
+        request.setIds(ids);
+        JsonNode job = awaitJob(interactionStatusTransitionService.submit(request).getJobId());
+
+        assertEquals("COMPLETED", job.get("state").asText());
+        assertEquals(7, job.get("total").asLong());
+        assertEquals(4, job.get("updated").asLong());
+        assertEquals(6, count(campaignCustomerId, "RESOLVED"));
+    }
+
+    @Test
+    @DisplayName("testCancelKeepsCommittedChunks")
+    void testCancelKeepsCommittedChunks() throws Exception {
+        insert(campaignCustomerId, 10_000, InteractionType.INQUIRY, InteractionStatus.OPEN, LocalDateTime.of(2024, 6, 1, 9, 0));
+
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setTargetStatus(InteractionStatus.RESOLVED);
+        request.setCustomerId(campaignCustomerId);
+        String jobId = interactionStatusTransitionService.submit(request).getJobId();
+        mockMvc.perform(delete("/api/interactions/status-transitions/" + jobId))
+            .andExpect(status().isOk());
+        JsonNode job = awaitJob(jobId);
+
+        assertEquals("CANCELLED", job.get("state").asText());
+        assertTrue(job.get("updated").asLong() < 10_000);
+        assertEquals(job.get("updated").asLong(), count(campaignCustomerId, "RESOLVED"));
+    }
+
+    @Test
+    @DisplayName("testInvalidRequestsAreRejected")
+    void testInvalidRequestsAreRejected() throws Exception {
+        mockMvc.perform(post("/api/interactions/status-transitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"targetStatus\":\"RESOLVED\"}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/interactions/status-transitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"targetStatus\":\"RESOLVED\",\"ids\":[1],\"customerId\":" + campaignCustomerId + "}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/interactions/status-transitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":" + campaignCustomerId + "}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/interactions/status-transitions/unknown"))
+            .andExpect(status().isNotFound());
+    }
+
+    private JsonNode awaitJob(String jobId) throws Exception {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (true) {
+            String body = mockMvc.perform(get("/api/interactions/status-transitions/" + jobId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(body);
+            String state = job.get("state").asText();
+            if (!state.equals(StatusTransitionJob.State.PENDING.name()) && !state.equals(StatusTransitionJob.State.RUNNING.name())) {
+                return job;
+            }
+            assertTrue(System.nanoTime() < deadline, "Job " + jobId + " still " + state);
+            Thread.sleep(20);
+        }
+    }
+
+    private Long customer(String email) {
+        Customer c = new Customer();
+        c.setFirstName("Bulk");
+        c.setLastName("Status");
+        c.setEmail(email);
+        c.setCustomerType(CustomerType.REGULAR);
+        c.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        return customerRepository.save(c).getId();
+    }
+
+    private void insert(Long customerId, int rows, InteractionType type, InteractionStatus status, LocalDateTime date) {
+        List<Object[]> args = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            args.add(new Object[] {customerId, type.name(), "Campaign " + i, status.name(), Timestamp.valueOf(date)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO interactions (customer_id, interaction_type, description, status, interaction_date, version) "
+            + "VALUES (?, ?, ?, ?, ?, 0)", args);
+    }
+
+    private int count(Long customerId, String status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interactions WHERE customer_id = ? AND status = ?",
+            Integer.class, customerId, status);
+    }
+}
@@ -0,0 +1,148 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InteractionTimelineTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long customerId;
+    private final List<Long> newestFirst = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        customerId = saveCustomer("timeline@t.com");
+        Long otherCustomerId = saveCustomer("other@t.com");
+
+        newestFirst.clear();
+        InteractionType[] types = InteractionType.values();
+        for (int i = 0; i < 7; i++) {
+            // Days 0,0,1,1,2,2,3 so equal timestamps exercise the id tie-breaker
+            LocalDateTime when = BASE.plusDays(i / 2);
+            InteractionStatus status = i % 2 == 0 ? InteractionStatus.OPEN : InteractionStatus.RESOLVED;
+            // Ids ascend with insert order, so prepending yields newest-first including ties
+            newestFirst.add(0, saveInteraction(customerId, types[i % types.length], status, when));
+        }
+        saveInteraction(otherCustomerId, InteractionType.PURCHASE, InteractionStatus.OPEN, BASE.plusDays(10));
+    }
+
+    @Test
+    @DisplayName("testTimelinePagesNewestFirst")
+    void testTimelinePagesNewestFirst() throws Exception {
+        List<Long> seen = walk("");
+        assertEquals(newestFirst, seen);
+    }
+
+    @Test
+    @DisplayName("testTimelineFiltersByTypeAndStatus")
+    void testTimelineFiltersByTypeAndStatus() throws Exception {
+        mockMvc.perform(get("/api/customers/" + customerId + "/interactions/timeline").param("type", "INQUIRY"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.interactions", hasSize(3)))
+            .andExpect(jsonPath("$.interactions[*].interactionType", everyItem(is("INQUIRY"))))
+            .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/customers/" + customerId + "/interactions/timeline")
+                .param("status", "RESOLVED")
+                .param("type", "PURCHASE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.interactions", hasSize(1)))
+            .andExpect(jsonPath("$.interactions[0].status").value("RESOLVED"));
+
+        List<Long> open = walk("&status=OPEN");
+        assertEquals(4, open.size());
+    }
+
+    @Test
+    @DisplayName("testTimelineRejectsInvalidCursor")
+    void testTimelineRejectsInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/customers/" + customerId + "/interactions/timeline").param("cursor", "%%%"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("testTimelineRejectsInvalidType")
+    void testTimelineRejectsInvalidType() throws Exception {
+        mockMvc.perform(get("/api/customers/" + customerId + "/interactions/timeline").param("type", "CONSULT"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Invalid type"));
+    }
+
+    private List<Long> walk(String filters) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        for (int guard = 0; guard < 10; guard++) {
+            String body = mockMvc.perform(get("/api/customers/" + customerId + "/interactions/timeline?size=3&cursor=" + cursor + filters))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            page.get("interactions").forEach(i -> ids.add(i.get("id").asLong()));
+            if (!page.get("hasNext").asBoolean()) {
+                return ids;
+            }
+            cursor = page.get("nextCursor").asText();
+        }
+        fail("timeline walk did not terminate");
+        return ids;
+    }
+
+    private Long saveCustomer(String email) {
+        Customer c = new Customer();
+        c.setFirstName("Time");
+        c.setLastName("Line");
+        c.setEmail(email);
+        c.setCustomerType(CustomerType.VIP);
+        c.setRegistrationDate(LocalDate.now());
+        return customerRepository.save(c).getId();
+    }
+
+    private Long saveInteraction(Long owner, InteractionType type, InteractionStatus status, LocalDateTime when) {
+        Interaction i = new Interaction();
+        i.setCustomerId(owner);
+        i.setInteractionType(type);
+        i.setStatus(status);
+        i.setDescription(type + " at " + when);
+        i.setInteractionDate(when);
+        return interactionRepository.save(i).getId();
+    }
+}
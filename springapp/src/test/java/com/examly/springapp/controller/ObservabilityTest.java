@@ -0,0 +1,66 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ObservabilityTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("testPrometheusScrapeCoversEndpointsRepositoriesAndHibernate")
+    void testPrometheusScrapeCoversEndpointsRepositoriesAndHibernate() throws Exception {
+        mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Metric\",\"lastName\":\"Case\",\"email\":\"metric@example.com\",\"customerType\":\"VIP\"}"))
+            .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/customers/getAllCustomers"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(allOf(
+                containsString("http_server_requests_seconds_count{application=\"springapp\""),
+                containsString("uri=\"/api/customers/addCustomer\""),
+                containsString("uri=\"/api/customers/getAllCustomers\""),
+                containsString("http_server_requests_seconds_bucket"),
+                containsString("spring_data_repository_invocations_seconds_count"),
+                containsString("repository=\"CustomerRepository\""),
+                containsString("method=\"save\""),
+                containsString("hibernate_query_executions_total"),
+                containsString("hibernate_statements_total"),
+                containsString("hibernate_slow_queries"),
+                containsString("crm_ingest_queue_depth"),
+                containsString("crm_ingest_flush_seconds_count"))));
+    }
+}
@@ -0,0 +1,265 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.config.ReadYourWritesFilter;
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "crm.datasource.replica-urls=" + ReadReplicaRoutingTest.REPLICA_A + "," + ReadReplicaRoutingTest.REPLICA_B,
+    "crm.datasource.read-your-writes=5s"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReadReplicaRoutingTest {
+    static final String REPLICA_A = "jdbc:h2:mem:crm_replica_a;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE";
+    static final String REPLICA_B = "jdbc:h2:mem:crm_replica_b;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // The replicas are separate databases that never see the primary's rows, so which one answered is visible
+    // in the count
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        for (int i = 0; i < 3; i++) {
+            customerRepository.save(customer("primary" + i + "@example.com"));
+        }
+        List<String> schema = jdbcTemplate.queryForList("SCRIPT NODATA", String.class);
+        replica(REPLICA_A, schema, 1);
+        replica(REPLICA_B, schema, 2);
+    }
+
+    @Test
+    @DisplayName("testReadsAreSpreadOverReplicas")
+    void testReadsAreSpreadOverReplicas() throws Exception {
+        Set<Long> totals = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            totals.add(total(null));
+        }
+        assertEquals(Set.of(1L, 2L), totals);
+    }
+
+    @Test
+    @DisplayName("testClientReadsItsOwnWriteFromThePrimary")
+    void testClientReadsItsOwnWriteFromThePrimary() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Read\",\"lastName\":\"Own\",\"email\":\"own@example.com\",\"customerType\":\"REGULAR\"}"))
+            .andExpect(status().isCreated())
+            .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+            .andExpect(cookie().httpOnly(ReadYourWritesFilter.COOKIE, true))
+            .andReturn();
+        Cookie sticky = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        assertEquals(4L, total(sticky));
+        assertEquals(4L, total(sticky));
+        assertNotEquals(4L, total(null));
+
+        mockMvc.perform(get("/api/datasource/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.selection").value("ROUND_ROBIN"))
+            .andExpect(jsonPath("$.replicas.length()").value(2))
+            .andExpect(jsonPath("$.stickyReads").value(greaterThanOrEqualTo(2)));
+    }
+
+    @Test
+    @DisplayName("testCrossOriginClientEchoesTheDeadlineHeader")
+    void testCrossOriginClientEchoesTheDeadlineHeader() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/customers/addCustomer")
+                .header("Origin", "http://localhost:8082")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Cross\",\"lastName\":\"Origin\",\"email\":\"cors@example.com\",\"customerType\":\"REGULAR\"}"))
+            .andExpect(status().isCreated())
+            .andExpect(header().exists(ReadYourWritesFilter.HEADER))
+            .andExpect(header().string("Access-Control-Expose-Headers", containsString(ReadYourWritesFilter.HEADER)))
+            .andReturn();
+        String primaryUntil = created.getResponse().getHeader(ReadYourWritesFilter.HEADER);
+
+        // No cookie comes back from a client that does not send credentials; the header alone keeps it on the primary
+        for (int i = 0; i < 2; i++) {
+            String body = mockMvc.perform(get("/api/customers/getAllCustomers").param("size", "10")
+                    .header("Origin", "http://localhost:8082")
+                    .header(ReadYourWritesFilter.HEADER, primaryUntil))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            assertEquals(4L, objectMapper.readTree(body).get("totalElements").asLong());
+        }
+    }
+
+    @Test
+    @DisplayName("testExpiredWindowReadsFromReplicas")
+    void testExpiredWindowReadsFromReplicas() throws Exception {
+        Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1_000));
+        assertNotEquals(3L, total(expired));
+    }
+
+    @Test
+    @DisplayName("testReplicaAnsweredListsAreTaggedByContent")
+    void testReplicaAnsweredListsAreTaggedByContent() throws Exception {
+        String replicaTag = mockMvc.perform(get("/api/customers/getAllCustomers"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", startsWith("W/\"r-")))
+            .andReturn().getResponse().getHeader("ETag");
+
+        // The two replicas hold different rows, so only the one that issued the tag can answer 304
+        int notModified = 0;
+        for (int i = 0; i < 4; i++) {
+            MockHttpServletResponse response = mockMvc.perform(get("/api/customers/getAllCustomers")
+                    .header("If-None-Match", replicaTag))
+                .andReturn().getResponse();
+            if (response.getStatus() == 304) {
+                notModified++;
+                assertEquals(replicaTag, response.getHeader("ETag"));
+                assertEquals("", response.getContentAsString());
+            } else {
+                assertEquals(200, response.getStatus());
+                assertNotEquals(replicaTag, response.getHeader("ETag"));
+                assertFalse(response.getContentAsString().isEmpty());
+            }
+        }
+        assertEquals(2, notModified);
+
+        Cookie sticky = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() + 60_000));
+        String etag = mockMvc.perform(get("/api/customers/getAllCustomers").cookie(sticky))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(startsWith("W/\"r-"))))
+            .andReturn().getResponse().getHeader("ETag");
+
+        // A tag the primary issued still answers 304 without any query
+        mockMvc.perform(get("/api/customers/getAllCustomers").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag));
+    }
+
+    @Test
+    @DisplayName("testWritesReadTheirRowFromThePrimaryWhileReplicasLag")
+    void testWritesReadTheirRowFromThePrimaryWhileReplicasLag() throws Exception {
+        Long customerId = customerRepository.save(customer("lagging@example.com")).getId();
+        Interaction interaction = new Interaction();
+        interaction.setCustomerId(customerId);
+        interaction.setInteractionType(InteractionType.INQUIRY);
+        interaction.setStatus(InteractionStatus.OPEN);
+        interaction.setDescription("original");
+        interaction.setInteractionDate(LocalDateTime.of(2024, 3, 1, 10, 0));
+        Long id = interactionRepository.save(interaction).getId();
+        // Both replicas took the row at version 0 and then stopped applying changes
+        for (String url : List.of(REPLICA_A, REPLICA_B)) {
+            copy("customers", customerId, url);
+            copy("interactions", id, url);
+        }
+        String put = "{\"interactionType\":\"PURCHASE\",\"status\":\"OPEN\",\"description\":\"put\"}";
+
+        // No cookies are sent back, so nothing here is sticky; each write has to find the row on the primary itself
+        entityManagerFactory.getCache().evictAll();
+        mockMvc.perform(put("/api/interactions/" + id).contentType(MediaType.APPLICATION_JSON).content(put))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(1));
+
+        // The listing may show the lagging copy, but must not leave it behind for the writes that follow
+        mockMvc.perform(get("/api/customers/" + customerId + "/interactions"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].version").value(0));
+
+        entityManagerFactory.getCache().evictAll();
+        mockMvc.perform(patch("/api/interactions/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"interaction-" + id + "-1\"")
+                .content("{\"status\":\"RESOLVED\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(2));
+        mockMvc.perform(put("/api/interactions/" + id).contentType(MediaType.APPLICATION_JSON).content(put))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(3));
+
+        assertEquals(3L, jdbcTemplate.queryForObject("SELECT version FROM interactions WHERE id = ?", Long.class, id));
+    }
+
+    private long total(Cookie cookie) throws Exception {
+        var request = get("/api/customers/getAllCustomers").param("size", "10");
+        if (cookie != null) {
+            request.cookie(cookie);
+        }
+        String body = mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("totalElements").asLong();
+    }
+
+    private static void replica(String url, List<String> schema, int customers) {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        replica.execute("DROP ALL OBJECTS");
+        schema.forEach(replica::execute);
+        for (int i = 0; i < customers; i++) {
+            replica.update("INSERT INTO customers (first_name, last_name, email, customer_type, registration_date, version) "
+                + "VALUES ('Replica', 'Row', ?, 'REGULAR', DATE '2024-01-01', 0)", "replica" + i + "@example.com");
+        }
+    }
+
+    // Copies the primary's current row into a replica, over whatever the replica's own rows have at that id
+    private void copy(String table, Long id, String url) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM " + table + " WHERE id = ?", id);
+        String columns = String.join(", ", row.keySet());
+        String values = String.join(", ", row.keySet().stream().map(column -> "?").toList());
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        replica.update("DELETE FROM " + table + " WHERE id = ?", id);
+        replica.update("INSERT INTO " + table + " (" + columns + ") VALUES (" + values + ")", row.values().toArray());
+    }
+
+    private static Customer customer(String email) {
+        Customer c = new Customer();
+        c.setFirstName("Primary");
+        c.setLastName("Row");
+        c.setEmail(email);
+        c.setCustomerType(CustomerType.REGULAR);
+        c.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        return c;
+    }
+}
@@ -0,0 +1,184 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.repository.UserRepository;
+import com.examly.springapp.service.RegistrationFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RegistrationFilterTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RegistrationFilter registrationFilter;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("testNewEmailSkipsExistenceQuery")
+    void testNewEmailSkipsExistenceQuery() throws Exception {
+        long skippedBefore = skipped(RegistrationFilter.Key.CUSTOMER_EMAIL);
+
+        mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(customerJson("brand.new." + System.nanoTime() + "@example.com")))
+            .andExpect(status().isCreated());
+
+        assertEquals(skippedBefore + 1, skipped(RegistrationFilter.Key.CUSTOMER_EMAIL));
+    }
+
+    @Test
+    @DisplayName("testDuplicateCustomerEmailStillRejected")
+    void testDuplicateCustomerEmailStillRejected() throws Exception {
+        mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(customerJson("dup@example.com")))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(customerJson("dup@example.com")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Customer with this email already exists"));
+    }
+
+    @Test
+    @DisplayName("testConcurrentDuplicateCustomersGetOneCreatedRestBadRequest")
+    void testConcurrentDuplicateCustomersGetOneCreatedRestBadRequest() throws Exception {
+        List<Integer> statuses = race(() -> mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(customerJson("race@example.com")))
+            .andReturn().getResponse().getStatus());
+
+        assertEquals(1, statuses.stream().filter(s -> s == 201).count(), statuses.toString());
+        assertEquals(THREADS - 1, statuses.stream().filter(s -> s == 400).count(), statuses.toString());
+        assertEquals(1, customerRepository.count());
+    }
+
+    @Test
+    @DisplayName("testRegisterRejectsTakenUsernameAndEmail")
+    void testRegisterRejectsTakenUsernameAndEmail() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("alice", "alice@example.com")))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("alice", "other@example.com")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Username already exists"));
+
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("bob", "alice@example.com")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Email already exists"));
+    }
+
+    @Test
+    @DisplayName("testConcurrentDuplicateRegistrations")
+    void testConcurrentDuplicateRegistrations() throws Exception {
+        List<Integer> statuses = race(() -> mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson("carol", "carol@example.com")))
+            .andReturn().getResponse().getStatus());
+
+        assertEquals(1, statuses.stream().filter(s -> s == 201).count(), statuses.toString());
+        assertEquals(THREADS - 1, statuses.stream().filter(s -> s == 400).count(), statuses.toString());
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("testImportedEmailsAreAddedToFilter")
+    void testImportedEmailsAreAddedToFilter() throws Exception {
+        mockMvc.perform(post("/api/customers/import").contentType("text/csv")
+                .content("firstName,lastName,email,customerType\nIm,Ported,imported@example.com,REGULAR\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+
+        assertTrue(registrationFilter.mightExist(RegistrationFilter.Key.CUSTOMER_EMAIL, "imported@example.com"));
+        mockMvc.perform(post("/api/customers/addCustomer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(customerJson("imported@example.com")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", containsString("already exists")));
+    }
+
+    private List<Integer> race(Callable<Integer> request) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return request.call();
+                }));
+            }
+            start.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> f : futures) {
+                statuses.add(f.get());
+            }
+            return statuses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private long skipped(RegistrationFilter.Key key) {
+        return (long) ((Map<String, Object>) registrationFilter.getStats().get(key.name())).get("queriesSkipped");
+    }
+
+    private static String customerJson(String email) {
+        return "{\"firstName\":\"Filter\",\"lastName\":\"Test\",\"email\":\"" + email + "\",\"customerType\":\"REGULAR\"}";
+    }
+
+    private static String userJson(String username, String email) {
+        return "{\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"password\":\"secret\",\"role\":\"ADMIN\"}";
+    }
+}
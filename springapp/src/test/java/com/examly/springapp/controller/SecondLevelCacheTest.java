@@ -0,0 +1,157 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.CustomerService;
+import com.examly.springapp.service.InteractionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SecondLevelCacheTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+    @Autowired
+    private InteractionService interactionService;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Customer c = new Customer();
+        c.setFirstName("Cache");
+        c.setLastName("Region");
+        c.setEmail("l2@example.com");
+        c.setCustomerType(CustomerType.PREMIUM);
+        c.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        customerId = customerRepository.save(c).getId();
+        for (int i = 0; i < 3; i++) {
+            Interaction interaction = new Interaction();
+            interaction.setCustomerId(customerId);
+            interaction.setInteractionType(InteractionType.INQUIRY);
+            interaction.setStatus(InteractionStatus.OPEN);
+            interaction.setDescription("Question " + i);
+            interaction.setInteractionDate(LocalDateTime.of(2024, 2, 1, 9, i));
+            interactionRepository.save(interaction);
+        }
+    }
+
+    @Test
+    @DisplayName("testRepeatedReadsRunNoQueries")
+    void testRepeatedReadsRunNoQueries() {
+        assertEquals(3, interactionRepository.findByCustomerId(customerId).size());
+        customerRepository.findById(customerId);
+
+        long statements = statistics.getPrepareStatementCount();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(3, interactionRepository.findByCustomerId(customerId).size());
+            assertTrue(customerRepository.findById(customerId).isPresent());
+        }
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("testHibernateWritesInvalidateCachedQueries")
+    void testHibernateWritesInvalidateCachedQueries() {
+        Long interactionId = interactionRepository.findByCustomerId(customerId).get(0).getId();
+
+        Interaction created = new Interaction();
+        created.setCustomerId(customerId);
+        created.setInteractionType(InteractionType.PURCHASE);
+        created.setStatus(InteractionStatus.OPEN);
+        interactionService.createInteraction(created);
+        assertEquals(4, interactionRepository.findByCustomerId(customerId).size());
+
+        Interaction change = new Interaction();
+        change.setInteractionType(InteractionType.INQUIRY);
+        change.setStatus(InteractionStatus.RESOLVED);
+        interactionService.updateInteraction(interactionId, change);
+        assertEquals(InteractionStatus.RESOLVED, interactionRepository.findById(interactionId).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("testJdbcDeletesEvictEntitiesAndQueries")
+    void testJdbcDeletesEvictEntitiesAndQueries() throws Exception {
+        assertEquals(3, interactionRepository.findByCustomerId(customerId).size());
+        Long interactionId = interactionRepository.findByCustomerId(customerId).get(0).getId();
+        assertTrue(customerRepository.findById(customerId).isPresent());
+        assertTrue(entityManagerFactory.getCache().contains(Customer.class, customerId));
+
+        customerService.deleteCustomer(customerId);
+
+        // The entries are left soft-locked rather than removed, so they are no longer served
+        long hits = statistics.getSecondLevelCacheHitCount();
+        assertTrue(customerRepository.findById(customerId).isEmpty());
+        assertTrue(interactionRepository.findById(interactionId).isEmpty());
+        assertTrue(interactionRepository.findByCustomerId(customerId).isEmpty());
+        assertEquals(hits, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("testJdbcIngestionInvalidatesCachedQueries")
+    void testJdbcIngestionInvalidatesCachedQueries() throws Exception {
+        assertEquals(3, interactionRepository.findByCustomerId(customerId).size());
+        mockMvc.perform(post("/api/interactions/ingest")
+                .contentType("application/json")
+                .content("{\"customerId\":" + customerId + ",\"interactionType\":\"RETURN\",\"status\":\"OPEN\"}"))
+            .andExpect(status().isAccepted());
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interactions", Integer.class) < 4 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(4, interactionRepository.findByCustomerId(customerId).size());
+    }
+
+    @Test
+    @DisplayName("testRegionStatisticsAreExposed")
+    void testRegionStatisticsAreExposed() throws Exception {
+        interactionRepository.findByCustomerId(customerId);
+        interactionRepository.findByCustomerId(customerId);
+        mockMvc.perform(get("/api/customers/cache/second-level"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.enabled").value(true))
+            .andExpect(jsonPath("$.regions.interactions.hitCount").value(greaterThanOrEqualTo(3)))
+            .andExpect(jsonPath("$.regions['interactions-by-customer'].hitCount").value(greaterThanOrEqualTo(1)))
+            .andExpect(jsonPath("$.regions.customers").exists());
+    }
+}
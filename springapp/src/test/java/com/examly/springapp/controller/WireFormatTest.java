@@ -0,0 +1,103 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Against a real Tomcat, since response compression happens in the connector rather than in Spring MVC
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class WireFormatTest {
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Customer c = new Customer();
+            c.setFirstName("Wire" + i);
+            c.setLastName("Format");
+            c.setEmail("wire" + i + "@example.com");
+            c.setPhoneNumber("555-01" + i);
+            c.setCustomerType(CustomerType.VIP);
+            c.setRegistrationDate(LocalDate.of(2024, 5, 1));
+            customers.add(c);
+        }
+        customerId = customerRepository.saveAll(customers).get(0).getId();
+    }
+
+    @Test
+    @DisplayName("testCustomerAsCbor")
+    void testCustomerAsCbor() throws Exception {
+        HttpResponse<byte[]> response = fetch("/api/customers/getCustomer/" + customerId, "application/cbor", null);
+        assertEquals(200, response.statusCode());
+        assertEquals("application/cbor", response.headers().firstValue("Content-Type").orElse(""));
+        JsonNode customer = new CBORMapper().readTree(response.body());
+        assertEquals("wire0@example.com", customer.get("email").asText());
+        assertEquals("2024-05-01", customer.get("registrationDate").asText());
+    }
+
+    @Test
+    @DisplayName("testCustomerPageAsSmile")
+    void testCustomerPageAsSmile() throws Exception {
+        HttpResponse<byte[]> response = fetch("/api/customers/getAllCustomers?size=20", "application/x-jackson-smile", null);
+        assertEquals(200, response.statusCode());
+        JsonNode page = new SmileMapper().readTree(response.body());
+        assertEquals(20, page.get("customers").size());
+        assertEquals(50, page.get("totalElements").asInt());
+    }
+
+    @Test
+    @DisplayName("testLargeJsonResponsesAreGzipped")
+    void testLargeJsonResponsesAreGzipped() throws Exception {
+        HttpResponse<byte[]> large = fetch("/api/customers/getAllCustomers?size=50", "application/json", "gzip");
+        assertEquals("gzip", large.headers().firstValue("Content-Encoding").orElse(""));
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(large.body())).readAllBytes());
+        assertTrue(json.contains("wire49@example.com"));
+
+        HttpResponse<byte[]> plain = fetch("/api/customers/getAllCustomers?size=50", "application/json", null);
+        assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+        assertTrue(plain.body().length > large.body().length * 3);
+    }
+
+    private HttpResponse<byte[]> fetch(String path, String accept, String encoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).header("Accept", accept);
+        if (encoding != null) {
+            request.header("Accept-Encoding", encoding);
+        }
+        return http.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
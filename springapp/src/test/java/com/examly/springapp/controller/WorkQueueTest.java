@@ -0,0 +1,162 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import com.examly.springapp.model.UserRole;
+import com.examly.springapp.repository.CustomerRepository;
+import com.examly.springapp.repository.InteractionRepository;
+import com.examly.springapp.service.AuthToken;
+import com.examly.springapp.service.InteractionService;
+import com.examly.springapp.service.InteractionWorkQueue;
+import com.examly.springapp.service.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class WorkQueueTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private InteractionRepository interactionRepository;
+    @Autowired
+    private InteractionService interactionService;
+    @Autowired
+    private InteractionWorkQueue interactionWorkQueue;
+    @Autowired
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        interactionRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        interactionWorkQueue.warmUp();
+    }
+
+    @Test
+    @DisplayName("testOnlySalesRepsCanClaim")
+    void testOnlySalesRepsCanClaim() throws Exception {
+        mockMvc.perform(post("/api/work-queue/claim"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/work-queue/claim").header(HttpHeaders.AUTHORIZATION, bearer(3, UserRole.ANALYST)))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/work-queue/claim").header(HttpHeaders.AUTHORIZATION, bearer(1, UserRole.SALES_REP)))
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("testClaimsFollowPriorityAndResolvedItemsLeave")
+    void testClaimsFollowPriorityAndResolvedItemsLeave() throws Exception {
+        Long regular = open(customer("reg@example.com", CustomerType.REGULAR));
+        Long vip = open(customer("vip@example.com", CustomerType.VIP));
+        Long resolved = open(customer("done@example.com", CustomerType.PREMIUM));
+        interactionService.updateInteraction(resolved, change(InteractionStatus.RESOLVED));
+
+        mockMvc.perform(post("/api/work-queue/claim").header(HttpHeaders.AUTHORIZATION, bearer(1, UserRole.SALES_REP)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.interactionId").value(vip))
+            .andExpect(jsonPath("$.customerType").value("VIP"))
+            .andExpect(jsonPath("$.leaseExpiresAt").exists());
+        mockMvc.perform(post("/api/work-queue/claim").header(HttpHeaders.AUTHORIZATION, bearer(2, UserRole.SALES_REP)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.interactionId").value(regular));
+        mockMvc.perform(post("/api/work-queue/claim").header(HttpHeaders.AUTHORIZATION, bearer(2, UserRole.SALES_REP)))
+            .andExpect(status().isNoContent());
+
+        // Releasing hands the item to the next rep; resolving it takes it off the queue for good
+        mockMvc.perform(post("/api/work-queue/" + vip + "/release").header(HttpHeaders.AUTHORIZATION, bearer(2, UserRole.SALES_REP)))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/work-queue/" + vip + "/release").header(HttpHeaders.AUTHORIZATION, bearer(1, UserRole.SALES_REP)))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/api/work-queue/claim").header(HttpHeaders.AUTHORIZATION, bearer(2, UserRole.SALES_REP)))
+            .andExpect(jsonPath("$.interactionId").value(vip));
+        interactionService.updateInteraction(vip, change(InteractionStatus.RESOLVED));
+        mockMvc.perform(post("/api/work-queue/" + vip + "/renew").header(HttpHeaders.AUTHORIZATION, bearer(2, UserRole.SALES_REP)))
+            .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/work-queue/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.open").value(1))
+            .andExpect(jsonPath("$.leased").value(1));
+    }
+
+    @Test
+    @DisplayName("testDeletedCustomersLeaveTheQueue")
+    void testDeletedCustomersLeaveTheQueue() throws Exception {
+        Long customerId = customer("gone@example.com", CustomerType.VIP);
+        open(customerId);
+
+        mockMvc.perform(delete("/api/customers/deleteCustomer/" + customerId))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/work-queue/claim").header(HttpHeaders.AUTHORIZATION, bearer(1, UserRole.SALES_REP)))
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("testStartupLoadPicksUpOpenRows")
+    void testStartupLoadPicksUpOpenRows() throws Exception {
+        Long premium = customer("load@example.com", CustomerType.PREMIUM);
+        Interaction row = new Interaction();
+        row.setCustomerId(premium);
+        row.setInteractionType(InteractionType.RETURN);
+        row.setStatus(InteractionStatus.OPEN);
+        Long id = interactionRepository.save(row).getId();
+
+        interactionWorkQueue.warmUp();
+
+        mockMvc.perform(post("/api/work-queue/claim").header(HttpHeaders.AUTHORIZATION, bearer(1, UserRole.SALES_REP)))
+            .andExpect(jsonPath("$.interactionId").value(id))
+            .andExpect(jsonPath("$.customerType").value("PREMIUM"));
+    }
+
+    private String bearer(long userId, UserRole role) {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+        return "Bearer " + tokenService.encode(new AuthToken(userId, "rep" + userId, role, expiresAt));
+    }
+
+    private Long customer(String email, CustomerType type) {
+        Customer c = new Customer();
+        c.setFirstName("Queue");
+        c.setLastName("Test");
+        c.setEmail(email);
+        c.setCustomerType(type);
+        c.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        return customerRepository.save(c).getId();
+    }
+
+    private Long open(Long customerId) {
+        Interaction interaction = new Interaction();
+        interaction.setCustomerId(customerId);
+        interaction.setInteractionType(InteractionType.INQUIRY);
+        interaction.setStatus(InteractionStatus.OPEN);
+        return interactionService.createInteraction(interaction).getId();
+    }
+
+    private static Interaction change(InteractionStatus status) {
+        Interaction change = new Interaction();
+        change.setInteractionType(InteractionType.INQUIRY);
+        change.setStatus(status);
+        return change;
+    }
+}
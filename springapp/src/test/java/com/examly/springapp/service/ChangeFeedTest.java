@@ -0,0 +1,285 @@
+package com.examly.springapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedTest {
+
+    private ChangeFeed feed;
+
+    private static class Recorder implements ChangeFeed.Listener {
+        final List<ChangeFeed.Event> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch done;
+        final CountDownLatch gate;
+        volatile long resetAt = -1;
+        volatile boolean closed;
+
+        Recorder(int expected) {
+            this(expected, null);
+        }
+
+        Recorder(int expected, CountDownLatch gate) {
+            this.done = new CountDownLatch(expected);
+            this.gate = gate;
+        }
+
+        @Override
+        public void onEvent(ChangeFeed.Event event) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+            done.countDown();
+        }
+
+        @Override
+        public void onReset(long resumeFrom) {
+            resetAt = resumeFrom;
+        }
+
+        @Override
+        public void onClose() {
+            closed = true;
+        }
+
+        List<Long> ids() {
+            return events.stream().map(ChangeFeed.Event::id).toList();
+        }
+    }
+
+    private ChangeFeed feed(int bufferSize, int subscriberBuffer) {
+        return feed(bufferSize, subscriberBuffer, Duration.ofSeconds(10));
+    }
+
+    private ChangeFeed feed(int bufferSize, int subscriberBuffer, Duration sendTimeout) {
+        feed = new ChangeFeed();
+        ReflectionTestUtils.setField(feed, "bufferSize", bufferSize);
+        ReflectionTestUtils.setField(feed, "subscriberBuffer", subscriberBuffer);
+        ReflectionTestUtils.setField(feed, "deliveryThreads", 4);
+        ReflectionTestUtils.setField(feed, "sendTimeout", sendTimeout);
+        feed.startDispatcher();
+        feed.start();
+        return feed;
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        feed.stop();
+        feed.stopDispatcher();
+    }
+
+    @Test
+    void thousandsOfSubscribersEachSeeTheirTopicInOrder() throws Exception {
+        ChangeFeed feed = feed(8192, 1024);
+        int customers = 100;
+        int eventsPerCustomer = 5;
+        List<Recorder> everything = new ArrayList<>();
+        List<Recorder> perCustomer = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            Recorder recorder = new Recorder(customers * eventsPerCustomer);
+            feed.subscribe(null, null, recorder);
+            everything.add(recorder);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Recorder recorder = new Recorder(eventsPerCustomer);
+            feed.subscribe((long) (i % customers), null, recorder);
+            perCustomer.add(recorder);
+        }
+
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                int writer = w;
+                running.add(writers.submit(() -> {
+                    for (long customer = writer; customer < customers; customer += 4) {
+                        for (int e = 0; e < eventsPerCustomer; e++) {
+                            feed.interactionCreated(customer * 100 + e, customer);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> f : running) {
+                f.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+
+        for (Recorder recorder : everything) {
+            assertTrue(recorder.done.await(30, TimeUnit.SECONDS), "missing events: " + recorder.done.getCount());
+            List<Long> ids = recorder.ids();
+            assertEquals(customers * eventsPerCustomer, ids.size());
+            for (int i = 1; i < ids.size(); i++) {
+                assertTrue(ids.get(i) > ids.get(i - 1), "out of order at " + i);
+            }
+        }
+        for (int i = 0; i < perCustomer.size(); i++) {
+            Recorder recorder = perCustomer.get(i);
+            assertTrue(recorder.done.await(30, TimeUnit.SECONDS));
+            long customer = i % customers;
+            assertTrue(recorder.events.stream().allMatch(e -> e.customerId() == customer));
+            assertEquals(eventsPerCustomer, recorder.events.size());
+        }
+        assertEquals(5000, feed.getStats().get("subscribers"));
+        assertEquals(0L, feed.getStats().get("resets"));
+    }
+
+    @Test
+    void aStalledSubscriberIsResetWithoutHoldingUpWritersOrOthers() throws Exception {
+        ChangeFeed feed = feed(4096, 16);
+        CountDownLatch stall = new CountDownLatch(1);
+        Recorder stalled = new Recorder(1, stall);
+        Recorder healthy = new Recorder(1000);
+        feed.subscribe(null, null, stalled);
+        feed.subscribe(null, null, healthy);
+
+        // Published in small bursts the healthy subscriber keeps up with, while the stalled one falls behind
+        long publishNanos = 0;
+        for (long i = 1; i <= 1000; i++) {
+            long start = System.nanoTime();
+            feed.customerCreated(i);
+            publishNanos += System.nanoTime() - start;
+            if (i % 8 == 0) {
+                long expected = i;
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (healthy.events.size() < expected && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+        long publishMillis = publishNanos / 1_000_000;
+
+        assertTrue(healthy.done.await(10, TimeUnit.SECONDS));
+        stall.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!stalled.closed && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(publishMillis < 1000, "publishing took " + publishMillis + " ms");
+        assertTrue(stalled.closed);
+        assertTrue(stalled.resetAt >= 16, "reset at " + stalled.resetAt);
+        assertTrue(stalled.events.size() <= 17);
+        assertEquals(1000, healthy.events.size());
+        assertEquals(1L, feed.getStats().get("resets"));
+    }
+
+    @Test
+    void subscribersThatStopReadingAreDroppedWithoutStarvingOthers() throws Exception {
+        ChangeFeed feed = feed(4096, 256, Duration.ofMillis(200));
+        // More never-reading subscribers than delivery threads, each stuck in its first send
+        CountDownLatch neverReads = new CountDownLatch(1);
+        List<Recorder> stuck = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Recorder recorder = new Recorder(1, neverReads);
+            feed.subscribe(null, null, recorder);
+            stuck.add(recorder);
+        }
+        Recorder healthy = new Recorder(100);
+        feed.subscribe(null, null, healthy);
+
+        try {
+            for (long i = 1; i <= 100; i++) {
+                feed.customerCreated(i);
+            }
+            assertTrue(healthy.done.await(10, TimeUnit.SECONDS), "missing events: " + healthy.done.getCount());
+            // The last two only start their sends once the first overruns free up threads
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!feed.getStats().get("sendTimeouts").equals(6L) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(6L, feed.getStats().get("sendTimeouts"));
+            assertEquals(1, feed.getStats().get("subscribers"));
+            assertEquals(6, feed.getStats().get("blockedDeliveryThreads"));
+        } finally {
+            neverReads.countDown();
+        }
+
+        // Once the blocked writes return, the streams end and the threads go back
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!stuck.stream().allMatch(r -> r.closed) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(stuck.stream().allMatch(r -> r.closed));
+        assertTrue(stuck.stream().allMatch(r -> r.events.size() <= 1));
+        assertEquals(0, feed.getStats().get("blockedDeliveryThreads"));
+        assertEquals(100, healthy.events.size());
+        assertEquals(0L, feed.getStats().get("resets"));
+    }
+
+    @Test
+    void resumesFromTheRingOrResetsWhenItCannot() throws Exception {
+        ChangeFeed feed = feed(16, 256);
+        for (long i = 1; i <= 10; i++) {
+            feed.interactionCreated(i, i % 2);
+        }
+
+        Recorder resumed = new Recorder(5);
+        feed.subscribe(null, 5L, resumed);
+        assertTrue(resumed.done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(6L, 7L, 8L, 9L, 10L), resumed.ids());
+
+        Recorder odd = new Recorder(2);
+        feed.subscribe(1L, 6L, odd);
+        assertTrue(odd.done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(7L, 9L), odd.ids());
+
+        // Live events follow the replay without gaps or repeats
+        feed.interactionCreated(11L, 1L);
+        Recorder resumedLive = new Recorder(6);
+        feed.subscribe(null, 5L, resumedLive);
+        feed.interactionCreated(12L, 0L);
+        assertTrue(resumedLive.done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(List.of(6L, 7L, 8L, 9L, 10L, 11L, 12L), resumedLive.ids());
+
+        for (long i = 13; i <= 40; i++) {
+            feed.interactionCreated(i, 0L);
+        }
+        Recorder tooOld = new Recorder(1);
+        feed.subscribe(null, 5L, tooOld);
+        assertEquals(40, tooOld.resetAt);
+        assertTrue(tooOld.closed);
+        assertTrue(tooOld.events.isEmpty());
+
+        Recorder fromAnotherProcess = new Recorder(1);
+        feed.subscribe(null, 1_000L, fromAnotherProcess);
+        assertEquals(40, fromAnotherProcess.resetAt);
+    }
+
+    @Test
+    void stoppingEndsEveryOpenSubscription() throws Exception {
+        ChangeFeed feed = feed(16, 256);
+        Recorder all = new Recorder(1);
+        Recorder topic = new Recorder(1);
+        feed.subscribe(null, null, all);
+        feed.subscribe(7L, null, topic);
+
+        feed.stop();
+
+        assertTrue(all.closed);
+        assertTrue(topic.closed);
+        assertEquals(0, feed.getStats().get("subscribers"));
+        assertEquals(0, feed.getStats().get("customerTopics"));
+        Recorder late = new Recorder(1);
+        feed.subscribe(null, null, late);
+        assertTrue(late.closed);
+    }
+}
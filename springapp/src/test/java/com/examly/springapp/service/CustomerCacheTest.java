@@ -0,0 +1,104 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Customer;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerCacheTest {
+
+    private static CustomerCache cache(long maximumSize) {
+        CustomerCache cache = new CustomerCache();
+        ReflectionTestUtils.setField(cache, "maximumSize", maximumSize);
+        ReflectionTestUtils.setField(cache, "expireAfterWrite", Duration.ofMinutes(1));
+        cache.init();
+        return cache;
+    }
+
+    @Test
+    void missesAreNotCached() {
+        CustomerCache cache = cache(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertTrue(cache.get(1L, id -> { loads.incrementAndGet(); return Optional.empty(); }).isEmpty());
+        assertTrue(cache.get(1L, id -> { loads.incrementAndGet(); return Optional.empty(); }).isEmpty());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void sizeBoundEvictsAndIsReported() {
+        CustomerCache cache = cache(50);
+        for (long id = 1; id <= 500; id++) {
+            Customer c = new Customer();
+            c.setId(id);
+            cache.put(c);
+        }
+
+        long size = (long) cache.getStats().get("size");
+        long evictions = (long) cache.getStats().get("evictionCount");
+        assertTrue(size <= 50, "size " + size);
+        assertTrue(evictions >= 450, "evictions " + evictions);
+    }
+
+    @Test
+    void concurrentReadersShareOneLoadAndEvictDuringLoadIsNotKept() throws Exception {
+        CustomerCache cache = cache(10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, Optional<Customer>> slowLoader = id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Customer c = new Customer();
+            c.setId(id);
+            return Optional.of(c);
+        };
+
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Optional<Customer>>> results = new ArrayList<>();
+            results.add(readers.submit(() -> cache.get(7L, slowLoader)));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(readers.submit(() -> cache.get(7L, slowLoader)));
+            }
+            // Each reader counts a hit once it finds the pending future; evicting earlier would let a late
+            // reader start a second, post-evict load that is rightly kept
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((long) cache.getStats().get("hitCount") < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            // The row changes while the first reader is still loading the old version
+            cache.evict(7L);
+            release.countDown();
+            for (Future<Optional<Customer>> result : results) {
+                assertEquals(7L, result.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+            }
+        } finally {
+            readers.shutdown();
+        }
+
+        assertEquals(1, loads.get());
+        cache.get(7L, slowLoader);
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,59 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CustomerIdIndexTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private CustomerIdIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerIdIndex();
+        ReflectionTestUtils.setField(index, "customerRepository", customerRepository);
+        ReflectionTestUtils.setField(index, "loaded", true);
+    }
+
+    @Test
+    void idFoundByTheDatabaseIsRemembered() {
+        when(customerRepository.existsById(7L)).thenReturn(true);
+
+        assertTrue(index.exists(7L));
+        assertTrue(index.exists(7L));
+        verify(customerRepository, times(1)).existsById(7L);
+    }
+
+    @Test
+    void deleteCommittingDuringTheLookupIsNotUndone() {
+        // The query reads the row, then the delete commits before the lookup records it
+        when(customerRepository.existsById(7L)).thenAnswer(invocation -> {
+            index.remove(7L);
+            return true;
+        }).thenReturn(false);
+
+        assertTrue(index.exists(7L));
+        assertFalse(index.exists(7L));
+        verify(customerRepository, times(2)).existsById(7L);
+    }
+
+    @Test
+    void deleteCommittingDuringABatchLookupIsNotUndone() {
+        when(customerRepository.findExistingIds(any())).thenAnswer(invocation -> {
+            index.remove(7L);
+            return List.of(7L, 8L);
+        }).thenReturn(List.of(8L));
+
+        assertEquals(Set.of(7L, 8L), index.retainExisting(List.of(7L, 8L)));
+        assertEquals(Set.of(8L), index.retainExisting(List.of(7L, 8L)));
+    }
+}
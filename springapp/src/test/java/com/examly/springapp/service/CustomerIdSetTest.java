@@ -0,0 +1,75 @@
+package com.examly.springapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerIdSetTest {
+
+    @Test
+    void addRemoveContains() {
+        CustomerIdSet ids = new CustomerIdSet();
+        ids.add(1);
+        ids.add(63);
+        ids.add(64);
+        ids.add(1);
+        ids.add(5_000_000_000L);
+
+        assertTrue(ids.contains(1));
+        assertTrue(ids.contains(63));
+        assertTrue(ids.contains(64));
+        assertTrue(ids.contains(5_000_000_000L));
+        assertFalse(ids.contains(2));
+        assertFalse(ids.contains(-1));
+        assertFalse(ids.contains(9_000_000_000L));
+        assertEquals(4, ids.size());
+
+        ids.remove(63);
+        ids.remove(63);
+        ids.remove(12345);
+        assertFalse(ids.contains(63));
+        assertEquals(3, ids.size());
+    }
+
+    @Test
+    void millionDenseIdsStayUnderQuarterMegabyte() {
+        CustomerIdSet ids = new CustomerIdSet();
+        for (long id = 1; id <= 1_000_000; id++) {
+            ids.add(id);
+        }
+        assertEquals(1_000_000, ids.size());
+        assertTrue(ids.estimatedBytes() < 256 * 1024, "bytes " + ids.estimatedBytes());
+    }
+
+    @Test
+    void concurrentAddsAcrossNewPagesAreNotLost() throws Exception {
+        CustomerIdSet ids = new CustomerIdSet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                futures.add(pool.submit(() -> {
+                    for (long id = offset; id < 800_000; id += 8) {
+                        ids.add(id);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(800_000, ids.size());
+        for (long id = 0; id < 800_000; id++) {
+            assertTrue(ids.contains(id), "missing " + id);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Customer;
+import com.examly.springapp.model.CustomerType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerSearchIndexTest {
+    private CustomerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerSearchIndex();
+        index.addAll(List.of(
+            customer(1, "Ada", "Lovelace", "ada.lovelace@example.com", "+44 20 7946 0001", CustomerType.VIP),
+            customer(2, "Adam", "Smith", "adam.smith42@example.com", "555-0100", CustomerType.REGULAR),
+            customer(3, "Grace", "Hopper", "grace@navy.mil", null, CustomerType.PREMIUM),
+            customer(4, "Johnson", "Adams", "j.adams@example.com", "555-0199", CustomerType.REGULAR),
+            customer(5, "Mary", "Johnson", "mary@example.com", "555 0142", CustomerType.VIP)));
+    }
+
+    @Test
+    void exactMatchOutranksPrefixMatch() {
+        assertEquals(List.of(1L, 2L, 4L), index.search("ada", null, 10).getIds());
+    }
+
+    @Test
+    void fuzzyMatchFindsMisspelling() {
+        CustomerSearchIndex.Hits hits = index.search("jonhson", null, 10);
+        assertEquals(2, hits.getTotal());
+        // Last name and first name weigh the same, so the lower id wins the tie
+        assertEquals(List.of(4L, 5L), hits.getIds());
+        assertEquals(List.of(3L), index.search("hoper", null, 10).getIds());
+    }
+
+    @Test
+    void everyTokenMustMatch() {
+        assertEquals(List.of(5L), index.search("mary johnson", null, 10).getIds());
+        assertEquals(0, index.search("grace smith", null, 10).getTotal());
+    }
+
+    @Test
+    void typeFilterAndLimit() {
+        assertEquals(List.of(5L), index.search("johnson", CustomerType.VIP, 10).getIds());
+        CustomerSearchIndex.Hits limited = index.search("example", null, 2);
+        assertEquals(4, limited.getTotal());
+        assertEquals(2, limited.getIds().size());
+    }
+
+    @Test
+    void phoneNumbersMatchWithoutPunctuation() {
+        assertEquals(List.of(2L, 4L, 5L), index.search("555-01", null, 10).getIds());
+        assertEquals(List.of(5L), index.search("(555) 0142", null, 10).getIds());
+        assertEquals(List.of(2L), index.search("smith42", null, 10).getIds());
+    }
+
+    @Test
+    void removedCustomersDisappear() {
+        index.remove(1);
+        assertEquals(List.of(2L, 4L), index.search("ada", null, 10).getIds());
+        assertEquals(0, index.search("lovelace", null, 10).getTotal());
+    }
+
+    @Test
+    void reusedIdDoesNotInheritOldTerms() {
+        index.remove(1);
+        index.add(customer(1, "Alan", "Turing", "alan@example.com", null, CustomerType.PREMIUM));
+        assertEquals(0, index.search("lovelace", null, 10).getTotal());
+        assertEquals(List.of(1L), index.search("turing", CustomerType.PREMIUM, 10).getIds());
+    }
+
+    @Test
+    void removedCustomersAreCompactedAway() {
+        Map<String, Object> before = index.getStats();
+        List<Customer> bulk = new ArrayList<>();
+        for (int id = 100; id < 1_124; id++) {
+            bulk.add(customer(id, "Bulk", letters(id), "bulk" + id + "@example.com", "555-" + id, CustomerType.REGULAR));
+        }
+        index.addAll(bulk);
+        for (int id = 100; id < 1_124; id++) {
+            index.remove(id);
+        }
+
+        Map<String, Object> after = index.getStats();
+        assertEquals(before.get("terms"), after.get("terms"));
+        assertEquals(before.get("fuzzyTerms"), after.get("fuzzyTerms"));
+        assertEquals(before.get("postings"), after.get("postings"));
+        assertEquals(0, after.get("staleDocuments"));
+        assertEquals(List.of(1L), index.search("lovelase", null, 10).getIds());
+        assertEquals(0, index.search("bulk", null, 10).getTotal());
+    }
+
+    @Test
+    void blankQueryIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.search(" -- ", null, 10));
+    }
+
+    @Test
+    void tokenizerSplitsLettersFromDigits() {
+        assertEquals(List.of("adam", "smith", "42", "example", "com"), CustomerSearchIndex.textTokens("Adam.Smith42@Example.com"));
+        assertEquals(List.of("5550100"), CustomerSearchIndex.queryTokens(" 555-0100 "));
+        assertEquals(1, CustomerSearchIndex.editDistance("hopper", "hoper", 2));
+        assertEquals(1, CustomerSearchIndex.editDistance("johnson", "jonhson", 2));
+        assertEquals(1, CustomerSearchIndex.editDistance("lovelace", "lovelake", 1));
+        assertEquals(2, CustomerSearchIndex.editDistance("grace", "smith", 1));
+    }
+
+    private static String letters(int n) {
+        StringBuilder sb = new StringBuilder("q");
+        for (; n > 0; n /= 26) {
+            sb.append((char) ('a' + n % 26));
+        }
+        return sb.toString();
+    }
+
+    private static Customer customer(long id, String first, String last, String email, String phone, CustomerType type) {
+        Customer c = new Customer();
+        c.setId(id);
+        c.setFirstName(first);
+        c.setLastName(last);
+        c.setEmail(email);
+        c.setPhoneNumber(phone);
+        c.setCustomerType(type);
+        return c;
+    }
+}
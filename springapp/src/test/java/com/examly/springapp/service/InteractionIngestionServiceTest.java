@@ -0,0 +1,148 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Interaction;
+import com.examly.springapp.model.InteractionStatus;
+import com.examly.springapp.model.InteractionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InteractionIngestionServiceTest {
+    private final CountDownLatch flushEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseFlush = new CountDownLatch(1);
+    private InteractionIngestionService service;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseFlush.countDown();
+        service.stop();
+    }
+
+    @Test
+    void submitAppliesBackpressureWhenQueueIsFull() throws Exception {
+        CustomerIdIndex customers = mock(CustomerIdIndex.class);
+        // Park the batcher inside its first flush so nothing drains the queue
+        when(customers.retainExisting(any())).thenAnswer(invocation -> {
+            flushEntered.countDown();
+            releaseFlush.await(5, TimeUnit.SECONDS);
+            return Set.of();
+        });
+
+        service = new InteractionIngestionService();
+        ReflectionTestUtils.setField(service, "customerIdIndex", customers);
+        ReflectionTestUtils.setField(service, "queueCapacity", 2);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        ReflectionTestUtils.setField(service, "lingerMillis", 0L);
+        ReflectionTestUtils.setField(service, "trackedResults", 100);
+        service.start();
+
+        assertNotNull(service.submit(interaction()));
+        assertTrue(flushEntered.await(5, TimeUnit.SECONDS));
+
+        assertNotNull(service.submit(interaction()));
+        assertNotNull(service.submit(interaction()));
+        assertNull(service.submit(interaction()));
+        assertEquals(2, service.getQueueDepth());
+        assertEquals(1L, service.getStats().get("rejectedQueueFull"));
+    }
+
+    @Test
+    void missingGeneratedKeysSkipIdDependentUpdates() throws Exception {
+        CustomerIdIndex customers = mock(CustomerIdIndex.class);
+        when(customers.retainExisting(any())).thenReturn(Set.of(1L));
+        TransactionTemplate transactions = mock(TransactionTemplate.class);
+        // Two rows stored, one key back
+        when(transactions.execute(any())).thenReturn(List.of(41L));
+        ChangeFeed changeFeed = mock(ChangeFeed.class);
+        InteractionWorkQueue workQueue = mock(InteractionWorkQueue.class);
+
+        service = new InteractionIngestionService();
+        ReflectionTestUtils.setField(service, "customerIdIndex", customers);
+        ReflectionTestUtils.setField(service, "transactionTemplate", transactions);
+        ReflectionTestUtils.setField(service, "crmAnalytics", mock(CrmAnalytics.class));
+        ReflectionTestUtils.setField(service, "resourceVersions", mock(ResourceVersions.class));
+        ReflectionTestUtils.setField(service, "changeFeed", changeFeed);
+        ReflectionTestUtils.setField(service, "interactionWorkQueue", workQueue);
+        ReflectionTestUtils.setField(service, "queueCapacity", 10);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "lingerMillis", 1_000L);
+        ReflectionTestUtils.setField(service, "trackedResults", 100);
+        service.start();
+
+        String first = service.submit(interaction());
+        String second = service.submit(interaction());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.getResult(second).getState() == InteractionIngestionService.State.PENDING) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+
+        for (String trackingId : List.of(first, second)) {
+            InteractionIngestionService.Result result = service.getResult(trackingId);
+            assertEquals(InteractionIngestionService.State.STORED, result.getState());
+            assertNull(result.getInteractionId());
+            assertNotNull(result.getMessage());
+        }
+        verifyNoInteractions(changeFeed, workQueue);
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRow() throws Exception {
+        CustomerIdIndex customers = mock(CustomerIdIndex.class);
+        when(customers.retainExisting(any())).thenReturn(Set.of(1L));
+        TransactionTemplate transactions = mock(TransactionTemplate.class);
+        // The batch fails, then the first row stores on its own and the second fails again
+        when(transactions.execute(any()))
+            .thenThrow(new DataIntegrityViolationException("value too long"))
+            .thenReturn(List.of(41L))
+            .thenThrow(new DataIntegrityViolationException("value too long"));
+        ChangeFeed changeFeed = mock(ChangeFeed.class);
+
+        service = new InteractionIngestionService();
+        ReflectionTestUtils.setField(service, "customerIdIndex", customers);
+        ReflectionTestUtils.setField(service, "transactionTemplate", transactions);
+        ReflectionTestUtils.setField(service, "resourceVersions", mock(ResourceVersions.class));
+        ReflectionTestUtils.setField(service, "changeFeed", changeFeed);
+        ReflectionTestUtils.setField(service, "interactionWorkQueue", mock(InteractionWorkQueue.class));
+        ReflectionTestUtils.setField(service, "queueCapacity", 10);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "lingerMillis", 1_000L);
+        ReflectionTestUtils.setField(service, "trackedResults", 100);
+        service.start();
+
+        String first = service.submit(interaction());
+        String second = service.submit(interaction());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.getResult(second).getState() == InteractionIngestionService.State.PENDING) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+
+        assertEquals(InteractionIngestionService.State.STORED, service.getResult(first).getState());
+        assertEquals(41L, service.getResult(first).getInteractionId());
+        assertEquals(InteractionIngestionService.State.REJECTED, service.getResult(second).getState());
+        assertEquals(1L, service.getStats().get("stored"));
+        assertEquals(1L, service.getStats().get("failed"));
+        verify(transactions, times(3)).execute(any());
+        verify(changeFeed).interactionCreated(41L, 1L);
+    }
+
+    private static Interaction interaction() {
+        Interaction interaction = new Interaction();
+        interaction.setCustomerId(1L);
+        interaction.setInteractionType(InteractionType.PURCHASE);
+        interaction.setStatus(InteractionStatus.OPEN);
+        return interaction;
+    }
+}
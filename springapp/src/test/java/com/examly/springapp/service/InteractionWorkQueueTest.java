@@ -0,0 +1,139 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.CustomerType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InteractionWorkQueueTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private InteractionWorkQueue queue;
+
+    private InteractionWorkQueue queue(int stripes, Duration lease) {
+        queue = new InteractionWorkQueue();
+        ReflectionTestUtils.setField(queue, "stripeCount", stripes);
+        ReflectionTestUtils.setField(queue, "leaseDuration", lease);
+        ReflectionTestUtils.setField(queue, "reapInterval", Duration.ofHours(1));
+        queue.start();
+        return queue;
+    }
+
+    @AfterEach
+    void stop() {
+        queue.stop();
+    }
+
+    @Test
+    void claimsRankByCustomerTypeThenAge() {
+        InteractionWorkQueue queue = queue(4, Duration.ofMinutes(5));
+        queue.add(1, 10L, CustomerType.REGULAR, NOW.minusDays(30));
+        queue.add(2, 11L, CustomerType.VIP, NOW.minusHours(1));
+        queue.add(3, 12L, CustomerType.PREMIUM, NOW.minusDays(2));
+        queue.add(4, 13L, CustomerType.VIP, NOW.minusDays(1));
+        queue.add(5, 14L, CustomerType.PREMIUM, NOW.minusDays(3));
+
+        List<Long> order = new ArrayList<>();
+        queue.claim(7).ifPresent(c -> order.add(c.interactionId()));
+        queue.claim(7).ifPresent(c -> order.add(c.interactionId()));
+        queue.claim(8).ifPresent(c -> order.add(c.interactionId()));
+        queue.claim(8).ifPresent(c -> order.add(c.interactionId()));
+        queue.claim(9).ifPresent(c -> order.add(c.interactionId()));
+
+        assertEquals(List.of(4L, 2L, 5L, 3L, 1L), order);
+        assertTrue(queue.claim(9).isEmpty());
+    }
+
+    @Test
+    void releasedAndExpiredLeasesReturnToTheQueue() throws Exception {
+        InteractionWorkQueue queue = queue(2, Duration.ofMillis(50));
+        queue.add(1, 10L, CustomerType.VIP, NOW);
+        queue.add(2, 11L, CustomerType.REGULAR, NOW);
+
+        assertEquals(1, queue.claim(7).orElseThrow().interactionId());
+        assertThrows(IllegalArgumentException.class, () -> queue.release(1, 8));
+        queue.release(1, 7);
+        assertEquals(1, queue.claim(8).orElseThrow().interactionId());
+
+        Thread.sleep(100);
+        queue.expireLeases();
+        assertEquals(1, queue.claim(9).orElseThrow().interactionId());
+        assertThrows(IllegalArgumentException.class, () -> queue.renew(1, 8));
+        assertEquals(1L, queue.getStats().get("expiredLeases"));
+    }
+
+    @Test
+    void closedInteractionsLeaveTheQueueAndTheirLease() {
+        InteractionWorkQueue queue = queue(2, Duration.ofMinutes(5));
+        queue.add(1, 10L, CustomerType.VIP, NOW);
+        queue.add(2, 11L, CustomerType.REGULAR, NOW);
+        queue.add(3, 12L, CustomerType.REGULAR, NOW.plusMinutes(1));
+
+        queue.claim(7);
+        queue.interactionClosed(1L);
+        queue.interactionClosed(2L);
+
+        assertThrows(IllegalArgumentException.class, () -> queue.release(1, 7));
+        assertEquals(3, queue.claim(7).orElseThrow().interactionId());
+        assertTrue(queue.claim(7).isEmpty());
+        assertEquals(1, queue.getStats().get("open"));
+    }
+
+    @Test
+    void concurrentRepsNeverClaimTheSameItem() throws Exception {
+        InteractionWorkQueue queue = queue(4, Duration.ofMinutes(5));
+        int items = 20_000;
+        CustomerType[] types = CustomerType.values();
+        for (int i = 1; i <= items; i++) {
+            queue.add(i, (long) i, types[i % types.length], NOW.minusSeconds(i % 1000));
+        }
+
+        int reps = 8;
+        Set<Long> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(reps);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int r = 0; r < reps; r++) {
+                long rep = r;
+                running.add(pool.submit(() -> {
+                    go.await();
+                    InteractionWorkQueue.Claim claim;
+                    while ((claim = queue.claim(rep).orElse(null)) != null) {
+                        if (!claimed.add(claim.interactionId())) {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> f : running) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(0, duplicates.get());
+        assertEquals(items, claimed.size());
+        assertEquals((long) items, queue.getStats().get("claims"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.examly.springapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RegistrationFilterLoadTest {
+
+    @Test
+    void lookupsFallThroughUntilTheScanFinishesAndKeepConcurrentAdds() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        RegistrationFilter filter = new RegistrationFilter();
+        ReflectionTestUtils.setField(filter, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(filter, "expectedInsertions", 1_000L);
+        ReflectionTestUtils.setField(filter, "falsePositiveRate", 0.001);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            if (sql.contains("customers")) {
+                // Mid-scan: not loaded yet, so even an unknown value must go to the database
+                assertTrue(filter.mightExist(RegistrationFilter.Key.CUSTOMER_EMAIL, "unknown@example.com"));
+                filter.add(RegistrationFilter.Key.CUSTOMER_EMAIL, "added@example.com");
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn("existing@example.com");
+                invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        filter.warmUp();
+
+        assertTrue(filter.mightExist(RegistrationFilter.Key.CUSTOMER_EMAIL, "existing@example.com"));
+        assertTrue(filter.mightExist(RegistrationFilter.Key.CUSTOMER_EMAIL, "ADDED@example.com"));
+        assertFalse(filter.mightExist(RegistrationFilter.Key.CUSTOMER_EMAIL, "unknown@example.com"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.User;
+import com.examly.springapp.model.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "test-secret-of-at-least-32-bytes";
+
+    private static TokenService tokens(String secret) {
+        TokenService service = new TokenService();
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.setField(service, "ttl", Duration.ofHours(1));
+        service.start();
+        return service;
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("ada\nlovelace");
+        user.setRole(UserRole.ANALYST);
+        return user;
+    }
+
+    @Test
+    void roundTripsClaims() {
+        TokenService service = tokens(SECRET);
+        String token = service.encode(service.issue(user()));
+
+        AuthToken verified = service.verify(token).orElseThrow();
+        assertEquals(42L, verified.getUserId());
+        assertEquals("ada\nlovelace", verified.getUsername());
+        assertEquals(UserRole.ANALYST, verified.getRole());
+        assertTrue(verified.getExpiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void rejectsTamperedForeignAndExpiredTokens() {
+        TokenService service = tokens(SECRET);
+        String token = service.encode(service.issue(user()));
+        String[] parts = token.split("\\.");
+        String forged = service.encode(new AuthToken(1L, "admin", UserRole.ADMIN, Instant.now().plusSeconds(60)));
+
+        assertTrue(service.verify(forged.split("\\.")[0] + "." + parts[1]).isEmpty());
+        assertTrue(service.verify(token.substring(0, token.length() - 2)).isEmpty());
+        assertTrue(service.verify("not-a-token").isEmpty());
+        assertTrue(service.verify(null).isEmpty());
+        assertTrue(tokens(SECRET.replace('t', 'o')).verify(token).isEmpty());
+
+        String expired = service.encode(new AuthToken(42L, "ada", UserRole.ANALYST, Instant.now().minusSeconds(1)));
+        assertTrue(service.verify(expired).isEmpty());
+    }
+
+    @Test
+    void rejectsShortSecrets() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> tokens("loadtest"));
+        assertTrue(e.getMessage().contains("at least 32 bytes"));
+        assertNotNull(tokens(""));
+    }
+}